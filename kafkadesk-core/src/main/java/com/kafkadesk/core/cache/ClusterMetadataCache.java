@@ -0,0 +1,299 @@
+package com.kafkadesk.core.cache;
+
+import com.kafkadesk.core.search.SearchIndex;
+import com.kafkadesk.model.ConsumerGroupInfo;
+import com.kafkadesk.model.TopicInfo;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * Metadata snapshot of a single cluster.
+ * Each section (topics, consumer groups, brokers) is versioned; applying a new
+ * snapshot returns the delta against the previous one.
+ */
+public class ClusterMetadataCache {
+    private final String clusterId;
+    private final Section<TopicInfo> topics =
+            new Section<>(TopicInfo::getName, ClusterMetadataCache::sameTopic);
+    private final Section<ConsumerGroupInfo> groups =
+            new Section<>(ConsumerGroupInfo::getGroupId, ClusterMetadataCache::sameGroup);
+    private final Section<TopicInfo.Node> brokers =
+            new Section<>(node -> String.valueOf(node.getId()), ClusterMetadataCache::sameNode);
+    private volatile int controllerId = -1;
+    private final SearchIndex searchIndex = new SearchIndex();
+    private final ConsumerIndex consumerIndex = new ConsumerIndex();
+
+    ClusterMetadataCache(String clusterId) {
+        this.clusterId = clusterId;
+    }
+
+    public String getClusterId() {
+        return clusterId;
+    }
+
+    // Topics
+
+    public TopicInfo getTopic(String name) {
+        return topics.entries.get(name);
+    }
+
+    public Collection<TopicInfo> getTopics() {
+        return Collections.unmodifiableCollection(topics.entries.values());
+    }
+
+    public Set<String> getTopicNames() {
+        return Collections.unmodifiableSet(topics.entries.keySet());
+    }
+
+    public long getTopicsVersion() {
+        return topics.version;
+    }
+
+    /**
+     * Whether topics were refreshed within the given time, e.g. while warming the cache at connect
+     */
+    public boolean isTopicsFresh(long maxAgeMs) {
+        return topics.isFresh(maxAgeMs);
+    }
+
+    /**
+     * Whether existing topics have not been fully re-described within the given TTL
+     */
+    public boolean isTopicsExpired(long ttlMs) {
+        return System.currentTimeMillis() - topics.lastFullRefresh > ttlMs;
+    }
+
+    /**
+     * Apply newly described topics.
+     *
+     * @param topicNames all topic names currently on the cluster; cached topics not in it are removed
+     * @param described  freshly described topics, possibly only a subset of {@code topicNames}
+     * @param full       whether every existing topic was re-described
+     */
+    public MetadataDelta<TopicInfo> applyTopics(Set<String> topicNames, Collection<TopicInfo> described, boolean full) {
+        MetadataDelta<TopicInfo> delta = topics.apply(topicNames, described, full);
+        delta.getRemoved().forEach(searchIndex::removeTopic);
+        delta.getAdded().forEach(searchIndex::putTopic);
+        delta.getChanged().forEach(searchIndex::putTopic);
+        return delta;
+    }
+
+    // Consumer groups
+
+    public ConsumerGroupInfo getGroup(String groupId) {
+        return groups.entries.get(groupId);
+    }
+
+    public Collection<ConsumerGroupInfo> getGroups() {
+        return Collections.unmodifiableCollection(groups.entries.values());
+    }
+
+    public long getGroupsVersion() {
+        return groups.version;
+    }
+
+    /**
+     * Whether consumer groups were refreshed within the given time
+     */
+    public boolean isGroupsFresh(long maxAgeMs) {
+        return groups.isFresh(maxAgeMs);
+    }
+
+    public MetadataDelta<ConsumerGroupInfo> applyGroups(Collection<ConsumerGroupInfo> current) {
+        return applyGroups(current, Collections.emptySet());
+    }
+
+    /**
+     * Apply freshly described groups
+     *
+     * @param current the groups of a successful listing that could be described
+     * @param kept    listed groups that could not be described; their cached entries stay as they are
+     */
+    public MetadataDelta<ConsumerGroupInfo> applyGroups(Collection<ConsumerGroupInfo> current, Set<String> kept) {
+        Set<String> present = keys(current, groups.key);
+        present.addAll(kept);
+        MetadataDelta<ConsumerGroupInfo> delta = groups.apply(present, current, true);
+        delta.getRemoved().forEach(searchIndex::removeGroup);
+        delta.getAdded().forEach(group -> searchIndex.putGroup(group.getGroupId()));
+        delta.getRemoved().forEach(consumerIndex::remove);
+        delta.getAdded().forEach(consumerIndex::put);
+        delta.getChanged().forEach(consumerIndex::put);
+        return delta;
+    }
+
+    /**
+     * Which cached groups read which topics and partitions
+     */
+    public ConsumerIndex getConsumerIndex() {
+        return consumerIndex;
+    }
+
+    // Search
+
+    /**
+     * Search index over the cached topics, groups and topic configs, updated with every delta
+     */
+    public SearchIndex getSearchIndex() {
+        return searchIndex;
+    }
+
+    // Brokers
+
+    public Collection<TopicInfo.Node> getBrokers() {
+        return Collections.unmodifiableCollection(brokers.entries.values());
+    }
+
+    public int getControllerId() {
+        return controllerId;
+    }
+
+    public long getBrokersVersion() {
+        return brokers.version;
+    }
+
+    public MetadataDelta<TopicInfo.Node> applyBrokers(Collection<TopicInfo.Node> current, int controllerId) {
+        this.controllerId = controllerId;
+        return brokers.apply(keys(current, brokers.key), current, true);
+    }
+
+    private static <T> Set<String> keys(Collection<T> items, Function<T, String> key) {
+        Set<String> keys = new HashSet<>(items.size() * 2);
+        items.forEach(item -> keys.add(key.apply(item)));
+        return keys;
+    }
+
+    /**
+     * Compare everything shown for a topic
+     */
+    private static boolean sameTopic(TopicInfo a, TopicInfo b) {
+        if (a.getPartitions() != b.getPartitions()
+                || a.getReplicationFactor() != b.getReplicationFactor()
+                || !Objects.equals(a.getRetentionTime(), b.getRetentionTime())
+                || a.getRetentionMs() != b.getRetentionMs()
+                || a.getRetentionBytes() != b.getRetentionBytes()
+                || !Objects.equals(a.getConfig(), b.getConfig())
+                || a.getPartitionDetails().size() != b.getPartitionDetails().size()) {
+            return false;
+        }
+        for (int i = 0; i < a.getPartitionDetails().size(); i++) {
+            TopicInfo.PartitionInfo pa = a.getPartitionDetails().get(i);
+            TopicInfo.PartitionInfo pb = b.getPartitionDetails().get(i);
+            if (pa.getPartition() != pb.getPartition()
+                    || nodeId(pa.getLeader()) != nodeId(pb.getLeader())
+                    || !nodeIds(pa.getReplicas()).equals(nodeIds(pb.getReplicas()))
+                    || !nodeIds(pa.getIsr()).equals(nodeIds(pb.getIsr()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean sameGroup(ConsumerGroupInfo a, ConsumerGroupInfo b) {
+        if (!Objects.equals(a.getState(), b.getState())
+                || a.getCoordinatorId() != b.getCoordinatorId()
+                || a.getMembers().size() != b.getMembers().size()
+                || !Objects.equals(a.getLag(), b.getLag())
+                || a.getOffsets().size() != b.getOffsets().size()) {
+            return false;
+        }
+        for (int i = 0; i < a.getMembers().size(); i++) {
+            ConsumerGroupInfo.MemberInfo ma = a.getMembers().get(i);
+            ConsumerGroupInfo.MemberInfo mb = b.getMembers().get(i);
+            if (!Objects.equals(ma.getMemberId(), mb.getMemberId())
+                    || !Objects.equals(ma.getAssignments(), mb.getAssignments())) {
+                return false;
+            }
+        }
+        for (Map.Entry<ConsumerGroupInfo.TopicPartition, ConsumerGroupInfo.OffsetAndMetadata> entry
+                : a.getOffsets().entrySet()) {
+            ConsumerGroupInfo.OffsetAndMetadata other = b.getOffsets().get(entry.getKey());
+            if (other == null || other.getOffset() != entry.getValue().getOffset()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean sameNode(TopicInfo.Node a, TopicInfo.Node b) {
+        return a.getId() == b.getId()
+                && a.getPort() == b.getPort()
+                && Objects.equals(a.getHost(), b.getHost());
+    }
+
+    private static int nodeId(TopicInfo.Node node) {
+        return node != null ? node.getId() : -1;
+    }
+
+    private static List<Integer> nodeIds(List<TopicInfo.Node> nodes) {
+        List<Integer> ids = new ArrayList<>(nodes.size());
+        nodes.forEach(node -> ids.add(node.getId()));
+        return ids;
+    }
+
+    /**
+     * One versioned, keyed section of the cache
+     */
+    private static class Section<T> {
+        private final Map<String, T> entries = new ConcurrentHashMap<>();
+        private final Function<T, String> key;
+        private final BiPredicate<T, T> sameContent;
+        private volatile long version;
+        private volatile long lastFullRefresh;
+        private volatile long lastRefresh;
+
+        Section(Function<T, String> key, BiPredicate<T, T> sameContent) {
+            this.key = key;
+            this.sameContent = sameContent;
+        }
+
+        boolean isFresh(long maxAgeMs) {
+            return lastRefresh > 0 && System.currentTimeMillis() - lastRefresh <= maxAgeMs;
+        }
+
+        synchronized MetadataDelta<T> apply(Set<String> present, Collection<T> incoming, boolean full) {
+            List<T> added = new ArrayList<>();
+            List<T> changed = new ArrayList<>();
+            List<String> removed = new ArrayList<>();
+
+            for (String existing : entries.keySet()) {
+                if (!present.contains(existing)) {
+                    removed.add(existing);
+                }
+            }
+            removed.forEach(entries::remove);
+
+            for (T item : incoming) {
+                String itemKey = key.apply(item);
+                if (!present.contains(itemKey)) {
+                    continue;
+                }
+                T previous = entries.put(itemKey, item);
+                if (previous == null) {
+                    added.add(item);
+                } else if (!sameContent.test(previous, item)) {
+                    changed.add(item);
+                }
+            }
+
+            lastRefresh = System.currentTimeMillis();
+            if (full) {
+                lastFullRefresh = lastRefresh;
+            }
+            if (added.isEmpty() && changed.isEmpty() && removed.isEmpty()) {
+                return MetadataDelta.empty(version);
+            }
+            version++;
+            return new MetadataDelta<>(added, changed, removed, version);
+        }
+    }
+}
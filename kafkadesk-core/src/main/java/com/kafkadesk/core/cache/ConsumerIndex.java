@@ -0,0 +1,103 @@
+package com.kafkadesk.core.cache;
+
+import com.kafkadesk.model.ConsumerGroupInfo;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Reverse index from topics and partitions to the consumer groups reading them.
+ * A group reads a partition if it has a committed offset for it or one of its members is
+ * assigned to it. Updated per group as consumer group deltas are applied to the cache.
+ */
+public class ConsumerIndex {
+    private final Map<String, Set<ConsumerGroupInfo.TopicPartition>> partitionsByGroup = new HashMap<>();
+    private final Map<ConsumerGroupInfo.TopicPartition, Set<String>> groupsByPartition = new HashMap<>();
+    // Per topic, how many of its partitions each group reads
+    private final Map<String, Map<String, Integer>> groupsByTopic = new HashMap<>();
+
+    /**
+     * Add or update a group; only the partitions that changed are touched
+     */
+    synchronized void put(ConsumerGroupInfo group) {
+        Set<ConsumerGroupInfo.TopicPartition> current = new HashSet<>(group.getOffsets().keySet());
+        for (ConsumerGroupInfo.MemberInfo member : group.getMembers()) {
+            if (member.getAssignments() != null) {
+                current.addAll(member.getAssignments());
+            }
+        }
+
+        Set<ConsumerGroupInfo.TopicPartition> previous = partitionsByGroup.getOrDefault(group.getGroupId(),
+                Collections.emptySet());
+        for (ConsumerGroupInfo.TopicPartition tp : previous) {
+            if (!current.contains(tp)) {
+                unlink(group.getGroupId(), tp);
+            }
+        }
+        for (ConsumerGroupInfo.TopicPartition tp : current) {
+            if (!previous.contains(tp)) {
+                link(group.getGroupId(), tp);
+            }
+        }
+
+        if (current.isEmpty()) {
+            partitionsByGroup.remove(group.getGroupId());
+        } else {
+            partitionsByGroup.put(group.getGroupId(), current);
+        }
+    }
+
+    synchronized void remove(String groupId) {
+        Set<ConsumerGroupInfo.TopicPartition> previous = partitionsByGroup.remove(groupId);
+        if (previous != null) {
+            previous.forEach(tp -> unlink(groupId, tp));
+        }
+    }
+
+    /**
+     * Groups reading any partition of a topic, sorted
+     */
+    public synchronized Set<String> getGroups(String topic) {
+        Map<String, Integer> groups = groupsByTopic.get(topic);
+        return groups != null ? new TreeSet<>(groups.keySet()) : Collections.emptySet();
+    }
+
+    /**
+     * Groups reading one partition, sorted
+     */
+    public synchronized Set<String> getGroups(String topic, int partition) {
+        Set<String> groups = groupsByPartition.get(new ConsumerGroupInfo.TopicPartition(topic, partition));
+        return groups != null ? new TreeSet<>(groups) : Collections.emptySet();
+    }
+
+    /**
+     * Partitions a group reads
+     */
+    public synchronized Set<ConsumerGroupInfo.TopicPartition> getPartitions(String groupId) {
+        Set<ConsumerGroupInfo.TopicPartition> partitions = partitionsByGroup.get(groupId);
+        return partitions != null ? new HashSet<>(partitions) : Collections.emptySet();
+    }
+
+    private void link(String groupId, ConsumerGroupInfo.TopicPartition tp) {
+        groupsByPartition.computeIfAbsent(tp, key -> new HashSet<>()).add(groupId);
+        groupsByTopic.computeIfAbsent(tp.getTopic(), key -> new HashMap<>()).merge(groupId, 1, Integer::sum);
+    }
+
+    private void unlink(String groupId, ConsumerGroupInfo.TopicPartition tp) {
+        Set<String> groups = groupsByPartition.get(tp);
+        if (groups != null && groups.remove(groupId) && groups.isEmpty()) {
+            groupsByPartition.remove(tp);
+        }
+        Map<String, Integer> topicGroups = groupsByTopic.get(tp.getTopic());
+        if (topicGroups != null) {
+            topicGroups.computeIfPresent(groupId, (key, count) -> count > 1 ? count - 1 : null);
+            if (topicGroups.isEmpty()) {
+                groupsByTopic.remove(tp.getTopic());
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.kafkadesk.core.cache;
+
+import com.kafkadesk.core.service.ClusterService;
+import com.kafkadesk.core.service.LagService;
+import com.kafkadesk.core.service.LagSnapshot;
+import com.kafkadesk.core.service.TopicService;
+import com.kafkadesk.model.ConsumerGroupInfo;
+import com.kafkadesk.model.TopicInfo;
+import org.apache.kafka.common.Node;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+
+/**
+ * Per-cluster metadata cache manager.
+ * Refreshes compare against the cached snapshot and return only what changed.
+ */
+public class MetadataCacheManager {
+    private static final Logger logger = LoggerFactory.getLogger(MetadataCacheManager.class);
+    private static final long DEFAULT_TOPIC_TTL_MS = 60_000;
+    private static MetadataCacheManager instance;
+    private final Map<String, ClusterMetadataCache> caches = new ConcurrentHashMap<>();
+    private volatile long topicTtlMs = DEFAULT_TOPIC_TTL_MS;
+
+    private MetadataCacheManager() {
+    }
+
+    public static synchronized MetadataCacheManager getInstance() {
+        if (instance == null) {
+            instance = new MetadataCacheManager();
+        }
+        return instance;
+    }
+
+    /**
+     * Get (or create) the cache of a cluster
+     */
+    public ClusterMetadataCache getCache(String clusterId) {
+        return caches.computeIfAbsent(clusterId, ClusterMetadataCache::new);
+    }
+
+    /**
+     * Drop the cache of a cluster
+     */
+    public void removeCache(String clusterId) {
+        caches.remove(clusterId);
+    }
+
+    /**
+     * How long described topics are trusted before all of them are described again
+     */
+    public void setTopicTtlMs(long topicTtlMs) {
+        this.topicTtlMs = topicTtlMs;
+    }
+
+    /**
+     * Refresh topics.
+     * New topics are always described; existing ones only when forced or when the TTL has expired.
+     * If the topics cannot be listed or described the cache is left as it is, rather than reading
+     * the failure as every topic having been deleted.
+     */
+    public MetadataDelta<TopicInfo> refreshTopics(String clusterId, boolean force) {
+        ClusterMetadataCache cache = getCache(clusterId);
+        if (!ClusterService.getInstance().isConnected(clusterId)) {
+            return MetadataDelta.empty(cache.getTopicsVersion());
+        }
+
+        List<String> listed = await(TopicService.getInstance().listTopicsAsync(clusterId), clusterId, "list topics");
+        if (listed == null) {
+            return MetadataDelta.empty(cache.getTopicsVersion());
+        }
+        Set<String> topicNames = new HashSet<>(listed);
+        boolean full = force || cache.isTopicsExpired(topicTtlMs);
+        Collection<String> toDescribe = full ? topicNames : topicNames.stream()
+                .filter(name -> cache.getTopic(name) == null)
+                .collect(Collectors.toList());
+
+        List<TopicInfo> described = await(TopicService.getInstance().getTopicInfosAsync(clusterId, toDescribe),
+                clusterId, "describe topics");
+        if (described == null) {
+            return MetadataDelta.empty(cache.getTopicsVersion());
+        }
+        // Topics skipped by a timed-out batch are described again on the next refresh
+        full = full && described.size() == toDescribe.size();
+        MetadataDelta<TopicInfo> delta = cache.applyTopics(topicNames, described, full);
+        logger.debug("Topic refresh for cluster {} (full={}): {}", clusterId, full, delta);
+        return delta;
+    }
+
+    /**
+     * Refresh consumer groups from a new cluster-wide lag snapshot.
+     * Only groups missing from a successful listing are removed; groups that could not be
+     * described keep their cached state.
+     */
+    public MetadataDelta<ConsumerGroupInfo> refreshConsumerGroups(String clusterId) {
+        ClusterMetadataCache cache = getCache(clusterId);
+        LagSnapshot snapshot = LagService.getInstance().refresh(clusterId);
+        if (snapshot == null) {
+            return MetadataDelta.empty(cache.getGroupsVersion());
+        }
+
+        MetadataDelta<ConsumerGroupInfo> delta = cache.applyGroups(snapshot.getGroups(), snapshot.getUndescribedGroups());
+        logger.debug("Consumer group refresh for cluster {}: {}", clusterId, delta);
+        return delta;
+    }
+
+    /**
+     * Refresh broker list
+     */
+    @SuppressWarnings("unchecked")
+    public MetadataDelta<TopicInfo.Node> refreshBrokers(String clusterId) {
+        ClusterMetadataCache cache = getCache(clusterId);
+        Map<String, Object> clusterInfo = ClusterService.getInstance().getClusterInfo(clusterId);
+        if (clusterInfo == null) {
+            return MetadataDelta.empty(cache.getBrokersVersion());
+        }
+
+        Collection<Node> nodes = (Collection<Node>) clusterInfo.get("nodes");
+        Node controller = (Node) clusterInfo.get("controller");
+        List<TopicInfo.Node> brokers = new ArrayList<>(nodes.size());
+        nodes.forEach(node -> brokers.add(new TopicInfo.Node(node.id(), node.host(), node.port())));
+
+        MetadataDelta<TopicInfo.Node> delta = cache.applyBrokers(brokers, controller != null ? controller.id() : -1);
+        logger.debug("Broker refresh for cluster {}: {}", clusterId, delta);
+        return delta;
+    }
+
+    /**
+     * Wait for an admin call; null if it failed or was interrupted, so the caller keeps the cache as it is
+     */
+    private static <T> T await(CompletableFuture<T> future, String clusterId, String operation) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            logger.warn("Failed to {} of cluster {}, keeping cached metadata", operation, clusterId, e.getCause());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.kafkadesk.core.cache;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Difference between two metadata snapshots
+ */
+public class MetadataDelta<T> {
+    private final List<T> added;
+    private final List<T> changed;
+    private final List<String> removed;
+    private final long version;
+
+    MetadataDelta(List<T> added, List<T> changed, List<String> removed, long version) {
+        this.added = Collections.unmodifiableList(added);
+        this.changed = Collections.unmodifiableList(changed);
+        this.removed = Collections.unmodifiableList(removed);
+        this.version = version;
+    }
+
+    static <T> MetadataDelta<T> empty(long version) {
+        return new MetadataDelta<>(Collections.emptyList(), Collections.emptyList(), Collections.emptyList(), version);
+    }
+
+    /**
+     * Entries that were not in the previous snapshot
+     */
+    public List<T> getAdded() {
+        return added;
+    }
+
+    /**
+     * Entries whose content differs from the previous snapshot
+     */
+    public List<T> getChanged() {
+        return changed;
+    }
+
+    /**
+     * Keys of entries that disappeared since the previous snapshot
+     */
+    public List<String> getRemoved() {
+        return removed;
+    }
+
+    /**
+     * Cache version after this delta was applied
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public boolean isEmpty() {
+        return added.isEmpty() && changed.isEmpty() && removed.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "MetadataDelta{" +
+                "added=" + added.size() +
+                ", changed=" + changed.size() +
+                ", removed=" + removed.size() +
+                ", version=" + version +
+                '}';
+    }
+}
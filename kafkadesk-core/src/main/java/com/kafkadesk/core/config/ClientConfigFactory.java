@@ -0,0 +1,125 @@
+package com.kafkadesk.core.config;
+
+import com.kafkadesk.model.ClusterConfig;
+import com.kafkadesk.utils.StringUtil;
+import org.apache.kafka.clients.CommonClientConfigs;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Kafka client settings derived from a cluster configuration.
+ * Every client gets the cluster's bootstrap servers, security settings and custom properties.
+ * Each client type also gets its own tuned defaults, which custom properties may override.
+ * Serializers are always byte arrays.
+ */
+public class ClientConfigFactory {
+    private static final String CLIENT_ID_PREFIX = "kafkadesk-";
+
+    // Socket buffers above the OS defaults keep fetches from remote clusters from stalling on the window
+    private static final int SOCKET_BUFFER_BYTES = 1024 * 1024;
+    private static final int CONSUMER_FETCH_MAX_BYTES = 50 * 1024 * 1024;
+    private static final int CONSUMER_PARTITION_FETCH_BYTES = 2 * 1024 * 1024;
+    private static final long PRODUCER_BUFFER_MEMORY = 64L * 1024 * 1024;
+    // Client IDs are numbered so every client registers its own metrics
+    private static final AtomicInteger clientCounter = new AtomicInteger();
+
+    private ClientConfigFactory() {
+    }
+
+    /**
+     * Admin client settings
+     */
+    public static Properties admin(ClusterConfig config) {
+        Properties props = new Properties();
+        props.put(AdminClientConfig.CLIENT_ID_CONFIG, CLIENT_ID_PREFIX + "admin-" + clientCounter.incrementAndGet());
+        props.put(AdminClientConfig.REQUEST_TIMEOUT_MS_CONFIG, "10000");
+        props.put(AdminClientConfig.DEFAULT_API_TIMEOUT_MS_CONFIG, "10000");
+        props.put(AdminClientConfig.SOCKET_CONNECTION_SETUP_TIMEOUT_MS_CONFIG, "5000");
+        props.put(AdminClientConfig.SOCKET_CONNECTION_SETUP_TIMEOUT_MAX_MS_CONFIG, "10000");
+        applyCluster(props, config);
+        return props;
+    }
+
+    /**
+     * Consumer settings; no group unless one is given, auto commit off, reading from the earliest offset
+     *
+     * @param groupId consumer group, or null for a consumer that only uses assign()
+     */
+    public static Properties consumer(ClusterConfig config, String groupId) {
+        Properties props = new Properties();
+        props.put(ConsumerConfig.CLIENT_ID_CONFIG, CLIENT_ID_PREFIX + "consumer-" + clientCounter.incrementAndGet());
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, "100");
+        props.put(ConsumerConfig.FETCH_MAX_BYTES_CONFIG, String.valueOf(CONSUMER_FETCH_MAX_BYTES));
+        props.put(ConsumerConfig.MAX_PARTITION_FETCH_BYTES_CONFIG, String.valueOf(CONSUMER_PARTITION_FETCH_BYTES));
+        props.put(ConsumerConfig.RECEIVE_BUFFER_CONFIG, String.valueOf(SOCKET_BUFFER_BYTES));
+        props.put(ConsumerConfig.SOCKET_CONNECTION_SETUP_TIMEOUT_MS_CONFIG, "5000");
+        applyCluster(props, config);
+        if (groupId != null) {
+            props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
+        }
+        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class.getName());
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class.getName());
+        return props;
+    }
+
+    /**
+     * Producer settings; batching and acknowledgement settings come from the send profile
+     */
+    public static Properties producer(ClusterConfig config) {
+        Properties props = producerDefaults();
+        applyCluster(props, config);
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class.getName());
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class.getName());
+        return props;
+    }
+
+    /**
+     * Producer settings for bootstrap servers that belong to no configured cluster: no security
+     * settings or custom properties
+     */
+    public static Properties producer(String bootstrapServers) {
+        Properties props = producerDefaults();
+        props.put(CommonClientConfigs.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class.getName());
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class.getName());
+        return props;
+    }
+
+    private static Properties producerDefaults() {
+        Properties props = new Properties();
+        props.put(ProducerConfig.CLIENT_ID_CONFIG, CLIENT_ID_PREFIX + "producer-" + clientCounter.incrementAndGet());
+        props.put(ProducerConfig.RETRIES_CONFIG, "3");
+        props.put(ProducerConfig.SEND_BUFFER_CONFIG, String.valueOf(SOCKET_BUFFER_BYTES));
+        props.put(ProducerConfig.BUFFER_MEMORY_CONFIG, String.valueOf(PRODUCER_BUFFER_MEMORY));
+        props.put(ProducerConfig.SOCKET_CONNECTION_SETUP_TIMEOUT_MS_CONFIG, "5000");
+        return props;
+    }
+
+    /**
+     * Bootstrap servers, security settings and custom properties, over the defaults already in props
+     */
+    private static void applyCluster(Properties props, ClusterConfig config) {
+        props.put(CommonClientConfigs.BOOTSTRAP_SERVERS_CONFIG, config.getBootstrapServers());
+
+        // 添加安全配置
+        if (StringUtil.isNotEmpty(config.getSecurityProtocol())) {
+            props.put(CommonClientConfigs.SECURITY_PROTOCOL_CONFIG, config.getSecurityProtocol());
+        }
+        if (StringUtil.isNotEmpty(config.getSaslMechanism())) {
+            props.put("sasl.mechanism", config.getSaslMechanism());
+        }
+
+        // 添加自定义属性
+        if (config.getProperties() != null) {
+            props.putAll(config.getProperties());
+        }
+    }
+}
@@ -37,6 +37,13 @@ public class ConfigManager {
         return instance;
     }
 
+    /**
+     * Directory holding the configuration and other local data (~/.kafkadesk)
+     */
+    public static Path getConfigDir() {
+        return Paths.get(CONFIG_DIR);
+    }
+
     /**
      * Load configuration
      */
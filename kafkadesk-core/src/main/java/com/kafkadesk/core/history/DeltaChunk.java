@@ -0,0 +1,196 @@
+package com.kafkadesk.core.history;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A run of consecutive samples of one series, compressed.
+ * <p>
+ * The first value is stored as is; each following value as the change of its delta from the
+ * previous one (delta-of-delta), zigzag and varint encoded. A steady series, whether flat or
+ * growing at a constant rate, produces runs of zero which are written as one run-length token,
+ * so it costs a few bytes per chunk. Tokens carry their kind in the lowest bit:
+ * {@code (run << 1) | 1} for a run of zeros, {@code zigzag(dod) << 1} otherwise. Values must
+ * stay below 2^61, which holds for offsets and lag.
+ * <p>
+ * The chunk is sealed as soon as it is full and may then be moved to a {@link SpillSegment} on disk.
+ * Not thread-safe; guarded by the owning cluster history.
+ */
+final class DeltaChunk {
+    static final int CAPACITY = 720;
+    // Object header, fields and array header, for memory accounting
+    private static final int OVERHEAD_BYTES = 80;
+
+    private final int firstTick;
+    private int count;
+    private long first;
+    private long last;
+    private long lastDelta;
+    private byte[] data = new byte[8];
+    private int length;
+    private int zeros;
+    private boolean sealed;
+    private SpillSegment segment;
+    private long segmentOffset;
+
+    DeltaChunk(int firstTick) {
+        this.firstTick = firstTick;
+    }
+
+    int getFirstTick() {
+        return firstTick;
+    }
+
+    int getLastTick() {
+        return firstTick + count - 1;
+    }
+
+    /**
+     * Whether a sample at the given tick can be appended
+     */
+    boolean accepts(int tick) {
+        return !sealed && count < CAPACITY && tick == firstTick + count;
+    }
+
+    void append(long value) {
+        if (count == 0) {
+            first = value;
+        } else {
+            long delta = value - last;
+            long dod = delta - lastDelta;
+            if (dod == 0) {
+                zeros++;
+            } else {
+                flushZeros();
+                writeVarint(((dod << 1) ^ (dod >> 63)) << 1);
+            }
+            lastDelta = delta;
+        }
+        last = value;
+        count++;
+        if (count == CAPACITY) {
+            // Sealed right away so a full chunk can be spilled before the next sample
+            seal();
+        }
+    }
+
+    /**
+     * Stop appending and trim the buffer
+     */
+    void seal() {
+        if (!sealed) {
+            flushZeros();
+            data = Arrays.copyOf(data, length);
+            sealed = true;
+        }
+    }
+
+    boolean isSealed() {
+        return sealed;
+    }
+
+    boolean isSpilled() {
+        return segment != null;
+    }
+
+    /**
+     * Approximate heap used by the chunk
+     */
+    int memoryBytes() {
+        return OVERHEAD_BYTES + (data != null ? data.length : 0);
+    }
+
+    /**
+     * Move the encoded bytes of a sealed chunk to disk
+     */
+    void spillTo(SpillSegment target) throws IOException {
+        segmentOffset = target.write(data, length);
+        segment = target;
+        data = null;
+    }
+
+    /**
+     * Drop the chunk, freeing its place on disk if it was spilled
+     */
+    void release() {
+        if (segment != null) {
+            segment.release();
+            segment = null;
+        }
+        data = null;
+    }
+
+    /**
+     * Decode the samples with ticks in [fromTick, toTick]
+     */
+    void decode(int fromTick, int toTick, SampleConsumer consumer) throws IOException {
+        if (count == 0 || toTick < firstTick || fromTick > getLastTick()) {
+            return;
+        }
+        byte[] bytes = segment != null ? segment.read(segmentOffset, length) : data;
+        int tick = firstTick;
+        long value = first;
+        long delta = 0;
+        emit(tick, value, fromTick, toTick, consumer);
+
+        int position = 0;
+        while (position < length && tick < toTick) {
+            long token = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = bytes[position++];
+                token |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+
+            if ((token & 1) == 1) {
+                for (long run = token >>> 1; run > 0 && tick < toTick; run--) {
+                    value += delta;
+                    emit(++tick, value, fromTick, toTick, consumer);
+                }
+            } else {
+                long zigzag = token >>> 1;
+                delta += (zigzag >>> 1) ^ -(zigzag & 1);
+                value += delta;
+                emit(++tick, value, fromTick, toTick, consumer);
+            }
+        }
+        // Zeros not yet flushed to the buffer of an open chunk
+        for (int run = zeros; run > 0 && tick < toTick; run--) {
+            value += delta;
+            emit(++tick, value, fromTick, toTick, consumer);
+        }
+    }
+
+    private static void emit(int tick, long value, int fromTick, int toTick, SampleConsumer consumer) {
+        if (tick >= fromTick && tick <= toTick) {
+            consumer.accept(tick, value);
+        }
+    }
+
+    private void flushZeros() {
+        if (zeros > 0) {
+            writeVarint(((long) zeros << 1) | 1);
+            zeros = 0;
+        }
+    }
+
+    private void writeVarint(long value) {
+        if (length + 10 > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, length + 10));
+        }
+        while ((value & ~0x7FL) != 0) {
+            data[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[length++] = (byte) value;
+    }
+
+    /**
+     * Receives decoded samples in tick order
+     */
+    interface SampleConsumer {
+        void accept(int tick, long value);
+    }
+}
@@ -0,0 +1,457 @@
+package com.kafkadesk.core.history;
+
+import com.kafkadesk.core.config.ConfigManager;
+import com.kafkadesk.model.ConsumerGroupInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-cluster history of consumer lag, per group and per partition.
+ * <p>
+ * Each series is a list of {@link DeltaChunk}s of consecutive samples. Sample times are kept
+ * once per cluster, as every series is sampled at the same ticks, so a series only stores its
+ * values. A steady series costs a few bytes per chunk; one that changes every sample about one
+ * to two bytes per sample. Data older than the retention (24 hours by default) is dropped as
+ * new samples arrive.
+ * <p>
+ * When the encoded chunks of a cluster exceed the memory budget, the oldest sealed ones are
+ * moved to segment files under {@code ~/.kafkadesk/lag-history} and read back on demand.
+ * Segments only relieve memory: the history starts empty on each launch.
+ */
+public class LagHistoryStore {
+    private static final Logger logger = LoggerFactory.getLogger(LagHistoryStore.class);
+    private static final long DEFAULT_RETENTION_MS = 24L * 60 * 60 * 1000;
+    // Series overhead and open chunks are not spilled, so a large cluster stays somewhat above it
+    private static final long DEFAULT_MEMORY_BUDGET_BYTES = 16L * 1024 * 1024;
+    private static final long SEGMENT_BYTES = 16L * 1024 * 1024;
+    // Approximate heap of a series and of a group beyond their chunks
+    private static final int SERIES_OVERHEAD_BYTES = 96;
+    private static final int GROUP_OVERHEAD_BYTES = 128;
+    private static LagHistoryStore instance;
+
+    private final Map<String, ClusterHistory> clusters = new ConcurrentHashMap<>();
+    private volatile long retentionMs = DEFAULT_RETENTION_MS;
+    private volatile long memoryBudgetBytes = DEFAULT_MEMORY_BUDGET_BYTES;
+    private volatile Path spillDirectory = ConfigManager.getConfigDir().resolve("lag-history");
+
+    private LagHistoryStore() {
+    }
+
+    public static synchronized LagHistoryStore getInstance() {
+        if (instance == null) {
+            instance = new LagHistoryStore();
+        }
+        return instance;
+    }
+
+    /**
+     * Add one sample of every group's per-partition lag, all taken at the same time
+     *
+     * @param lagByGroup lag per partition, by group ID
+     */
+    public void record(String clusterId, long timestamp,
+                       Map<String, Map<ConsumerGroupInfo.TopicPartition, Long>> lagByGroup) {
+        clusters.computeIfAbsent(clusterId, ClusterHistory::new).record(timestamp, lagByGroup);
+    }
+
+    /**
+     * Total lag of a group over a time range (epoch millis, inclusive)
+     */
+    public LagSeries getGroupLag(String clusterId, String groupId, long fromMillis, long toMillis) {
+        ClusterHistory history = clusters.get(clusterId);
+        return history != null ? history.groupLag(groupId, fromMillis, toMillis) : LagSeries.EMPTY;
+    }
+
+    /**
+     * Lag of one partition as read by a group over a time range (epoch millis, inclusive)
+     */
+    public LagSeries getPartitionLag(String clusterId, String groupId, ConsumerGroupInfo.TopicPartition partition,
+                                     long fromMillis, long toMillis) {
+        ClusterHistory history = clusters.get(clusterId);
+        return history != null ? history.partitionLag(groupId, partition, fromMillis, toMillis) : LagSeries.EMPTY;
+    }
+
+    /**
+     * Lag of every partition a group read over a time range (epoch millis, inclusive)
+     */
+    public Map<ConsumerGroupInfo.TopicPartition, LagSeries> getPartitionLags(String clusterId, String groupId,
+                                                                           long fromMillis, long toMillis) {
+        ClusterHistory history = clusters.get(clusterId);
+        return history != null ? history.partitionLags(groupId, fromMillis, toMillis) : Collections.emptyMap();
+    }
+
+    /**
+     * Groups with history in the cluster, sorted
+     */
+    public Set<String> getGroups(String clusterId) {
+        ClusterHistory history = clusters.get(clusterId);
+        return history != null ? history.groupIds() : Collections.emptySet();
+    }
+
+    /**
+     * Approximate heap used by the cluster's history, excluding spilled chunks
+     */
+    public long getMemoryBytes(String clusterId) {
+        ClusterHistory history = clusters.get(clusterId);
+        return history != null ? history.memoryBytes() : 0;
+    }
+
+    /**
+     * Drop the cluster's history and its segment files
+     */
+    public void clear(String clusterId) {
+        ClusterHistory history = clusters.remove(clusterId);
+        if (history != null) {
+            history.close();
+        }
+    }
+
+    /**
+     * How long samples are kept
+     */
+    public void setRetentionMs(long retentionMs) {
+        this.retentionMs = Math.max(1, retentionMs);
+    }
+
+    /**
+     * Heap per cluster above which old chunks are spilled to disk
+     */
+    public void setMemoryBudgetBytes(long memoryBudgetBytes) {
+        this.memoryBudgetBytes = Math.max(0, memoryBudgetBytes);
+    }
+
+    /**
+     * Where segment files are written, or null to keep everything in memory
+     */
+    public void setSpillDirectory(Path spillDirectory) {
+        this.spillDirectory = spillDirectory;
+    }
+
+    /**
+     * One series of samples, split into chunks in tick order
+     */
+    private static final class Series {
+        private final List<DeltaChunk> chunks = new ArrayList<>(2);
+
+        void append(int tick, long value) {
+            DeltaChunk last = chunks.isEmpty() ? null : chunks.get(chunks.size() - 1);
+            if (last == null || !last.accepts(tick)) {
+                if (last != null) {
+                    last.seal();
+                }
+                last = new DeltaChunk(tick);
+                chunks.add(last);
+            }
+            last.append(value);
+        }
+
+        /**
+         * Drop chunks that end before the tick; returns the heap still used
+         */
+        long expire(int cutoffTick) {
+            long bytes = SERIES_OVERHEAD_BYTES;
+            Iterator<DeltaChunk> iterator = chunks.iterator();
+            while (iterator.hasNext()) {
+                DeltaChunk chunk = iterator.next();
+                if (chunk.getLastTick() < cutoffTick) {
+                    chunk.release();
+                    iterator.remove();
+                } else {
+                    bytes += chunk.memoryBytes();
+                }
+            }
+            return bytes;
+        }
+
+        boolean isEmpty() {
+            return chunks.isEmpty();
+        }
+
+        void release() {
+            chunks.forEach(DeltaChunk::release);
+            chunks.clear();
+        }
+    }
+
+    private static final class GroupHistory {
+        private final Series total = new Series();
+        private final Map<ConsumerGroupInfo.TopicPartition, Series> partitions = new HashMap<>();
+    }
+
+    /**
+     * One cluster's series and sample times. Ticks number the samples from 0; the times of
+     * ticks [tickBase, tickBase + tickCount) are kept.
+     */
+    private final class ClusterHistory {
+        private final String clusterId;
+        private final Map<String, GroupHistory> groups = new HashMap<>();
+        private final List<SpillSegment> segments = new ArrayList<>();
+        private long[] tickTimes = new long[64];
+        private int tickBase;
+        private int tickCount;
+        private long memoryBytes;
+        // Samples before this tick are past retention, though their chunk may still hold them
+        private int cutoffTick;
+        private int segmentCounter;
+        private boolean spillFailed;
+
+        ClusterHistory(String clusterId) {
+            this.clusterId = clusterId;
+        }
+
+        synchronized void record(long timestamp, Map<String, Map<ConsumerGroupInfo.TopicPartition, Long>> lagByGroup) {
+            if (tickCount > 0) {
+                // Keep times ordered even if the clock steps back
+                timestamp = Math.max(timestamp, tickTimes[tickCount - 1]);
+            }
+            if (tickCount == tickTimes.length) {
+                tickTimes = Arrays.copyOf(tickTimes, tickCount * 2);
+            }
+            int tick = tickBase + tickCount;
+            tickTimes[tickCount++] = timestamp;
+
+            lagByGroup.forEach((groupId, lag) -> {
+                GroupHistory group = groups.computeIfAbsent(groupId, id -> new GroupHistory());
+                long total = 0;
+                for (Map.Entry<ConsumerGroupInfo.TopicPartition, Long> entry : lag.entrySet()) {
+                    long value = entry.getValue() != null ? entry.getValue() : 0;
+                    total += value;
+                    group.partitions.computeIfAbsent(entry.getKey(), key -> new Series()).append(tick, value);
+                }
+                group.total.append(tick, total);
+            });
+
+            expire(timestamp - retentionMs);
+            if (memoryBytes > memoryBudgetBytes) {
+                spill();
+            }
+        }
+
+        /**
+         * Drop samples older than the cutoff and recount memory
+         */
+        private void expire(long cutoffMillis) {
+            cutoffTick = firstTickAtOrAfter(cutoffMillis);
+            long bytes = (long) tickTimes.length * Long.BYTES;
+            Iterator<GroupHistory> groupIterator = groups.values().iterator();
+            while (groupIterator.hasNext()) {
+                GroupHistory group = groupIterator.next();
+                bytes += GROUP_OVERHEAD_BYTES + group.total.expire(cutoffTick);
+                Iterator<Series> seriesIterator = group.partitions.values().iterator();
+                while (seriesIterator.hasNext()) {
+                    Series series = seriesIterator.next();
+                    bytes += series.expire(cutoffTick);
+                    if (series.isEmpty()) {
+                        seriesIterator.remove();
+                    }
+                }
+                if (group.total.isEmpty()) {
+                    group.partitions.values().forEach(Series::release);
+                    groupIterator.remove();
+                }
+            }
+            memoryBytes = bytes;
+
+            // A live chunk starts at most one chunk length before the cutoff
+            int keepFrom = Math.max(tickBase, cutoffTick - DeltaChunk.CAPACITY);
+            if (keepFrom > tickBase) {
+                int drop = keepFrom - tickBase;
+                System.arraycopy(tickTimes, drop, tickTimes, 0, tickCount - drop);
+                tickCount -= drop;
+                tickBase = keepFrom;
+            }
+            deleteUnusedSegments();
+        }
+
+        /**
+         * Move the oldest sealed chunks to disk until a quarter of the budget is free
+         */
+        private void spill() {
+            Path directory = spillDirectory;
+            if (directory == null || spillFailed) {
+                return;
+            }
+            List<DeltaChunk> candidates = new ArrayList<>();
+            for (GroupHistory group : groups.values()) {
+                addSpillable(group.total, candidates);
+                group.partitions.values().forEach(series -> addSpillable(series, candidates));
+            }
+            candidates.sort(Comparator.comparingInt(DeltaChunk::getFirstTick));
+
+            long target = memoryBudgetBytes * 3 / 4;
+            try {
+                for (DeltaChunk chunk : candidates) {
+                    if (memoryBytes <= target) {
+                        break;
+                    }
+                    long before = chunk.memoryBytes();
+                    chunk.spillTo(currentSegment(directory));
+                    memoryBytes -= before - chunk.memoryBytes();
+                }
+            } catch (IOException e) {
+                spillFailed = true;
+                logger.warn("Failed to spill lag history of cluster {}, keeping it in memory", clusterId, e);
+            }
+        }
+
+        private void addSpillable(Series series, List<DeltaChunk> candidates) {
+            for (DeltaChunk chunk : series.chunks) {
+                if (chunk.isSealed() && !chunk.isSpilled()) {
+                    candidates.add(chunk);
+                }
+            }
+        }
+
+        private SpillSegment currentSegment(Path directory) throws IOException {
+            SpillSegment current = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+            if (current != null && current.size() < SEGMENT_BYTES) {
+                return current;
+            }
+            Path clusterDirectory = directory.resolve(clusterId.replaceAll("[^A-Za-z0-9._-]", "_"));
+            if (segmentCounter == 0) {
+                // Segments left by a previous run are not readable without their index
+                deleteSegmentFiles(clusterDirectory);
+                Files.createDirectories(clusterDirectory);
+            }
+            SpillSegment segment = new SpillSegment(clusterDirectory.resolve("lag-" + segmentCounter++ + ".seg"));
+            segments.add(segment);
+            return segment;
+        }
+
+        private void deleteUnusedSegments() {
+            // The segment being written is kept even when empty
+            for (int i = segments.size() - 2; i >= 0; i--) {
+                SpillSegment segment = segments.get(i);
+                if (segment.isUnused()) {
+                    segments.remove(i);
+                    deleteQuietly(segment);
+                }
+            }
+        }
+
+        synchronized LagSeries groupLag(String groupId, long fromMillis, long toMillis) {
+            GroupHistory group = groups.get(groupId);
+            return group != null ? read(group.total, fromMillis, toMillis) : LagSeries.EMPTY;
+        }
+
+        synchronized LagSeries partitionLag(String groupId, ConsumerGroupInfo.TopicPartition partition,
+                                            long fromMillis, long toMillis) {
+            GroupHistory group = groups.get(groupId);
+            Series series = group != null ? group.partitions.get(partition) : null;
+            return series != null ? read(series, fromMillis, toMillis) : LagSeries.EMPTY;
+        }
+
+        synchronized Map<ConsumerGroupInfo.TopicPartition, LagSeries> partitionLags(String groupId, long fromMillis,
+                                                                                  long toMillis) {
+            GroupHistory group = groups.get(groupId);
+            if (group == null) {
+                return Collections.emptyMap();
+            }
+            Map<ConsumerGroupInfo.TopicPartition, LagSeries> result = new HashMap<>();
+            group.partitions.forEach((partition, series) -> {
+                LagSeries lag = read(series, fromMillis, toMillis);
+                if (!lag.isEmpty()) {
+                    result.put(partition, lag);
+                }
+            });
+            return result;
+        }
+
+        synchronized Set<String> groupIds() {
+            return new TreeSet<>(groups.keySet());
+        }
+
+        synchronized long memoryBytes() {
+            return memoryBytes;
+        }
+
+        synchronized void close() {
+            for (GroupHistory group : groups.values()) {
+                group.total.release();
+                group.partitions.values().forEach(Series::release);
+            }
+            groups.clear();
+            segments.forEach(this::deleteQuietly);
+            segments.clear();
+        }
+
+        private LagSeries read(Series series, long fromMillis, long toMillis) {
+            int fromTick = Math.max(firstTickAtOrAfter(fromMillis), cutoffTick);
+            int toTick = firstTickAtOrAfter(toMillis == Long.MAX_VALUE ? toMillis : toMillis + 1) - 1;
+            if (fromTick > toTick) {
+                return LagSeries.EMPTY;
+            }
+            int capacity = Math.min(toTick - fromTick + 1, 1024);
+            long[][] buffers = {new long[capacity], new long[capacity]};
+            int[] count = {0};
+            DeltaChunk.SampleConsumer collect = (tick, value) -> {
+                if (count[0] == buffers[0].length) {
+                    buffers[0] = Arrays.copyOf(buffers[0], count[0] * 2);
+                    buffers[1] = Arrays.copyOf(buffers[1], count[0] * 2);
+                }
+                buffers[0][count[0]] = tickTimes[tick - tickBase];
+                buffers[1][count[0]++] = value;
+            };
+            for (DeltaChunk chunk : series.chunks) {
+                try {
+                    chunk.decode(fromTick, toTick, collect);
+                } catch (IOException e) {
+                    logger.warn("Failed to read lag history of cluster {}", clusterId, e);
+                }
+            }
+            return new LagSeries(Arrays.copyOf(buffers[0], count[0]), Arrays.copyOf(buffers[1], count[0]));
+        }
+
+        /**
+         * First kept tick sampled at or after the time; one past the last tick if none
+         */
+        private int firstTickAtOrAfter(long millis) {
+            int low = 0;
+            int high = tickCount;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (tickTimes[mid] < millis) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return tickBase + low;
+        }
+
+        private void deleteQuietly(SpillSegment segment) {
+            try {
+                segment.delete();
+            } catch (IOException e) {
+                logger.debug("Failed to delete lag history segment", e);
+            }
+        }
+    }
+
+    private static void deleteSegmentFiles(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.seg")) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+}
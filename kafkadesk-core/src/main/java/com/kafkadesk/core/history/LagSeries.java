@@ -0,0 +1,72 @@
+package com.kafkadesk.core.history;
+
+import java.util.Arrays;
+
+/**
+ * Lag samples of a group or partition over a time range, oldest first
+ */
+public class LagSeries {
+    static final LagSeries EMPTY = new LagSeries(new long[0], new long[0]);
+
+    private final long[] timestamps;
+    private final long[] values;
+
+    LagSeries(long[] timestamps, long[] values) {
+        this.timestamps = timestamps;
+        this.values = values;
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    public boolean isEmpty() {
+        return values.length == 0;
+    }
+
+    /**
+     * Sample time (epoch millis) of the i-th sample
+     */
+    public long getTimestamp(int i) {
+        return timestamps[i];
+    }
+
+    public long getValue(int i) {
+        return values[i];
+    }
+
+    public long[] getTimestamps() {
+        return Arrays.copyOf(timestamps, timestamps.length);
+    }
+
+    public long[] getValues() {
+        return Arrays.copyOf(values, values.length);
+    }
+
+    /**
+     * Highest lag in the range, or 0 if empty
+     */
+    public long getMax() {
+        long max = 0;
+        for (long value : values) {
+            max = Math.max(max, value);
+        }
+        return max;
+    }
+
+    /**
+     * Most recent lag, or 0 if empty
+     */
+    public long getLast() {
+        return values.length > 0 ? values[values.length - 1] : 0;
+    }
+
+    @Override
+    public String toString() {
+        return "LagSeries{" +
+                "samples=" + values.length +
+                ", last=" + getLast() +
+                ", max=" + getMax() +
+                '}';
+    }
+}
@@ -0,0 +1,73 @@
+package com.kafkadesk.core.history;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append-only file holding the bytes of spilled chunks.
+ * Counts the chunks still referencing it so it can be deleted once they have all expired.
+ */
+final class SpillSegment {
+    private final Path path;
+    private final FileChannel channel;
+    private long size;
+    private int liveChunks;
+
+    SpillSegment(Path path) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Append bytes and return their offset
+     */
+    synchronized long write(byte[] data, int length) throws IOException {
+        long offset = size;
+        ByteBuffer buffer = ByteBuffer.wrap(data, 0, length);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, offset + buffer.position());
+        }
+        size += length;
+        liveChunks++;
+        return offset;
+    }
+
+    synchronized byte[] read(long offset, int length) throws IOException {
+        byte[] data = new byte[length];
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, offset + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of lag history segment " + path);
+            }
+        }
+        return data;
+    }
+
+    synchronized void release() {
+        liveChunks--;
+    }
+
+    synchronized long size() {
+        return size;
+    }
+
+    /**
+     * Whether no chunk references the segment anymore
+     */
+    synchronized boolean isUnused() {
+        return liveChunks <= 0;
+    }
+
+    /**
+     * Close and delete the file
+     */
+    void delete() throws IOException {
+        channel.close();
+        Files.deleteIfExists(path);
+    }
+}
@@ -0,0 +1,61 @@
+package com.kafkadesk.core.search;
+
+/**
+ * One match of a search
+ */
+public class SearchHit {
+
+    /**
+     * What was matched
+     */
+    public enum Kind {
+        TOPIC,
+        GROUP,
+        /**
+         * A topic config value; the hit's name is the topic
+         */
+        CONFIG
+    }
+
+    private final Kind kind;
+    private final String name;
+    private final String field;
+    private final String value;
+
+    SearchHit(Kind kind, String name, String field, String value) {
+        this.kind = kind;
+        this.name = name;
+        this.field = field;
+        this.value = value;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Topic name or group ID
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Config key for CONFIG hits, otherwise null
+     */
+    public String getField() {
+        return field;
+    }
+
+    /**
+     * The matched text: the name itself, or the config value
+     */
+    public String getValue() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return kind + ":" + name + (field != null ? "[" + field + "=" + value + "]" : "");
+    }
+}
@@ -0,0 +1,356 @@
+package com.kafkadesk.core.search;
+
+import com.kafkadesk.model.TopicInfo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory search over topic names, consumer group IDs and topic config values.
+ * <p>
+ * Every indexed text is kept in two structures, both over its lower-cased form:
+ * <ul>
+ *     <li>a sorted map of texts, whose key range answers prefix lookups like a trie would;</li>
+ *     <li>a trigram index: for each run of three characters, the sorted IDs of texts containing it.</li>
+ * </ul>
+ * A query is narrowed to candidates with these, by prefix or by intersecting the trigrams of the
+ * literals every match must contain, and only the candidates are checked against the query.
+ * Short or literal-free queries scan everything.
+ * <p>
+ * Updates are per topic or group, so the index follows the metadata cache without rebuilding.
+ * Thread-safe; searches run concurrently with each other.
+ */
+public class SearchIndex {
+    private static final Comparator<SearchHit> HIT_ORDER = Comparator.comparing(SearchHit::getKind)
+            .thenComparing(SearchHit::getName)
+            .thenComparing(hit -> hit.getField() != null ? hit.getField() : "");
+    private static final Comparator<Doc> DOC_ORDER = Comparator.<Doc, SearchHit.Kind>comparing(doc -> doc.kind)
+            .thenComparing(doc -> doc.name)
+            .thenComparing(doc -> doc.field != null ? doc.field : "");
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, Doc> docs = new HashMap<>();
+    private final Map<String, Integer> topicDocs = new HashMap<>();
+    private final Map<String, Integer> groupDocs = new HashMap<>();
+    private final Map<String, int[]> configDocs = new HashMap<>();
+    private final NavigableMap<String, Postings> texts = new TreeMap<>();
+    private final Map<Long, Postings> trigrams = new HashMap<>();
+    // IDs only grow, so postings are appended in order and stay sorted without shifting
+    private int nextId;
+
+    /**
+     * Add or update a topic: its name and its non-default config values
+     */
+    public void putTopic(TopicInfo topic) {
+        lock.writeLock().lock();
+        try {
+            if (!topicDocs.containsKey(topic.getName())) {
+                topicDocs.put(topic.getName(), add(SearchHit.Kind.TOPIC, topic.getName(), null, topic.getName()));
+            }
+            removeConfigs(topic.getName());
+            Map<String, String> config = topic.getConfig();
+            if (config != null && !config.isEmpty()) {
+                int[] ids = new int[config.size()];
+                int i = 0;
+                for (Map.Entry<String, String> entry : config.entrySet()) {
+                    String value = entry.getValue() != null ? entry.getValue() : "";
+                    ids[i++] = add(SearchHit.Kind.CONFIG, topic.getName(), entry.getKey(), value);
+                }
+                configDocs.put(topic.getName(), ids);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeTopic(String name) {
+        lock.writeLock().lock();
+        try {
+            Integer id = topicDocs.remove(name);
+            if (id != null) {
+                remove(id);
+            }
+            removeConfigs(name);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void putGroup(String groupId) {
+        lock.writeLock().lock();
+        try {
+            if (!groupDocs.containsKey(groupId)) {
+                groupDocs.put(groupId, add(SearchHit.Kind.GROUP, groupId, null, groupId));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeGroup(String groupId) {
+        lock.writeLock().lock();
+        try {
+            Integer id = groupDocs.remove(groupId);
+            if (id != null) {
+                remove(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            docs.clear();
+            topicDocs.clear();
+            groupDocs.clear();
+            configDocs.clear();
+            texts.clear();
+            trigrams.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Number of indexed texts
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Find matches, ordered by kind, name and config key
+     *
+     * @param limit most hits returned
+     */
+    public List<SearchHit> search(SearchQuery query, int limit) {
+        // Keep only the first hits in order: the head of the queue is the last one kept
+        PriorityQueue<Doc> best = new PriorityQueue<>(DOC_ORDER.reversed());
+        lock.readLock().lock();
+        try {
+            int[] candidates = candidates(query);
+            if (candidates == null) {
+                for (Doc doc : docs.values()) {
+                    offer(doc, query, best, limit);
+                }
+            } else {
+                for (int id : candidates) {
+                    offer(docs.get(id), query, best, limit);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<SearchHit> hits = new ArrayList<>(best.size());
+        for (Doc doc : best) {
+            hits.add(new SearchHit(doc.kind, doc.name, doc.field, doc.value));
+        }
+        hits.sort(HIT_ORDER);
+        return hits;
+    }
+
+    private void offer(Doc doc, SearchQuery query, PriorityQueue<Doc> best, int limit) {
+        if (doc == null || !query.getKinds().contains(doc.kind)) {
+            return;
+        }
+        if (best.size() >= limit && DOC_ORDER.compare(doc, best.peek()) >= 0) {
+            return;
+        }
+        if (query.matches(doc.value, doc.lower)) {
+            best.offer(doc);
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+    }
+
+    /**
+     * Sorted IDs that may match, or null if the query gives nothing to narrow by.
+     * Trigram lists are intersected smallest first; the prefix range is only used when there
+     * are no trigrams, since checking the candidates covers it anyway.
+     */
+    private int[] candidates(SearchQuery query) {
+        List<Postings> lists = new ArrayList<>();
+        for (String literal : query.literals()) {
+            if (literal.length() < 3) {
+                continue;
+            }
+            for (long trigram : trigramsOf(literal)) {
+                Postings postings = trigrams.get(trigram);
+                if (postings == null) {
+                    return new int[0];
+                }
+                lists.add(postings);
+            }
+        }
+
+        if (lists.isEmpty()) {
+            String prefix = query.prefix();
+            return prefix != null ? prefixIds(prefix) : null;
+        }
+        lists.sort(Comparator.comparingInt(postings -> postings.size));
+        int[] result = lists.get(0).toArray();
+        for (int i = 1; i < lists.size() && result.length > 0; i++) {
+            result = lists.get(i).intersect(result);
+        }
+        return result;
+    }
+
+    private int[] prefixIds(String prefix) {
+        Collection<Postings> matching = texts.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values();
+        int total = 0;
+        for (Postings postings : matching) {
+            total += postings.size;
+        }
+        int[] result = new int[total];
+        int offset = 0;
+        for (Postings postings : matching) {
+            System.arraycopy(postings.ids, 0, result, offset, postings.size);
+            offset += postings.size;
+        }
+        Arrays.sort(result);
+        return result;
+    }
+
+    private int add(SearchHit.Kind kind, String name, String field, String value) {
+        int id = nextId++;
+        Doc doc = new Doc(kind, name, field, value);
+        docs.put(id, doc);
+        texts.computeIfAbsent(doc.lower, key -> new Postings()).add(id);
+        for (long trigram : trigramsOf(doc.lower)) {
+            trigrams.computeIfAbsent(trigram, key -> new Postings()).add(id);
+        }
+        return id;
+    }
+
+    private void remove(int id) {
+        Doc doc = docs.remove(id);
+        if (doc == null) {
+            return;
+        }
+        removePosting(texts, doc.lower, id);
+        for (long trigram : trigramsOf(doc.lower)) {
+            removePosting(trigrams, trigram, id);
+        }
+    }
+
+    private void removeConfigs(String topic) {
+        int[] ids = configDocs.remove(topic);
+        if (ids != null) {
+            for (int id : ids) {
+                remove(id);
+            }
+        }
+    }
+
+    private static <K> void removePosting(Map<K, Postings> index, K key, int id) {
+        Postings postings = index.get(key);
+        if (postings != null && postings.remove(id) && postings.size == 0) {
+            index.remove(key);
+        }
+    }
+
+    /**
+     * Distinct trigrams of a lower-cased text, each packed as three 16-bit chars
+     */
+    private static Set<Long> trigramsOf(String text) {
+        Set<Long> result = new HashSet<>(Math.max(0, text.length() - 2) * 2);
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            result.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+        return result;
+    }
+
+    /**
+     * One indexed text
+     */
+    private static final class Doc {
+        private final SearchHit.Kind kind;
+        private final String name;
+        private final String field;
+        private final String value;
+        private final String lower;
+
+        Doc(SearchHit.Kind kind, String name, String field, String value) {
+            this.kind = kind;
+            this.name = name;
+            this.field = field;
+            this.value = value;
+            this.lower = SearchQuery.lower(value);
+        }
+    }
+
+    /**
+     * Sorted, growable list of IDs
+     */
+    private static final class Postings {
+        private int[] ids = new int[4];
+        private int size;
+
+        void add(int id) {
+            // Always the largest ID so far
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        boolean remove(int id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+            return true;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+
+        /**
+         * IDs in both this list and a sorted array; walks the shorter one and binary-searches the other
+         */
+        int[] intersect(int[] sorted) {
+            int[] small = size <= sorted.length ? ids : sorted;
+            int smallSize = size <= sorted.length ? size : sorted.length;
+            int[] large = small == ids ? sorted : ids;
+            int largeSize = small == ids ? sorted.length : size;
+
+            int[] result = new int[smallSize];
+            int count = 0;
+            int from = 0;
+            for (int i = 0; i < smallSize && from < largeSize; i++) {
+                int index = Arrays.binarySearch(large, from, largeSize, small[i]);
+                if (index >= 0) {
+                    result[count++] = small[i];
+                    from = index + 1;
+                } else {
+                    from = -index - 1;
+                }
+            }
+            return Arrays.copyOf(result, count);
+        }
+    }
+}
@@ -0,0 +1,336 @@
+package com.kafkadesk.core.search;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * A search over the index; matching is case-insensitive.
+ * Use {@link #parse} for search box input, or the factories for a specific mode.
+ */
+public class SearchQuery {
+
+    /**
+     * How the text is matched
+     */
+    public enum Mode {
+        /**
+         * Anywhere in the text
+         */
+        SUBSTRING,
+        /**
+         * At the start of the text
+         */
+        PREFIX,
+        /**
+         * The whole text, with * for any run and ? for any one character
+         */
+        GLOB,
+        /**
+         * A regular expression found anywhere in the text
+         */
+        REGEX
+    }
+
+    private final Mode mode;
+    private final String text;
+    private final Pattern pattern;
+    private final String prefix;
+    private final List<String> literals;
+    private Set<SearchHit.Kind> kinds = EnumSet.allOf(SearchHit.Kind.class);
+
+    private SearchQuery(Mode mode, String text, Pattern pattern, String prefix, List<String> literals) {
+        this.mode = mode;
+        this.text = text;
+        this.pattern = pattern;
+        this.prefix = prefix;
+        this.literals = literals;
+    }
+
+    /**
+     * Read search box input: /regex/, ^prefix, a glob if it has * or ?, otherwise a substring.
+     * An invalid regex is searched for as a substring.
+     */
+    public static SearchQuery parse(String input) {
+        String text = input == null ? "" : input.trim();
+        if (text.length() > 1 && text.startsWith("/") && text.endsWith("/")) {
+            try {
+                return regex(text.substring(1, text.length() - 1));
+            } catch (IllegalArgumentException e) {
+                return substring(text);
+            }
+        }
+        if (text.startsWith("^")) {
+            return prefix(text.substring(1));
+        }
+        if (text.indexOf('*') >= 0 || text.indexOf('?') >= 0) {
+            return glob(text);
+        }
+        return substring(text);
+    }
+
+    public static SearchQuery substring(String text) {
+        String lower = lower(text);
+        return new SearchQuery(Mode.SUBSTRING, lower, null, null, Collections.singletonList(lower));
+    }
+
+    public static SearchQuery prefix(String text) {
+        String lower = lower(text);
+        return new SearchQuery(Mode.PREFIX, lower, null, lower, Collections.emptyList());
+    }
+
+    public static SearchQuery glob(String glob) {
+        String lower = lower(glob);
+        StringBuilder regex = new StringBuilder();
+        List<String> literals = new ArrayList<>();
+        StringBuilder run = new StringBuilder();
+        String prefix = null;
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            if (c == '*' || c == '?') {
+                if (prefix == null) {
+                    prefix = run.toString();
+                }
+                literals.add(run.toString());
+                run.setLength(0);
+                regex.append(c == '*' ? ".*" : ".");
+            } else {
+                run.append(c);
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        literals.add(run.toString());
+        return new SearchQuery(Mode.GLOB, lower, compile(regex.toString()), prefix != null ? prefix : lower, literals);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the pattern is not a valid regular expression
+     */
+    public static SearchQuery regex(String regex) {
+        Pattern pattern;
+        try {
+            pattern = compile(regex);
+        } catch (PatternSyntaxException e) {
+            throw new IllegalArgumentException("Invalid regular expression: " + e.getDescription(), e);
+        }
+        return new SearchQuery(Mode.REGEX, regex, pattern, null, requiredLiterals(regex));
+    }
+
+    /**
+     * Only return hits of these kinds
+     */
+    public SearchQuery withKinds(SearchHit.Kind first, SearchHit.Kind... rest) {
+        kinds = EnumSet.of(first, rest);
+        return this;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public Set<SearchHit.Kind> getKinds() {
+        return kinds;
+    }
+
+    /**
+     * Literal prefix every match starts with, or null if none is known
+     */
+    String prefix() {
+        return prefix == null || prefix.isEmpty() ? null : prefix;
+    }
+
+    /**
+     * Lower-cased literal strings every match contains
+     */
+    List<String> literals() {
+        return literals;
+    }
+
+    /**
+     * Check a candidate
+     *
+     * @param original the indexed text as stored
+     * @param lower    the same text lower-cased
+     */
+    boolean matches(String original, String lower) {
+        switch (mode) {
+            case SUBSTRING:
+                return lower.contains(text);
+            case PREFIX:
+                return lower.startsWith(text);
+            case GLOB:
+                return pattern.matcher(lower).matches();
+            default:
+                return pattern.matcher(original).find();
+        }
+    }
+
+    static String lower(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private static Pattern compile(String regex) {
+        return Pattern.compile(regex, Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+    }
+
+    /**
+     * Literal runs every match of the regex must contain, read conservatively: patterns with
+     * alternation, inline groups or quoting give none, so the whole index is scanned. Literals
+     * inside a group that may match zero times, such as (-dlq)?, are not required.
+     */
+    static List<String> requiredLiterals(String regex) {
+        List<String> literals = new ArrayList<>();
+        if (regex.indexOf('|') >= 0 || regex.contains("(?") || regex.contains("\\Q")
+                || regex.contains("[]") || regex.contains("[^]")) {
+            return literals;
+        }
+
+        StringBuilder run = new StringBuilder();
+        // Number of literals found before each open group
+        Deque<Integer> groups = new ArrayDeque<>();
+        for (int i = 0; i < regex.length(); i++) {
+            char c = regex.charAt(i);
+            if (c == '\\' && i + 1 < regex.length()) {
+                char next = regex.charAt(++i);
+                if (Character.isLetterOrDigit(next)) {
+                    // \d, \w, \b and the like are not literals, nor are the arguments of \x41 or \p{L}
+                    flush(run, literals);
+                    i = escapeEnd(regex, i);
+                } else {
+                    run.append(Character.toLowerCase(next));
+                }
+            } else if (c == '?' || c == '*' || c == '{') {
+                // The preceding character is optional or repeated a varying number of times
+                if (run.length() > 0) {
+                    run.setLength(run.length() - 1);
+                }
+                flush(run, literals);
+                if (c == '{') {
+                    int end = regex.indexOf('}', i);
+                    i = end < 0 ? regex.length() : end;
+                }
+            } else if (c == '[') {
+                flush(run, literals);
+                i = classEnd(regex, i);
+            } else if (c == '(') {
+                flush(run, literals);
+                groups.push(literals.size());
+            } else if (c == ')') {
+                flush(run, literals);
+                if (!groups.isEmpty()) {
+                    int start = groups.pop();
+                    if (optional(regex, i + 1)) {
+                        literals.subList(start, literals.size()).clear();
+                    }
+                }
+            } else if (".^$]+".indexOf(c) >= 0) {
+                flush(run, literals);
+            } else {
+                run.append(Character.toLowerCase(c));
+            }
+        }
+        flush(run, literals);
+        return literals;
+    }
+
+    /**
+     * Whether the quantifier at i, if any, allows zero repetitions: ?, * or {0,...}
+     */
+    private static boolean optional(String regex, int i) {
+        if (i >= regex.length()) {
+            return false;
+        }
+        char c = regex.charAt(i);
+        if (c == '?' || c == '*') {
+            return true;
+        }
+        if (c != '{') {
+            return false;
+        }
+        int j = i + 1;
+        while (j < regex.length() && regex.charAt(j) == '0') {
+            j++;
+        }
+        // Only zeros before the comma or brace: {0}, {0,} or {0,n}
+        return j > i + 1 && j < regex.length() && (regex.charAt(j) == ',' || regex.charAt(j) == '}');
+    }
+
+    /**
+     * Index of the last character of the escape whose letter or digit is at i
+     */
+    private static int escapeEnd(String regex, int i) {
+        switch (regex.charAt(i)) {
+            case 'x':
+                return i + 1 < regex.length() && regex.charAt(i + 1) == '{' ? closing(regex, i + 1, '}') : i + 2;
+            case 'u':
+                return i + 4;
+            case 'c':
+                return i + 1;
+            case '0':
+                return digitsEnd(regex, i, 3);
+            case 'p':
+            case 'P':
+            case 'N':
+                return i + 1 < regex.length() && regex.charAt(i + 1) == '{' ? closing(regex, i + 1, '}') : i + 1;
+            case 'k':
+                return closing(regex, i + 1, '>');
+            default:
+                // Back references such as \12 take the digits that follow
+                return Character.isDigit(regex.charAt(i)) ? digitsEnd(regex, i, Integer.MAX_VALUE) : i;
+        }
+    }
+
+    private static int digitsEnd(String regex, int i, int max) {
+        int end = i;
+        while (end + 1 < regex.length() && end - i < max && Character.isDigit(regex.charAt(end + 1))) {
+            end++;
+        }
+        return end;
+    }
+
+    private static int closing(String regex, int from, char close) {
+        int end = regex.indexOf(close, from);
+        return end < 0 ? regex.length() : end;
+    }
+
+    /**
+     * Index of the ] closing the character class opened at i, skipping escapes and nested classes
+     */
+    private static int classEnd(String regex, int i) {
+        int depth = 0;
+        for (int j = i; j < regex.length(); j++) {
+            char c = regex.charAt(j);
+            if (c == '\\') {
+                j++;
+            } else if (c == '[') {
+                depth++;
+            } else if (c == ']' && --depth == 0) {
+                return j;
+            }
+        }
+        return regex.length();
+    }
+
+    private static void flush(StringBuilder run, List<String> literals) {
+        if (run.length() > 0) {
+            literals.add(run.toString());
+            run.setLength(0);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return mode + " " + text;
+    }
+}
@@ -0,0 +1,308 @@
+package com.kafkadesk.core.service;
+
+import com.kafkadesk.core.config.ClientConfigFactory;
+import com.kafkadesk.model.ClusterConfig;
+import com.kafkadesk.utils.ThreadUtil;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.DescribeClusterOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admin clients with background health checks.
+ * Each connected cluster is probed with a short describeCluster call. After
+ * {@value #FAILURE_THRESHOLD} failed probes in a row the cluster is marked down: the circuit
+ * opens, {@link #getAdmin} returns null so callers fail at once instead of waiting for request
+ * timeouts, and a fresh client is tried with exponential backoff until one answers.
+ */
+class AdminClientManager {
+    private static final Logger logger = LoggerFactory.getLogger(AdminClientManager.class);
+    private static final long PROBE_INTERVAL_MS = 10_000;
+    private static final long RETRY_PROBE_MS = 1_000;
+    private static final int PROBE_TIMEOUT_MS = 3_000;
+    private static final int FAILURE_THRESHOLD = 2;
+    private static final long INITIAL_BACKOFF_MS = 1_000;
+    private static final long MAX_BACKOFF_MS = 60_000;
+    private static final long CONNECT_TIMEOUT_MS = 10_000;
+    private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(2);
+
+    private final Map<String, ManagedAdmin> clusters = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+
+    AdminClientManager() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(ThreadUtil.daemonThreadFactory("kafkadesk-admin-health"));
+    }
+
+    /**
+     * Create a client and check it answers; on success it replaces any previous client for the cluster
+     */
+    boolean connect(ClusterConfig config) {
+        try {
+            return connectAsync(config, CONNECT_TIMEOUT_MS).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Like {@link #connect} without blocking: completes with false if the cluster does not
+     * answer within the timeout
+     */
+    CompletableFuture<Boolean> connectAsync(ClusterConfig config, long timeoutMs) {
+        Admin admin;
+        try {
+            admin = createAdmin(config);
+        } catch (Exception e) {
+            logger.error("Failed to connect to cluster: " + config.getName(), e);
+            return CompletableFuture.completedFuture(false);
+        }
+
+        DescribeClusterOptions options = new DescribeClusterOptions().timeoutMs((int) Math.min(timeoutMs, Integer.MAX_VALUE));
+        return AdminFutures.toCompletable(admin.describeCluster(options).clusterId())
+                .orTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                // Off the admin thread: replacing a client closes the previous one
+                .handleAsync((id, error) -> {
+                    if (error != null) {
+                        logger.error("Failed to connect to cluster: " + config.getName(), error);
+                        closeQuietly(admin);
+                        return false;
+                    }
+                    register(config, admin);
+                    return true;
+                });
+    }
+
+    private void register(ClusterConfig config, Admin admin) {
+        ManagedAdmin managed = new ManagedAdmin(config, admin);
+        ManagedAdmin previous = clusters.put(config.getId(), managed);
+        if (previous != null) {
+            previous.close();
+        }
+        managed.scheduleProbe(PROBE_INTERVAL_MS);
+    }
+
+    /**
+     * The cluster's client, or null if it is not connected or currently down
+     */
+    Admin getAdmin(String clusterId) {
+        ManagedAdmin managed = clusters.get(clusterId);
+        if (managed == null) {
+            return null;
+        }
+        if (managed.state != ClusterHealth.State.UP) {
+            logger.debug("Cluster {} is down, failing fast", clusterId);
+            return null;
+        }
+        return managed.admin;
+    }
+
+    boolean isConnected(String clusterId) {
+        ManagedAdmin managed = clusters.get(clusterId);
+        return managed != null && managed.state == ClusterHealth.State.UP;
+    }
+
+    ClusterHealth getHealth(String clusterId) {
+        ManagedAdmin managed = clusters.get(clusterId);
+        if (managed == null) {
+            return new ClusterHealth(ClusterHealth.State.CLOSED, 0, 0, 0, 0, null);
+        }
+        return managed.snapshot();
+    }
+
+    /**
+     * A call failed in a way that suggests the cluster is unreachable: probe now instead of
+     * waiting for the next scheduled probe
+     */
+    void reportFailure(String clusterId) {
+        ManagedAdmin managed = clusters.get(clusterId);
+        if (managed != null && managed.state == ClusterHealth.State.UP) {
+            managed.scheduleProbe(0);
+        }
+    }
+
+    void close(String clusterId) {
+        ManagedAdmin managed = clusters.remove(clusterId);
+        if (managed != null) {
+            managed.close();
+            logger.info("Closed connection to cluster: {}", clusterId);
+        }
+    }
+
+    void closeAll() {
+        clusters.keySet().forEach(this::close);
+    }
+
+    private Admin createAdmin(ClusterConfig config) {
+        return Admin.create(ClientConfigFactory.admin(config));
+    }
+
+    private void closeQuietly(Admin admin) {
+        if (admin == null) {
+            return;
+        }
+        // Never close on an admin callback thread: close waits for that thread
+        scheduler.execute(() -> {
+            try {
+                admin.close(CLOSE_TIMEOUT);
+            } catch (Exception e) {
+                logger.warn("Error closing admin client", e);
+            }
+        });
+    }
+
+    /**
+     * One cluster's client and circuit state; state changes happen under its monitor
+     */
+    private final class ManagedAdmin {
+        private final ClusterConfig config;
+        private volatile Admin admin;
+        private volatile ClusterHealth.State state = ClusterHealth.State.UP;
+        private int consecutiveFailures;
+        private long lastSuccessAt = System.currentTimeMillis();
+        private long lastProbeLatencyMs;
+        private long backoffMs = INITIAL_BACKOFF_MS;
+        private long nextReconnectAt;
+        private String lastError;
+        private ScheduledFuture<?> task;
+        private boolean closed;
+
+        ManagedAdmin(ClusterConfig config, Admin admin) {
+            this.config = config;
+            this.admin = admin;
+        }
+
+        synchronized void scheduleProbe(long delayMs) {
+            schedule(this::probe, delayMs);
+        }
+
+        private synchronized void schedule(Runnable action, long delayMs) {
+            if (closed) {
+                return;
+            }
+            if (task != null) {
+                task.cancel(false);
+            }
+            task = scheduler.schedule(action, delayMs, TimeUnit.MILLISECONDS);
+        }
+
+        private void probe() {
+            Admin current = admin;
+            long start = System.nanoTime();
+            try {
+                current.describeCluster(new DescribeClusterOptions().timeoutMs(PROBE_TIMEOUT_MS)).clusterId()
+                        .whenComplete((id, error) -> onProbe(current, error, (System.nanoTime() - start) / 1_000_000));
+            } catch (Exception e) {
+                onProbe(current, e, 0);
+            }
+        }
+
+        private synchronized void onProbe(Admin probed, Throwable error, long latencyMs) {
+            if (closed || probed != admin) {
+                return;
+            }
+            lastProbeLatencyMs = latencyMs;
+            if (error == null) {
+                consecutiveFailures = 0;
+                lastSuccessAt = System.currentTimeMillis();
+                schedule(this::probe, PROBE_INTERVAL_MS);
+                return;
+            }
+
+            consecutiveFailures++;
+            lastError = error.getMessage();
+            if (consecutiveFailures < FAILURE_THRESHOLD) {
+                schedule(this::probe, RETRY_PROBE_MS);
+                return;
+            }
+            state = ClusterHealth.State.DOWN;
+            backoffMs = INITIAL_BACKOFF_MS;
+            logger.warn("Cluster {} is down after {} failed probes: {}", config.getName(), consecutiveFailures, lastError);
+            scheduleReconnect();
+        }
+
+        private void scheduleReconnect() {
+            // Jitter so clusters that went down together do not retry in lockstep
+            long delay = backoffMs + ThreadLocalRandom.current().nextLong(backoffMs / 4 + 1);
+            nextReconnectAt = System.currentTimeMillis() + delay;
+            schedule(this::reconnect, delay);
+        }
+
+        /**
+         * Try a fresh client; the old one may be stuck on stale connections or metadata
+         */
+        private void reconnect() {
+            Admin fresh;
+            try {
+                fresh = createAdmin(config);
+            } catch (Exception e) {
+                onReconnect(null, e, 0);
+                return;
+            }
+            long start = System.nanoTime();
+            fresh.describeCluster(new DescribeClusterOptions().timeoutMs(PROBE_TIMEOUT_MS)).clusterId()
+                    .whenComplete((id, error) -> onReconnect(fresh, error, (System.nanoTime() - start) / 1_000_000));
+        }
+
+        private synchronized void onReconnect(Admin fresh, Throwable error, long latencyMs) {
+            if (closed) {
+                closeQuietly(fresh);
+                return;
+            }
+            if (error != null) {
+                closeQuietly(fresh);
+                consecutiveFailures++;
+                lastError = error.getMessage();
+                backoffMs = Math.min(backoffMs * 2, MAX_BACKOFF_MS);
+                logger.debug("Reconnect to {} failed, next attempt in about {} ms", config.getName(), backoffMs);
+                scheduleReconnect();
+                return;
+            }
+
+            Admin stale = admin;
+            admin = fresh;
+            state = ClusterHealth.State.UP;
+            consecutiveFailures = 0;
+            lastError = null;
+            lastSuccessAt = System.currentTimeMillis();
+            lastProbeLatencyMs = latencyMs;
+            nextReconnectAt = 0;
+            closeQuietly(stale);
+            logger.info("Reconnected to cluster: {}", config.getName());
+            schedule(this::probe, PROBE_INTERVAL_MS);
+        }
+
+        synchronized ClusterHealth snapshot() {
+            return new ClusterHealth(state, consecutiveFailures, lastSuccessAt, lastProbeLatencyMs,
+                    state == ClusterHealth.State.DOWN ? nextReconnectAt : 0, lastError);
+        }
+
+        void close() {
+            synchronized (this) {
+                closed = true;
+                state = ClusterHealth.State.CLOSED;
+                if (task != null) {
+                    task.cancel(false);
+                }
+            }
+            try {
+                admin.close(CLOSE_TIMEOUT);
+            } catch (Exception e) {
+                logger.error("Error closing admin client", e);
+            }
+        }
+    }
+}
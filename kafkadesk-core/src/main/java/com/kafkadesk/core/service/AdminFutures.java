@@ -0,0 +1,99 @@
+package com.kafkadesk.core.service;
+
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.common.KafkaFuture;
+import org.slf4j.Logger;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Glue between admin client futures and {@link CompletableFuture}.
+ * No thread waits on a call: results arrive on the admin client's network thread and timeouts
+ * fire from the shared CompletableFuture delayer. Callers must not block in callbacks attached
+ * to the returned futures; use the *Async forms with an executor for slow work.
+ */
+final class AdminFutures {
+    static final long TIMEOUT_MS = 10_000;
+    /**
+     * Backstop for batched calls whose items fail one by one on the admin client's own API timeout
+     */
+    static final long BATCH_TIMEOUT_MS = 2 * TIMEOUT_MS;
+
+    private AdminFutures() {
+    }
+
+    /**
+     * Adapt a KafkaFuture; the result is a separate future, so completing or cancelling it
+     * leaves the admin client alone
+     */
+    static <T> CompletableFuture<T> toCompletable(KafkaFuture<T> future) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        future.whenComplete((value, error) -> {
+            if (error != null) {
+                result.completeExceptionally(AdminOperationException.unwrap(error));
+            } else {
+                result.complete(value);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Run an admin operation on a cluster with the standard timeout.
+     * Fails with {@link AdminOperationException}; a timeout also asks the health monitor to probe.
+     *
+     * @param operation short description used in errors, e.g. "list topics"
+     */
+    static <T> CompletableFuture<T> call(String clusterId, String operation,
+                                         Function<Admin, CompletableFuture<T>> action) {
+        return call(clusterId, operation, TIMEOUT_MS, action);
+    }
+
+    static <T> CompletableFuture<T> call(String clusterId, String operation, long timeoutMs,
+                                         Function<Admin, CompletableFuture<T>> action) {
+        Admin admin = ClusterService.getInstance().getAdminClient(clusterId);
+        if (admin == null) {
+            return CompletableFuture.failedFuture(new AdminOperationException(
+                    AdminOperationException.Reason.NOT_CONNECTED, clusterId, operation, null));
+        }
+
+        CompletableFuture<T> future;
+        try {
+            future = action.apply(admin);
+        } catch (Exception e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        future.orTimeout(timeoutMs, TimeUnit.MILLISECONDS).whenComplete((value, error) -> {
+            if (error == null) {
+                result.complete(value);
+                return;
+            }
+            AdminOperationException failure = AdminOperationException.from(clusterId, operation, error);
+            if (failure.getReason() == AdminOperationException.Reason.TIMEOUT) {
+                ClusterService.getInstance().reportFailure(clusterId);
+            }
+            result.completeExceptionally(failure);
+        });
+        return result;
+    }
+
+    /**
+     * Wait for a future on behalf of a blocking method; failures are logged and replaced by the fallback
+     */
+    static <T> T await(CompletableFuture<T> future, T fallback, Logger logger) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return fallback;
+        } catch (ExecutionException e) {
+            logger.error(e.getCause().getMessage(), e.getCause());
+            return fallback;
+        }
+    }
+}
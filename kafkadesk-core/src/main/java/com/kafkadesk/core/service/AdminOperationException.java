@@ -0,0 +1,121 @@
+package com.kafkadesk.core.service;
+
+import org.apache.kafka.common.errors.AuthenticationException;
+import org.apache.kafka.common.errors.AuthorizationException;
+import org.apache.kafka.common.errors.DisconnectException;
+import org.apache.kafka.common.errors.GroupIdNotFoundException;
+import org.apache.kafka.common.errors.GroupNotEmptyException;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.apache.kafka.common.errors.TopicExistsException;
+import org.apache.kafka.common.errors.UnknownTopicOrPartitionException;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Failure of an asynchronous admin operation, with the reason sorted into a few kinds the UI
+ * can act on
+ */
+public class AdminOperationException extends RuntimeException {
+
+    /**
+     * Why the operation failed
+     */
+    public enum Reason {
+        /**
+         * No admin client: the cluster is not connected or currently down
+         */
+        NOT_CONNECTED,
+        /**
+         * No answer in time
+         */
+        TIMEOUT,
+        /**
+         * The topic or group does not exist
+         */
+        NOT_FOUND,
+        /**
+         * The topic already exists
+         */
+        ALREADY_EXISTS,
+        /**
+         * The group still has active members
+         */
+        NOT_EMPTY,
+        /**
+         * Authentication or authorization was refused
+         */
+        NOT_AUTHORIZED,
+        /**
+         * Any other error
+         */
+        FAILED
+    }
+
+    private final Reason reason;
+    private final String clusterId;
+    private final String operation;
+
+    public AdminOperationException(Reason reason, String clusterId, String operation, Throwable cause) {
+        super(operation + " failed on cluster " + clusterId + ": " + reason
+                + (cause != null && cause.getMessage() != null ? " (" + cause.getMessage() + ")" : ""), cause);
+        this.reason = reason;
+        this.clusterId = clusterId;
+        this.operation = operation;
+    }
+
+    /**
+     * Wrap an admin client error, unwrapping the completion layers futures add around it
+     */
+    public static AdminOperationException from(String clusterId, String operation, Throwable error) {
+        Throwable cause = unwrap(error);
+        if (cause instanceof AdminOperationException) {
+            return (AdminOperationException) cause;
+        }
+        return new AdminOperationException(classify(cause), clusterId, operation, cause);
+    }
+
+    static Throwable unwrap(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private static Reason classify(Throwable cause) {
+        if (cause instanceof TimeoutException || cause instanceof java.util.concurrent.TimeoutException
+                || cause instanceof DisconnectException) {
+            return Reason.TIMEOUT;
+        }
+        if (cause instanceof UnknownTopicOrPartitionException || cause instanceof GroupIdNotFoundException) {
+            return Reason.NOT_FOUND;
+        }
+        if (cause instanceof TopicExistsException) {
+            return Reason.ALREADY_EXISTS;
+        }
+        if (cause instanceof GroupNotEmptyException) {
+            return Reason.NOT_EMPTY;
+        }
+        if (cause instanceof AuthorizationException || cause instanceof AuthenticationException) {
+            return Reason.NOT_AUTHORIZED;
+        }
+        return Reason.FAILED;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+
+    public String getClusterId() {
+        return clusterId;
+    }
+
+    /**
+     * Short name of the operation, e.g. "describe topic orders"
+     */
+    public String getOperation() {
+        return operation;
+    }
+}
@@ -0,0 +1,79 @@
+package com.kafkadesk.core.service;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Per-record results and aggregate throughput/latency of a batch send
+ */
+public class BatchSendResult {
+    private final List<SendResult> results;
+    private final long sent;
+    private final long failed;
+    private final long bytes;
+    private final long elapsedMs;
+    private final LatencyHistogram latencies;
+
+    BatchSendResult(List<SendResult> results, long sent, long failed, long bytes, long elapsedMs,
+                    LatencyHistogram latencies) {
+        this.results = Collections.unmodifiableList(results);
+        this.sent = sent;
+        this.failed = failed;
+        this.bytes = bytes;
+        this.elapsedMs = elapsedMs;
+        this.latencies = latencies;
+    }
+
+    /**
+     * Result of every record in submission order; empty if results were not kept
+     */
+    public List<SendResult> getResults() {
+        return results;
+    }
+
+    public long getSentCount() {
+        return sent;
+    }
+
+    public long getFailedCount() {
+        return failed;
+    }
+
+    /**
+     * Key and value bytes of the acknowledged records
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    public long getElapsedMs() {
+        return elapsedMs;
+    }
+
+    public double getMessagesPerSecond() {
+        return elapsedMs > 0 ? sent * 1000.0 / elapsedMs : 0;
+    }
+
+    public double getBytesPerSecond() {
+        return elapsedMs > 0 ? bytes * 1000.0 / elapsedMs : 0;
+    }
+
+    /**
+     * Acknowledgement latency at the given percentile (0-100), in microseconds, within about 3%
+     */
+    public long getLatencyPercentileMicros(double percentile) {
+        return latencies.percentile(percentile);
+    }
+
+    public long getMaxLatencyMicros() {
+        return latencies.getMax();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BatchSendResult{sent=%d, failed=%d, elapsedMs=%d, msgPerSec=%.0f, MBPerSec=%.2f, "
+                        + "p50=%dus, p99=%dus, max=%dus}",
+                sent, failed, elapsedMs, getMessagesPerSecond(), getBytesPerSecond() / (1024 * 1024),
+                getLatencyPercentileMicros(50), getLatencyPercentileMicros(99), getMaxLatencyMicros());
+    }
+}
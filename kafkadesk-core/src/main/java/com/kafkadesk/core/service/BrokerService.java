@@ -0,0 +1,172 @@
+package com.kafkadesk.core.service;
+
+import com.kafkadesk.core.cache.MetadataCacheManager;
+import com.kafkadesk.model.BrokerInfo;
+import com.kafkadesk.model.TopicInfo;
+import org.apache.kafka.clients.admin.DescribeClusterResult;
+import org.apache.kafka.clients.admin.LogDirDescription;
+import org.apache.kafka.clients.admin.ReplicaInfo;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.Node;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Broker service.
+ * Combines describeCluster, one describeLogDirs call covering every broker, and the cached topic
+ * descriptions. Leader and replica counts and log dir sizes are computed in a single pass over
+ * the replicas, so the cost grows with the number of replicas, not brokers times partitions.
+ */
+public class BrokerService {
+    private static final Logger logger = LoggerFactory.getLogger(BrokerService.class);
+    private static BrokerService instance;
+
+    private BrokerService() {
+    }
+
+    public static synchronized BrokerService getInstance() {
+        if (instance == null) {
+            instance = new BrokerService();
+        }
+        return instance;
+    }
+
+    /**
+     * Brokers of the cluster sorted by ID, including offline brokers that still hold replicas
+     */
+    public List<BrokerInfo> getBrokers(String clusterId) {
+        return AdminFutures.await(getBrokersAsync(clusterId), Collections.emptyList(), logger);
+    }
+
+    /**
+     * Brokers of the cluster without blocking.
+     * A broker whose log dirs cannot be described is returned without them.
+     */
+    public CompletableFuture<List<BrokerInfo>> getBrokersAsync(String clusterId) {
+        return describeAsync(clusterId).thenCombine(topics(clusterId), this::buildBrokers);
+    }
+
+    /**
+     * describeCluster followed by one describeLogDirs call for all of its brokers
+     */
+    CompletableFuture<ClusterView> describeAsync(String clusterId) {
+        return AdminFutures.call(clusterId, "describe brokers", AdminFutures.BATCH_TIMEOUT_MS, admin -> {
+            DescribeClusterResult result = admin.describeCluster();
+            CompletableFuture<Node> controller = AdminFutures.toCompletable(result.controller());
+            return AdminFutures.toCompletable(result.nodes())
+                    .thenCompose(nodes -> {
+                        List<Integer> ids = nodes.stream().map(Node::id).collect(Collectors.toList());
+                        Map<Integer, KafkaFuture<Map<String, LogDirDescription>>> descriptions =
+                                admin.describeLogDirs(ids).descriptions();
+
+                        Map<Integer, Map<String, LogDirDescription>> logDirs = new ConcurrentHashMap<>();
+                        List<CompletableFuture<Void>> futures = new ArrayList<>(descriptions.size());
+                        descriptions.forEach((brokerId, future) -> futures.add(AdminFutures.toCompletable(future)
+                                .thenAccept(dirs -> logDirs.put(brokerId, dirs))
+                                .exceptionally(e -> {
+                                    logger.warn("Failed to describe log dirs of broker {}", brokerId, e);
+                                    return null;
+                                })));
+                        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                                .thenCombine(controller, (v, node) ->
+                                        new ClusterView(nodes, node != null ? node.id() : -1, logDirs));
+                    });
+        });
+    }
+
+    /**
+     * Topic descriptions from the metadata cache; described directly, without touching the
+     * cache, if it has not been filled yet
+     */
+    private CompletableFuture<List<TopicInfo>> topics(String clusterId) {
+        Collection<TopicInfo> cached = MetadataCacheManager.getInstance().getCache(clusterId).getTopics();
+        if (!cached.isEmpty()) {
+            return CompletableFuture.completedFuture(new ArrayList<>(cached));
+        }
+        TopicService topicService = TopicService.getInstance();
+        return topicService.listTopicsAsync(clusterId)
+                .thenCompose(names -> topicService.getTopicInfosAsync(clusterId, names))
+                .exceptionally(e -> {
+                    logger.warn("Failed to describe topics for broker counts of cluster {}", clusterId, e);
+                    return Collections.emptyList();
+                });
+    }
+
+    private List<BrokerInfo> buildBrokers(ClusterView cluster, Collection<TopicInfo> topics) {
+        Map<Integer, BrokerInfo> brokers = new TreeMap<>();
+        for (Node node : cluster.nodes) {
+            BrokerInfo broker = new BrokerInfo(node.id(), node.host(), node.port());
+            broker.setRack(node.rack());
+            broker.setOnline(true);
+            broker.setController(node.id() == cluster.controllerId);
+            brokers.put(node.id(), broker);
+        }
+
+        // One pass over all replicas; brokers missing from describeCluster are offline
+        for (TopicInfo topic : topics) {
+            for (TopicInfo.PartitionInfo partition : topic.getPartitionDetails()) {
+                if (partition.getLeader() != null) {
+                    BrokerInfo leader = broker(brokers, partition.getLeader());
+                    leader.setLeaderCount(leader.getLeaderCount() + 1);
+                }
+                for (TopicInfo.Node replica : partition.getReplicas()) {
+                    BrokerInfo broker = broker(brokers, replica);
+                    broker.setReplicaCount(broker.getReplicaCount() + 1);
+                }
+            }
+        }
+
+        cluster.logDirs.forEach((brokerId, dirs) -> {
+            BrokerInfo broker = brokers.get(brokerId);
+            if (broker == null) {
+                return;
+            }
+            dirs.forEach((path, description) -> {
+                BrokerInfo.LogDirInfo dir = new BrokerInfo.LogDirInfo(path);
+                long size = 0;
+                for (ReplicaInfo replica : description.replicaInfos().values()) {
+                    size += replica.size();
+                }
+                dir.setSizeBytes(size);
+                dir.setReplicaCount(description.replicaInfos().size());
+                dir.setTotalBytes(description.totalBytes().orElse(-1));
+                dir.setUsableBytes(description.usableBytes().orElse(-1));
+                if (description.error() != null) {
+                    dir.setError(description.error().getMessage());
+                }
+                broker.getLogDirs().add(dir);
+            });
+        });
+        return new ArrayList<>(brokers.values());
+    }
+
+    private static BrokerInfo broker(Map<Integer, BrokerInfo> brokers, TopicInfo.Node node) {
+        return brokers.computeIfAbsent(node.getId(), id -> new BrokerInfo(id, node.getHost(), node.getPort()));
+    }
+
+    /**
+     * Results of the cluster-wide describe calls
+     */
+    static final class ClusterView {
+        final Collection<Node> nodes;
+        final int controllerId;
+        // Brokers whose log dirs could not be described are missing
+        final Map<Integer, Map<String, LogDirDescription>> logDirs;
+
+        ClusterView(Collection<Node> nodes, int controllerId, Map<Integer, Map<String, LogDirDescription>> logDirs) {
+            this.nodes = nodes;
+            this.controllerId = controllerId;
+            this.logDirs = logDirs;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.kafkadesk.core.service;
+
+/**
+ * Size and growth of the data on one broker from log dir samples
+ */
+public class BrokerSizeStats {
+    private final int brokerId;
+    private final long sizeBytes;
+    private final double bytesPerSecond;
+    private final long usableBytes;
+    private final double skew;
+
+    BrokerSizeStats(int brokerId, long sizeBytes, double bytesPerSecond, long usableBytes, double skew) {
+        this.brokerId = brokerId;
+        this.sizeBytes = sizeBytes;
+        this.bytesPerSecond = bytesPerSecond;
+        this.usableBytes = usableBytes;
+        this.skew = skew;
+    }
+
+    public int getBrokerId() {
+        return brokerId;
+    }
+
+    /**
+     * Bytes of all replicas on the broker
+     */
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    /**
+     * Bytes written per second over the sampling window
+     */
+    public double getBytesPerSecond() {
+        return bytesPerSecond;
+    }
+
+    /**
+     * Free space on the log dir volumes, or -1 if the broker does not report it
+     */
+    public long getUsableBytes() {
+        return usableBytes;
+    }
+
+    /**
+     * Size over the mean broker size; 1 means evenly spread
+     */
+    public double getSkew() {
+        return skew;
+    }
+
+    /**
+     * Seconds until the free space is used up at the current rate, or -1 if the broker is not
+     * growing or does not report free space. Retention is not taken into account.
+     */
+    public long getSecondsUntilFull() {
+        if (usableBytes < 0 || bytesPerSecond <= 0) {
+            return -1;
+        }
+        return (long) (usableBytes / bytesPerSecond);
+    }
+
+    @Override
+    public String toString() {
+        return "BrokerSizeStats{" +
+                "brokerId=" + brokerId +
+                ", sizeBytes=" + sizeBytes +
+                ", bytesPerSecond=" + bytesPerSecond +
+                ", usableBytes=" + usableBytes +
+                '}';
+    }
+}
@@ -0,0 +1,162 @@
+package com.kafkadesk.core.service;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Settings of a message browser session
+ */
+public class BrowseOptions {
+    /**
+     * Where a session starts reading
+     */
+    public enum StartPosition {
+        EARLIEST,
+        LATEST,
+        TIMESTAMP
+    }
+
+    private StartPosition startPosition = StartPosition.LATEST;
+    private Instant startTimestamp;
+    private Instant endTimestamp;
+    private List<Integer> partitions; // null = all partitions
+    private int bufferCapacity = 65536;
+    private int maxPollRecords = 2000;
+    private int fetchMinBytes = 1;
+    private int fetchMaxWaitMs = 100;
+    private int maxPartitionFetchBytes = 1024 * 1024;
+    private int fetchMaxBytes = 50 * 1024 * 1024;
+    private int receiveBufferBytes = 1024 * 1024;
+    private long pollTimeoutMs = 100;
+
+    public StartPosition getStartPosition() {
+        return startPosition;
+    }
+
+    public void setStartPosition(StartPosition startPosition) {
+        this.startPosition = startPosition;
+    }
+
+    /**
+     * Start time used with {@link StartPosition#TIMESTAMP}
+     */
+    public Instant getStartTimestamp() {
+        return startTimestamp;
+    }
+
+    public void setStartTimestamp(Instant startTimestamp) {
+        this.startTimestamp = startTimestamp;
+    }
+
+    /**
+     * If set, the session stops after the last message written before this time
+     */
+    public Instant getEndTimestamp() {
+        return endTimestamp;
+    }
+
+    public void setEndTimestamp(Instant endTimestamp) {
+        this.endTimestamp = endTimestamp;
+    }
+
+    /**
+     * Read a time range: start at {@code from} (null = earliest) and stop at {@code to} (null = keep tailing)
+     */
+    public void setTimeRange(Instant from, Instant to) {
+        this.startPosition = from != null ? StartPosition.TIMESTAMP : StartPosition.EARLIEST;
+        this.startTimestamp = from;
+        this.endTimestamp = to;
+    }
+
+    public List<Integer> getPartitions() {
+        return partitions;
+    }
+
+    public void setPartitions(List<Integer> partitions) {
+        this.partitions = partitions;
+    }
+
+    /**
+     * Maximum number of messages held between the poll thread and the reader
+     */
+    public int getBufferCapacity() {
+        return bufferCapacity;
+    }
+
+    public void setBufferCapacity(int bufferCapacity) {
+        this.bufferCapacity = bufferCapacity;
+    }
+
+    public int getMaxPollRecords() {
+        return maxPollRecords;
+    }
+
+    public void setMaxPollRecords(int maxPollRecords) {
+        this.maxPollRecords = maxPollRecords;
+    }
+
+    public int getFetchMinBytes() {
+        return fetchMinBytes;
+    }
+
+    public void setFetchMinBytes(int fetchMinBytes) {
+        this.fetchMinBytes = fetchMinBytes;
+    }
+
+    public int getFetchMaxWaitMs() {
+        return fetchMaxWaitMs;
+    }
+
+    public void setFetchMaxWaitMs(int fetchMaxWaitMs) {
+        this.fetchMaxWaitMs = fetchMaxWaitMs;
+    }
+
+    public int getMaxPartitionFetchBytes() {
+        return maxPartitionFetchBytes;
+    }
+
+    public void setMaxPartitionFetchBytes(int maxPartitionFetchBytes) {
+        this.maxPartitionFetchBytes = maxPartitionFetchBytes;
+    }
+
+    public int getFetchMaxBytes() {
+        return fetchMaxBytes;
+    }
+
+    public void setFetchMaxBytes(int fetchMaxBytes) {
+        this.fetchMaxBytes = fetchMaxBytes;
+    }
+
+    public int getReceiveBufferBytes() {
+        return receiveBufferBytes;
+    }
+
+    public void setReceiveBufferBytes(int receiveBufferBytes) {
+        this.receiveBufferBytes = receiveBufferBytes;
+    }
+
+    public long getPollTimeoutMs() {
+        return pollTimeoutMs;
+    }
+
+    public void setPollTimeoutMs(long pollTimeoutMs) {
+        this.pollTimeoutMs = pollTimeoutMs;
+    }
+
+    /**
+     * Consumer settings derived from these options
+     */
+    Properties toConsumerProperties() {
+        Properties props = new Properties();
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, String.valueOf(maxPollRecords));
+        props.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, String.valueOf(fetchMinBytes));
+        props.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, String.valueOf(fetchMaxWaitMs));
+        props.put(ConsumerConfig.MAX_PARTITION_FETCH_BYTES_CONFIG, String.valueOf(maxPartitionFetchBytes));
+        props.put(ConsumerConfig.FETCH_MAX_BYTES_CONFIG, String.valueOf(fetchMaxBytes));
+        props.put(ConsumerConfig.RECEIVE_BUFFER_CONFIG, String.valueOf(receiveBufferBytes));
+        return props;
+    }
+}
@@ -0,0 +1,64 @@
+package com.kafkadesk.core.service;
+
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A running file import: progress, cancellation and the final send report
+ */
+public class BulkImportJob {
+    private final Path file;
+    private final RecordFileReader reader;
+    private final CompletableFuture<BatchSendResult> result = new CompletableFuture<>();
+    private volatile boolean cancelled;
+
+    BulkImportJob(Path file, RecordFileReader reader) {
+        this.file = file;
+        this.reader = reader;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Completes with the send report once every read record was acknowledged or failed
+     */
+    public CompletableFuture<BatchSendResult> getResult() {
+        return result;
+    }
+
+    /**
+     * Stop reading; records already handed to the producer are still sent
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public long getBytesRead() {
+        return reader.getPosition();
+    }
+
+    public long getFileSize() {
+        return reader.getFileSize();
+    }
+
+    /**
+     * Fraction of the file read, between 0 and 1
+     */
+    public double getFraction() {
+        return reader.getFileSize() > 0 ? (double) reader.getPosition() / reader.getFileSize() : 1.0;
+    }
+
+    public long getRecordsRead() {
+        return reader.getRecordsRead();
+    }
+
+    public long getParseErrors() {
+        return reader.getParseErrors();
+    }
+}
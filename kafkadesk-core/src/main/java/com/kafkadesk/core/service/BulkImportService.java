@@ -0,0 +1,92 @@
+package com.kafkadesk.core.service;
+
+import com.kafkadesk.model.Message;
+import com.kafkadesk.utils.ThreadUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Bulk producer fed from record files.
+ * Records are parsed from a memory-mapped file as the async producer asks for them, so the
+ * producer's in-flight window throttles reading and memory use does not depend on file size.
+ * Imports can run for a long time, so each runs on its own import thread rather than taking a
+ * slot of the shared task scheduler.
+ */
+public class BulkImportService {
+    private static final Logger logger = LoggerFactory.getLogger(BulkImportService.class);
+    private static BulkImportService instance;
+
+    private final ExecutorService executor;
+
+    private BulkImportService() {
+        executor = Executors.newCachedThreadPool(ThreadUtil.numberedDaemonThreadFactory("kafkadesk-import"));
+    }
+
+    public static synchronized BulkImportService getInstance() {
+        if (instance == null) {
+            instance = new BulkImportService();
+        }
+        return instance;
+    }
+
+    /**
+     * Start importing a file.
+     *
+     * @param topic          target topic; overrides a topic given in the file. May be null for JSONL
+     *                       files whose records name their topic
+     * @param keepPartitions send records to the partition recorded in the file instead of letting
+     *                       the partitioner choose
+     */
+    public BulkImportJob startImport(String bootstrapServers, Path file, RecordFileFormat format, String topic,
+                                     boolean keepPartitions, SendOptions options) throws IOException {
+        RecordFileReader reader = new RecordFileReader(file, format);
+        BulkImportJob job = new BulkImportJob(file, reader);
+
+        Iterator<Message> source = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return !job.isCancelled() && reader.hasNext();
+            }
+
+            @Override
+            public Message next() {
+                Message message = reader.next();
+                if (topic != null) {
+                    message.setTopic(topic);
+                }
+                if (!keepPartitions) {
+                    message.setPartition(null);
+                }
+                return message;
+            }
+        };
+
+        logger.info("Importing {} ({} bytes, {}) into {}", file, reader.getFileSize(), format,
+                topic != null ? topic : "topics named in the file");
+        CompletableFuture
+                .supplyAsync(() -> ProducerService.getInstance().sendStream(bootstrapServers, source, options), executor)
+                .whenComplete((result, error) -> {
+                    try {
+                        reader.close();
+                    } catch (IOException e) {
+                        logger.warn("Failed to close {}", file, e);
+                    }
+                    if (error != null) {
+                        logger.error("Import of {} failed", file, error);
+                        job.getResult().completeExceptionally(error);
+                    } else {
+                        logger.info("Imported {}: {} records read, {} unparsable, {}", file,
+                                reader.getRecordsRead(), reader.getParseErrors(), result);
+                        job.getResult().complete(result);
+                    }
+                });
+        return job;
+    }
+}
@@ -0,0 +1,86 @@
+package com.kafkadesk.core.service;
+
+/**
+ * Point-in-time health of a cluster connection, as seen by the background probes
+ */
+public class ClusterHealth {
+
+    /**
+     * Connection state
+     */
+    public enum State {
+        /**
+         * Probes succeed; calls go through
+         */
+        UP,
+        /**
+         * Probes fail; calls fail fast while reconnects are retried with backoff
+         */
+        DOWN,
+        /**
+         * Not connected
+         */
+        CLOSED
+    }
+
+    private final State state;
+    private final int consecutiveFailures;
+    private final long lastSuccessAt;
+    private final long lastProbeLatencyMs;
+    private final long nextReconnectAt;
+    private final String lastError;
+
+    ClusterHealth(State state, int consecutiveFailures, long lastSuccessAt, long lastProbeLatencyMs,
+                  long nextReconnectAt, String lastError) {
+        this.state = state;
+        this.consecutiveFailures = consecutiveFailures;
+        this.lastSuccessAt = lastSuccessAt;
+        this.lastProbeLatencyMs = lastProbeLatencyMs;
+        this.nextReconnectAt = nextReconnectAt;
+        this.lastError = lastError;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public boolean isUp() {
+        return state == State.UP;
+    }
+
+    public int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    /**
+     * Epoch millis of the last successful probe, 0 if none
+     */
+    public long getLastSuccessAt() {
+        return lastSuccessAt;
+    }
+
+    public long getLastProbeLatencyMs() {
+        return lastProbeLatencyMs;
+    }
+
+    /**
+     * Epoch millis of the next reconnect attempt while DOWN, otherwise 0
+     */
+    public long getNextReconnectAt() {
+        return nextReconnectAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    @Override
+    public String toString() {
+        return "ClusterHealth{" +
+                "state=" + state +
+                ", failures=" + consecutiveFailures +
+                ", latencyMs=" + lastProbeLatencyMs +
+                (lastError != null ? ", lastError='" + lastError + '\'' : "") +
+                '}';
+    }
+}
@@ -1,5 +1,6 @@
 package com.kafkadesk.core.service;
 
+import com.kafkadesk.core.config.ClientConfigFactory;
 import com.kafkadesk.model.ClusterConfig;
 import org.apache.kafka.clients.admin.Admin;
 import org.apache.kafka.clients.admin.AdminClientConfig;
@@ -8,20 +9,25 @@ import org.apache.kafka.common.Node;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 /**
- * Cluster service
+ * Cluster service.
+ * Admin clients are kept by {@link AdminClientManager}, which probes them in the background
+ * and reconnects with backoff after an outage.
+ * Blocking methods that talk to the cluster have *Async variants that fail with
+ * {@link AdminOperationException}.
  */
 public class ClusterService {
     private static final Logger logger = LoggerFactory.getLogger(ClusterService.class);
     private static ClusterService instance;
-    private final Map<String, Admin> adminClients = new ConcurrentHashMap<>();
+    private final AdminClientManager adminClients = new AdminClientManager();
 
     private ClusterService() {
     }
@@ -37,40 +43,23 @@ public class ClusterService {
      * Connect to cluster
      */
     public boolean connect(ClusterConfig config) {
-        try {
-            Properties props = new Properties();
-            props.put(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, config.getBootstrapServers());
-            props.put(AdminClientConfig.REQUEST_TIMEOUT_MS_CONFIG, "10000");
-            props.put(AdminClientConfig.DEFAULT_API_TIMEOUT_MS_CONFIG, "10000");
-
-            // 添加安全配置
-            if (config.getSecurityProtocol() != null) {
-                props.put(AdminClientConfig.SECURITY_PROTOCOL_CONFIG, config.getSecurityProtocol());
-            }
-            if (config.getSaslMechanism() != null) {
-                props.put("sasl.mechanism", config.getSaslMechanism());
-            }
-
-            // 添加自定义属性
-            if (config.getProperties() != null) {
-                props.putAll(config.getProperties());
-            }
-
-            Admin admin = Admin.create(props);
-            
-            // Test connection
-            admin.describeCluster().clusterId().get(10, TimeUnit.SECONDS);
-            
-            // 关闭旧连接
-            closeConnection(config.getId());
-            
-            adminClients.put(config.getId(), admin);
+        boolean connected = adminClients.connect(config);
+        if (connected) {
             logger.info("Successfully connected to cluster: {}", config.getName());
-            return true;
-        } catch (Exception e) {
-            logger.error("Failed to connect to cluster: " + config.getName(), e);
-            return false;
         }
+        return connected;
+    }
+
+    /**
+     * Connect without blocking; completes with false if the cluster does not answer within the timeout
+     */
+    public CompletableFuture<Boolean> connectAsync(ClusterConfig config, long timeoutMs) {
+        return adminClients.connectAsync(config, timeoutMs).thenApply(connected -> {
+            if (connected) {
+                logger.info("Successfully connected to cluster: {}", config.getName());
+            }
+            return connected;
+        });
     }
 
     /**
@@ -78,8 +67,7 @@ public class ClusterService {
      */
     public boolean testConnection(ClusterConfig config) {
         try {
-            Properties props = new Properties();
-            props.put(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, config.getBootstrapServers());
+            Properties props = ClientConfigFactory.admin(config);
             props.put(AdminClientConfig.REQUEST_TIMEOUT_MS_CONFIG, "5000");
 
             try (Admin admin = Admin.create(props)) {
@@ -92,75 +80,100 @@ public class ClusterService {
         }
     }
 
+    /**
+     * Test connection without blocking; completes with false if the cluster does not answer in time
+     */
+    public CompletableFuture<Boolean> testConnectionAsync(ClusterConfig config) {
+        Admin admin;
+        try {
+            Properties props = ClientConfigFactory.admin(config);
+            props.put(AdminClientConfig.REQUEST_TIMEOUT_MS_CONFIG, "5000");
+            admin = Admin.create(props);
+        } catch (Exception e) {
+            logger.error("Connection test failed for cluster: " + config.getName(), e);
+            return CompletableFuture.completedFuture(false);
+        }
+
+        return AdminFutures.toCompletable(admin.describeCluster().clusterId())
+                .orTimeout(5, TimeUnit.SECONDS)
+                // Close off the admin thread: close waits for that thread to finish
+                .handleAsync((id, error) -> {
+                    admin.close(Duration.ofSeconds(2));
+                    if (error != null) {
+                        logger.error("Connection test failed for cluster: " + config.getName(), error);
+                        return false;
+                    }
+                    return true;
+                });
+    }
+
     /**
      * Close connection
      */
     public void closeConnection(String clusterId) {
-        Admin admin = adminClients.remove(clusterId);
-        if (admin != null) {
-            try {
-                admin.close();
-                logger.info("Closed connection to cluster: {}", clusterId);
-            } catch (Exception e) {
-                logger.error("Error closing admin client", e);
-            }
-        }
+        adminClients.close(clusterId);
     }
 
     /**
      * Close all connections
      */
     public void closeAllConnections() {
-        adminClients.forEach((id, admin) -> {
-            try {
-                admin.close();
-            } catch (Exception e) {
-                logger.error("Error closing admin client for cluster: " + id, e);
-            }
-        });
-        adminClients.clear();
+        adminClients.closeAll();
     }
 
     /**
-     * Get Admin client
+     * Get Admin client; null if the cluster is not connected or is currently down
      */
     public Admin getAdminClient(String clusterId) {
-        return adminClients.get(clusterId);
+        return adminClients.getAdmin(clusterId);
     }
 
     /**
-     * Check if connected
+     * Check if connected and healthy
      */
     public boolean isConnected(String clusterId) {
-        return adminClients.containsKey(clusterId);
+        return adminClients.isConnected(clusterId);
+    }
+
+    /**
+     * Health of the cluster connection from the background probes
+     */
+    public ClusterHealth getClusterHealth(String clusterId) {
+        return adminClients.getHealth(clusterId);
+    }
+
+    /**
+     * Tell the health monitor a call to the cluster failed, so it probes right away
+     */
+    public void reportFailure(String clusterId) {
+        adminClients.reportFailure(clusterId);
     }
 
     /**
      * Get cluster information
      */
     public Map<String, Object> getClusterInfo(String clusterId) {
-        Admin admin = adminClients.get(clusterId);
-        if (admin == null) {
-            return null;
-        }
+        return AdminFutures.await(getClusterInfoAsync(clusterId), null, logger);
+    }
 
-        try {
+    /**
+     * Get cluster information without blocking: clusterId, controller, nodes and nodeCount
+     */
+    public CompletableFuture<Map<String, Object>> getClusterInfoAsync(String clusterId) {
+        return AdminFutures.call(clusterId, "describe cluster", admin -> {
             DescribeClusterResult result = admin.describeCluster();
-            Map<String, Object> info = new HashMap<>();
-            
-            String clusterId1 = result.clusterId().get(5, TimeUnit.SECONDS);
-            Node controller = result.controller().get(5, TimeUnit.SECONDS);
-            Collection<Node> nodes = result.nodes().get(5, TimeUnit.SECONDS);
-            
-            info.put("clusterId", clusterId1);
-            info.put("controller", controller);
-            info.put("nodes", nodes);
-            info.put("nodeCount", nodes.size());
-            
-            return info;
-        } catch (Exception e) {
-            logger.error("Failed to get cluster info", e);
-            return null;
-        }
+            CompletableFuture<String> id = AdminFutures.toCompletable(result.clusterId());
+            CompletableFuture<Node> controller = AdminFutures.toCompletable(result.controller());
+            CompletableFuture<Collection<Node>> nodes = AdminFutures.toCompletable(result.nodes());
+
+            return CompletableFuture.allOf(id, controller, nodes).thenApply(v -> {
+                Map<String, Object> info = new HashMap<>();
+                info.put("clusterId", id.join());
+                info.put("controller", controller.join());
+                info.put("nodes", nodes.join());
+                info.put("nodeCount", nodes.join().size());
+                return info;
+            });
+        });
     }
 }
@@ -4,10 +4,6 @@ import com.kafkadesk.model.ConsumerGroupInfo;
 import org.apache.kafka.clients.admin.Admin;
 import org.apache.kafka.clients.admin.ConsumerGroupDescription;
 import org.apache.kafka.clients.admin.ConsumerGroupListing;
-import org.apache.kafka.clients.admin.DeleteConsumerGroupsResult;
-import org.apache.kafka.clients.admin.DescribeConsumerGroupsResult;
-import org.apache.kafka.clients.admin.ListConsumerGroupOffsetsResult;
-import org.apache.kafka.clients.admin.ListConsumerGroupsResult;
 import org.apache.kafka.clients.admin.ListOffsetsResult;
 import org.apache.kafka.clients.admin.MemberDescription;
 import org.apache.kafka.clients.admin.OffsetSpec;
@@ -16,16 +12,17 @@ import org.apache.kafka.common.TopicPartition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 /**
- * Consumer group service
+ * Consumer group service.
+ * Each blocking method has an *Async variant that returns without waiting and fails with
+ * {@link AdminOperationException}.
  */
 public class ConsumerGroupService {
     private static final Logger logger = LoggerFactory.getLogger(ConsumerGroupService.class);
@@ -45,87 +42,94 @@ public class ConsumerGroupService {
      * List all consumer groups
      */
     public List<String> listConsumerGroups(String clusterId) {
-        Admin admin = ClusterService.getInstance().getAdminClient(clusterId);
-        if (admin == null) {
-            logger.error("Admin client not found for cluster: {}", clusterId);
-            return Collections.emptyList();
-        }
+        return AdminFutures.await(listConsumerGroupsAsync(clusterId), Collections.emptyList(), logger);
+    }
 
-        try {
-            ListConsumerGroupsResult result = admin.listConsumerGroups();
-            Collection<ConsumerGroupListing> listings = result.all().get(10, TimeUnit.SECONDS);
-            return listings.stream()
-                    .map(ConsumerGroupListing::groupId)
-                    .collect(Collectors.toList());
-        } catch (Exception e) {
-            logger.error("Failed to list consumer groups", e);
-            return Collections.emptyList();
-        }
+    /**
+     * List all consumer groups without blocking
+     */
+    public CompletableFuture<List<String>> listConsumerGroupsAsync(String clusterId) {
+        return AdminFutures.call(clusterId, "list consumer groups",
+                admin -> AdminFutures.toCompletable(admin.listConsumerGroups().all())
+                        .thenApply(listings -> listings.stream()
+                                .map(ConsumerGroupListing::groupId)
+                                .collect(Collectors.toList())));
     }
 
     /**
      * Get consumer group details
      */
     public ConsumerGroupInfo getConsumerGroupInfo(String clusterId, String groupId) {
-        Admin admin = ClusterService.getInstance().getAdminClient(clusterId);
-        if (admin == null) {
-            return null;
-        }
-
-        try {
-            DescribeConsumerGroupsResult describeResult = admin.describeConsumerGroups(
-                    Collections.singleton(groupId)
-            );
-            ConsumerGroupDescription description = describeResult.all()
-                    .get(10, TimeUnit.SECONDS)
-                    .get(groupId);
+        return AdminFutures.await(getConsumerGroupInfoAsync(clusterId, groupId), null, logger);
+    }
 
-            if (description == null) {
-                return null;
-            }
+    /**
+     * Get consumer group details without blocking.
+     * The description and the committed offsets are requested together, then the end offsets
+     * for the lag; if those fail the group is returned without lag.
+     */
+    public CompletableFuture<ConsumerGroupInfo> getConsumerGroupInfoAsync(String clusterId, String groupId) {
+        return AdminFutures.call(clusterId, "describe consumer group " + groupId, admin -> {
+            CompletableFuture<ConsumerGroupDescription> description = AdminFutures.toCompletable(
+                    admin.describeConsumerGroups(Collections.singleton(groupId)).describedGroups().get(groupId));
 
-            ConsumerGroupInfo info = new ConsumerGroupInfo(groupId);
-            info.setState(description.state().toString());
-            info.setProtocolType(description.partitionAssignor());
+            // 获取 offset 信息
+            CompletableFuture<Map<TopicPartition, OffsetAndMetadata>> offsets = AdminFutures.toCompletable(
+                    admin.listConsumerGroupOffsets(groupId).partitionsToOffsetAndMetadata());
+
+            return description.thenCombine(offsets, (groupDescription, committed) -> {
+                ConsumerGroupInfo info = convertGroupDescription(groupDescription);
+                info.setOffsets(convertOffsets(committed));
+                return info;
+            }).thenCompose(info -> calculateLag(clusterId, groupId, admin, offsets.join()).thenApply(lagMap -> {
+                info.setLag(lagMap);
+                return info;
+            }));
+        });
+    }
 
-            // 获取协调器信息
-            if (description.coordinator() != null) {
-                info.setCoordinatorId(description.coordinator().id());
-                info.setCoordinatorHost(description.coordinator().host());
-                info.setCoordinatorPort(description.coordinator().port());
-            }
+    /**
+     * Convert group description (without offsets and lag)
+     */
+    ConsumerGroupInfo convertGroupDescription(ConsumerGroupDescription description) {
+        ConsumerGroupInfo info = new ConsumerGroupInfo(description.groupId());
+        info.setState(description.state().toString());
+        info.setProtocolType(description.partitionAssignor());
+
+        // 获取协调器信息
+        if (description.coordinator() != null) {
+            info.setCoordinatorId(description.coordinator().id());
+            info.setCoordinatorHost(description.coordinator().host());
+            info.setCoordinatorPort(description.coordinator().port());
+        }
 
-            // 转换成员信息
-            List<ConsumerGroupInfo.MemberInfo> members = description.members().stream()
-                    .map(this::convertMemberDescription)
-                    .collect(Collectors.toList());
-            info.setMembers(members);
+        // 转换成员信息
+        List<ConsumerGroupInfo.MemberInfo> members = description.members().stream()
+                .map(this::convertMemberDescription)
+                .collect(Collectors.toList());
+        info.setMembers(members);
+        return info;
+    }
 
-            // 获取 offset 信息
-            ListConsumerGroupOffsetsResult offsetsResult = admin.listConsumerGroupOffsets(groupId);
-            Map<TopicPartition, OffsetAndMetadata> offsets = offsetsResult.partitionsToOffsetAndMetadata()
-                    .get(10, TimeUnit.SECONDS);
-
-            Map<ConsumerGroupInfo.TopicPartition, ConsumerGroupInfo.OffsetAndMetadata> offsetMap = new HashMap<>();
-            offsets.forEach((tp, om) -> {
-                ConsumerGroupInfo.TopicPartition topicPartition = 
-                        new ConsumerGroupInfo.TopicPartition(tp.topic(), tp.partition());
-                ConsumerGroupInfo.OffsetAndMetadata offsetAndMetadata = 
-                        new ConsumerGroupInfo.OffsetAndMetadata(om.offset());
-                offsetAndMetadata.setMetadata(om.metadata());
-                offsetMap.put(topicPartition, offsetAndMetadata);
-            });
-            info.setOffsets(offsetMap);
-
-            // Calculate lag
-            Map<ConsumerGroupInfo.TopicPartition, Long> lagMap = calculateLag(admin, offsets);
-            info.setLag(lagMap);
-
-            return info;
-        } catch (Exception e) {
-            logger.error("Failed to get consumer group info: " + groupId, e);
-            return null;
-        }
+    /**
+     * Convert committed offsets
+     */
+    Map<ConsumerGroupInfo.TopicPartition, ConsumerGroupInfo.OffsetAndMetadata> convertOffsets(
+            Map<TopicPartition, OffsetAndMetadata> offsets) {
+        Map<ConsumerGroupInfo.TopicPartition, ConsumerGroupInfo.OffsetAndMetadata> offsetMap = new HashMap<>();
+        offsets.forEach((tp, om) -> {
+            // Partitions without a committed offset are reported with a null value
+            if (om == null) {
+                return;
+            }
+            ConsumerGroupInfo.TopicPartition topicPartition =
+                    new ConsumerGroupInfo.TopicPartition(tp.topic(), tp.partition());
+            ConsumerGroupInfo.OffsetAndMetadata offsetAndMetadata =
+                    new ConsumerGroupInfo.OffsetAndMetadata(om.offset());
+            offsetAndMetadata.setMetadata(om.metadata());
+            offsetMap.put(topicPartition, offsetAndMetadata);
+        });
+        return offsetMap;
     }
 
     /**
@@ -148,63 +152,66 @@ public class ConsumerGroupService {
     }
 
     /**
-     * Calculate lag
+     * Calculate lag and feed the offsets to the {@link LagRateTracker}; an empty map if the end
+     * offsets cannot be fetched
      */
-    private Map<ConsumerGroupInfo.TopicPartition, Long> calculateLag(
-            Admin admin, 
+    private CompletableFuture<Map<ConsumerGroupInfo.TopicPartition, Long>> calculateLag(
+            String clusterId,
+            String groupId,
+            Admin admin,
             Map<TopicPartition, OffsetAndMetadata> offsets) {
-        
-        Map<ConsumerGroupInfo.TopicPartition, Long> lagMap = new HashMap<>();
-        
-        if (offsets.isEmpty()) {
-            return lagMap;
-        }
 
-        try {
-            // 获取每个分区的最新 offset
-            Map<TopicPartition, OffsetSpec> offsetSpecs = new HashMap<>();
-            offsets.keySet().forEach(tp -> offsetSpecs.put(tp, OffsetSpec.latest()));
-
-            ListOffsetsResult latestOffsetsResult = admin.listOffsets(offsetSpecs);
-            Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> latestOffsets = 
-                    latestOffsetsResult.all().get(10, TimeUnit.SECONDS);
-
-            // 计算每个分区的 lag
-            offsets.forEach((tp, om) -> {
-                ListOffsetsResult.ListOffsetsResultInfo latestOffset = latestOffsets.get(tp);
-                if (latestOffset != null) {
-                    long lag = latestOffset.offset() - om.offset();
-                    ConsumerGroupInfo.TopicPartition topicPartition = 
-                            new ConsumerGroupInfo.TopicPartition(tp.topic(), tp.partition());
-                    lagMap.put(topicPartition, Math.max(0, lag));
-                }
-            });
-        } catch (Exception e) {
-            logger.error("Failed to calculate lag", e);
+        if (offsets.isEmpty()) {
+            LagRateTracker.getInstance().update(clusterId, groupId, System.currentTimeMillis(),
+                    Collections.emptyMap(), Collections.emptyMap());
+            return CompletableFuture.completedFuture(new HashMap<>());
         }
 
-        return lagMap;
+        // 获取每个分区的最新 offset
+        Map<TopicPartition, OffsetSpec> offsetSpecs = new HashMap<>();
+        offsets.keySet().forEach(tp -> offsetSpecs.put(tp, OffsetSpec.latest()));
+
+        return AdminFutures.toCompletable(admin.listOffsets(offsetSpecs).all())
+                .thenApply(latestOffsets -> {
+                    // 计算每个分区的 lag
+                    long timestamp = System.currentTimeMillis();
+                    Map<ConsumerGroupInfo.TopicPartition, Long> lagMap = new HashMap<>();
+                    Map<TopicPartition, Long> endOffsets = new HashMap<>();
+                    offsets.forEach((tp, om) -> {
+                        ListOffsetsResult.ListOffsetsResultInfo latestOffset = latestOffsets.get(tp);
+                        if (latestOffset != null && om != null) {
+                            long lag = latestOffset.offset() - om.offset();
+                            ConsumerGroupInfo.TopicPartition topicPartition =
+                                    new ConsumerGroupInfo.TopicPartition(tp.topic(), tp.partition());
+                            lagMap.put(topicPartition, Math.max(0, lag));
+                            endOffsets.put(tp, latestOffset.offset());
+                        }
+                    });
+                    LagRateTracker.getInstance().update(clusterId, groupId, timestamp, offsets, endOffsets);
+                    return lagMap;
+                })
+                .exceptionally(e -> {
+                    logger.error("Failed to calculate lag", e);
+                    return new HashMap<>();
+                });
     }
 
     /**
      * Delete consumer group
      */
     public boolean deleteConsumerGroup(String clusterId, String groupId) {
-        Admin admin = ClusterService.getInstance().getAdminClient(clusterId);
-        if (admin == null) {
-            return false;
-        }
+        return AdminFutures.await(deleteConsumerGroupAsync(clusterId, groupId).thenApply(v -> true), false, logger);
+    }
 
-        try {
-            DeleteConsumerGroupsResult result = admin.deleteConsumerGroups(
-                    Collections.singleton(groupId)
-            );
-            result.all().get(10, TimeUnit.SECONDS);
-            logger.info("Consumer group deleted: {}", groupId);
-            return true;
-        } catch (Exception e) {
-            logger.error("Failed to delete consumer group: " + groupId, e);
-            return false;
-        }
+    /**
+     * Delete consumer group without blocking; fails with reason NOT_EMPTY while it has members
+     */
+    public CompletableFuture<Void> deleteConsumerGroupAsync(String clusterId, String groupId) {
+        return AdminFutures.call(clusterId, "delete consumer group " + groupId,
+                admin -> AdminFutures.toCompletable(admin.deleteConsumerGroups(Collections.singleton(groupId)).all())
+                        .thenRun(() -> {
+                            LagRateTracker.getInstance().remove(clusterId, groupId);
+                            logger.info("Consumer group deleted: {}", groupId);
+                        }));
     }
 }
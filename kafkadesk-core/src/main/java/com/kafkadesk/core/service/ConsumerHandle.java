@@ -0,0 +1,161 @@
+package com.kafkadesk.core.service;
+
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ConcurrentModificationException;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A consumer registered with {@link ConsumerService}.
+ * Polling through the handle marks it as in use; a handle that has not been used for the
+ * idle timeout is closed by the registry and reports {@link #isExpired()}.
+ */
+public class ConsumerHandle implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ConsumerHandle.class);
+    private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(5);
+
+    private final String id;
+    private final String clusterId;
+    private final String purpose;
+    private final KafkaConsumer<byte[], byte[]> consumer;
+    private final long maxBufferedBytes;
+    private final long createdAt = System.currentTimeMillis();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final Runnable onClose;
+    private volatile long lastUsed = createdAt;
+    private volatile boolean expired;
+
+    ConsumerHandle(String id, String clusterId, String purpose, KafkaConsumer<byte[], byte[]> consumer,
+                   long maxBufferedBytes, Runnable onClose) {
+        this.id = id;
+        this.clusterId = clusterId;
+        this.purpose = purpose;
+        this.consumer = consumer;
+        this.maxBufferedBytes = maxBufferedBytes;
+        this.onClose = onClose;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Cluster ID, or the bootstrap servers for consumers created without a cluster
+     */
+    public String getClusterId() {
+        return clusterId;
+    }
+
+    /**
+     * What the consumer is used for, e.g. browser, scan or export
+     */
+    public String getPurpose() {
+        return purpose;
+    }
+
+    public KafkaConsumer<byte[], byte[]> consumer() {
+        return consumer;
+    }
+
+    /**
+     * Poll and mark the handle as in use
+     */
+    public ConsumerRecords<byte[], byte[]> poll(Duration timeout) {
+        lastUsed = System.currentTimeMillis();
+        try {
+            return consumer.poll(timeout);
+        } finally {
+            lastUsed = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Mark the handle as in use without polling
+     */
+    public void touch() {
+        lastUsed = System.currentTimeMillis();
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public long getIdleMs() {
+        return System.currentTimeMillis() - lastUsed;
+    }
+
+    /**
+     * Upper bound of fetched data the consumer may hold: fetch.max.bytes plus the socket receive buffer
+     */
+    public long getMaxBufferedBytes() {
+        return maxBufferedBytes;
+    }
+
+    /**
+     * Bytes fetched so far, from the consumer's fetch metrics
+     */
+    public long getBytesConsumed() {
+        for (Map.Entry<MetricName, ? extends Metric> entry : consumer.metrics().entrySet()) {
+            MetricName name = entry.getKey();
+            // The consumer-wide total; per-topic metrics carry a topic tag
+            if ("bytes-consumed-total".equals(name.name()) && !name.tags().containsKey("topic")) {
+                Object value = entry.getValue().metricValue();
+                return value instanceof Number ? ((Number) value).longValue() : 0;
+            }
+        }
+        return 0;
+    }
+
+    public boolean isClosed() {
+        return closed.get();
+    }
+
+    /**
+     * Closed by the registry after being idle for too long
+     */
+    public boolean isExpired() {
+        return expired;
+    }
+
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            consumer.close(CLOSE_TIMEOUT);
+            logger.info("Consumer {} ({}) closed", id, purpose);
+        } catch (Exception e) {
+            logger.error("Error closing consumer {}", id, e);
+        } finally {
+            onClose.run();
+        }
+    }
+
+    /**
+     * Close from the registry's thread; false if the owner is using the consumer right now
+     */
+    boolean expire() {
+        if (!closed.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            consumer.close(CLOSE_TIMEOUT);
+        } catch (ConcurrentModificationException e) {
+            closed.set(false);
+            return false;
+        } catch (Exception e) {
+            logger.error("Error closing idle consumer {}", id, e);
+        }
+        expired = true;
+        onClose.run();
+        return true;
+    }
+}
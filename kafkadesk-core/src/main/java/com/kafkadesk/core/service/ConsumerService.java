@@ -1,18 +1,22 @@
 package com.kafkadesk.core.service;
 
+import com.kafkadesk.core.config.ClientConfigFactory;
+import com.kafkadesk.core.config.ConfigManager;
+import com.kafkadesk.model.ClusterConfig;
 import com.kafkadesk.model.Message;
+import com.kafkadesk.utils.ThreadUtil;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndTimestamp;
 import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.header.Header;
-import org.apache.kafka.common.serialization.StringDeserializer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -22,16 +26,36 @@ import java.util.Properties;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
 
 /**
- * Message consumer service
+ * Message consumer service.
+ * Every consumer is registered as a {@link ConsumerHandle} until it is closed. Each cluster
+ * may have at most {@value #MAX_CONSUMERS_PER_CLUSTER} open consumers, and consumers left
+ * unused for {@value #IDLE_TIMEOUT_MS} ms are closed.
  */
 public class ConsumerService {
     private static final Logger logger = LoggerFactory.getLogger(ConsumerService.class);
+    private static final int MAX_CONSUMERS_PER_CLUSTER = 32;
+    private static final long IDLE_TIMEOUT_MS = 10 * 60 * 1000;
+    private static final long EVICT_INTERVAL_MS = 30 * 1000;
+    private static final long SLOT_WAIT_MS = 30 * 1000;
     private static ConsumerService instance;
-    private final Map<String, KafkaConsumer<String, String>> consumers = new ConcurrentHashMap<>();
+
+    private final Map<String, ConsumerHandle> sessions = new ConcurrentHashMap<>();
+    private final Map<KafkaConsumer<byte[], byte[]>, ConsumerHandle> sessionsByConsumer = new ConcurrentHashMap<>();
+    private final Map<String, Semaphore> slots = new ConcurrentHashMap<>();
+    private final AtomicLong expiredSessions = new AtomicLong();
+    private final ScheduledExecutorService evictor;
 
     private ConsumerService() {
+        evictor = Executors.newSingleThreadScheduledExecutor(ThreadUtil.daemonThreadFactory("kafkadesk-consumer-evictor"));
+        evictor.scheduleWithFixedDelay(this::evictIdle, EVICT_INTERVAL_MS, EVICT_INTERVAL_MS, TimeUnit.MILLISECONDS);
     }
 
     public static synchronized ConsumerService getInstance() {
@@ -44,27 +68,138 @@ public class ConsumerService {
     /**
      * Create consumer
      */
-    public KafkaConsumer<String, String> createConsumer(String bootstrapServers, String groupId) {
-        Properties props = new Properties();
-        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
-        props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
-        props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class.getName());
-        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class.getName());
-        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
-        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
-        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, "100");
+    public KafkaConsumer<byte[], byte[]> createConsumer(String bootstrapServers, String groupId) {
+        ClusterConfig config = ConfigManager.getInstance().getClusters().stream()
+                .filter(c -> bootstrapServers.equals(c.getBootstrapServers()))
+                .findFirst()
+                .orElseGet(() -> new ClusterConfig(bootstrapServers, bootstrapServers));
+        return openSession(bootstrapServers, ClientConfigFactory.consumer(config, groupId), "consumer").consumer();
+    }
+
+    /**
+     * Create consumer for a cluster.
+     *
+     * @param groupId   consumer group, or null for a group-less consumer that only uses assign()
+     * @param overrides consumer settings such as fetch sizes; applied last
+     */
+    public KafkaConsumer<byte[], byte[]> createConsumer(ClusterConfig config, String groupId, Properties overrides) {
+        return openSession(config, groupId, overrides, "consumer").consumer();
+    }
+
+    /**
+     * Open a registered consumer for a cluster.
+     * Waits up to {@value #SLOT_WAIT_MS} ms if the cluster already has the maximum number of
+     * open consumers, then fails with IllegalStateException.
+     *
+     * @param purpose short label shown in session listings, e.g. browser, scan or export
+     */
+    public ConsumerHandle openSession(ClusterConfig config, String groupId, Properties overrides, String purpose) {
+        Properties props = ClientConfigFactory.consumer(config, groupId);
+        if (overrides != null) {
+            props.putAll(overrides);
+        }
+        return openSession(config.getId(), props, purpose);
+    }
+
+    private ConsumerHandle openSession(String clusterId, Properties props, String purpose) {
+        Semaphore clusterSlots = slots.computeIfAbsent(clusterId, id -> new Semaphore(MAX_CONSUMERS_PER_CLUSTER, true));
+        acquireSlot(clusterId, clusterSlots);
+
+        KafkaConsumer<byte[], byte[]> consumer;
+        try {
+            consumer = new KafkaConsumer<>(props);
+        } catch (RuntimeException e) {
+            clusterSlots.release();
+            throw e;
+        }
+        String id = UUID.randomUUID().toString();
+        ConsumerHandle handle = new ConsumerHandle(id, clusterId, purpose, consumer, bufferLimit(props), () -> {
+            sessions.remove(id);
+            sessionsByConsumer.remove(consumer);
+            clusterSlots.release();
+        });
+        sessions.put(id, handle);
+        sessionsByConsumer.put(consumer, handle);
+        return handle;
+    }
+
+    private void acquireSlot(String clusterId, Semaphore clusterSlots) {
+        if (clusterSlots.tryAcquire()) {
+            return;
+        }
+        // Reclaim idle consumers of this cluster before waiting
+        evictIdle(handle -> clusterId.equals(handle.getClusterId()));
+        try {
+            if (!clusterSlots.tryAcquire(SLOT_WAIT_MS, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Too many open consumers for cluster: " + clusterId);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for a consumer slot", e);
+        }
+    }
+
+    /**
+     * fetch.max.bytes plus receive.buffer.bytes of the effective settings
+     */
+    private static long bufferLimit(Properties props) {
+        return parseLong(props.get(ConsumerConfig.FETCH_MAX_BYTES_CONFIG), ConsumerConfig.DEFAULT_FETCH_MAX_BYTES)
+                + parseLong(props.get(ConsumerConfig.RECEIVE_BUFFER_CONFIG), 64 * 1024);
+    }
+
+    private static long parseLong(Object value, long defaultValue) {
+        try {
+            return value != null ? Long.parseLong(value.toString().trim()) : defaultValue;
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    private void evictIdle() {
+        evictIdle(handle -> true);
+    }
+
+    /**
+     * Close matching consumers idle for longer than the timeout; consumers in use are skipped
+     */
+    private void evictIdle(Predicate<ConsumerHandle> filter) {
+        for (ConsumerHandle handle : sessions.values()) {
+            if (filter.test(handle) && handle.getIdleMs() > IDLE_TIMEOUT_MS && handle.expire()) {
+                expiredSessions.incrementAndGet();
+                logger.info("Closed consumer {} ({}) on {} after {} ms idle",
+                        handle.getId(), handle.getPurpose(), handle.getClusterId(), handle.getIdleMs());
+            }
+        }
+    }
 
-        KafkaConsumer<String, String> consumer = new KafkaConsumer<>(props);
-        String consumerId = bootstrapServers + "_" + groupId + "_" + UUID.randomUUID().toString();
-        consumers.put(consumerId, consumer);
-        
-        return consumer;
+    /**
+     * Open consumers
+     */
+    public List<ConsumerHandle> getSessions() {
+        return new ArrayList<>(sessions.values());
+    }
+
+    /**
+     * Counts, buffer limits and fetched bytes of the open consumers
+     */
+    public ConsumerSessionStats getSessionStats() {
+        Map<String, Integer> byCluster = new HashMap<>();
+        long maxBuffered = 0;
+        long consumed = 0;
+        int open = 0;
+        for (ConsumerHandle handle : sessions.values()) {
+            open++;
+            byCluster.merge(handle.getClusterId(), 1, Integer::sum);
+            maxBuffered += handle.getMaxBufferedBytes();
+            consumed += handle.getBytesConsumed();
+        }
+        return new ConsumerSessionStats(open, byCluster, maxBuffered, consumed, expiredSessions.get());
     }
 
     /**
      * Subscribe to topic
      */
-    public void subscribe(KafkaConsumer<String, String> consumer, String topic) {
+    public void subscribe(KafkaConsumer<byte[], byte[]> consumer, String topic) {
         consumer.subscribe(Collections.singletonList(topic));
         logger.info("Subscribed to topic: {}", topic);
     }
@@ -72,7 +207,7 @@ public class ConsumerService {
     /**
      * Subscribe to specific partitions
      */
-    public void assignPartitions(KafkaConsumer<String, String> consumer, String topic, List<Integer> partitions) {
+    public void assignPartitions(KafkaConsumer<byte[], byte[]> consumer, String topic, List<Integer> partitions) {
         List<TopicPartition> topicPartitions = new ArrayList<>();
         for (Integer partition : partitions) {
             topicPartitions.add(new TopicPartition(topic, partition));
@@ -84,7 +219,7 @@ public class ConsumerService {
     /**
      * Consume from earliest position
      */
-    public void seekToBeginning(KafkaConsumer<String, String> consumer) {
+    public void seekToBeginning(KafkaConsumer<byte[], byte[]> consumer) {
         Set<TopicPartition> assignments = consumer.assignment();
         if (!assignments.isEmpty()) {
             consumer.seekToBeginning(assignments);
@@ -95,7 +230,7 @@ public class ConsumerService {
     /**
      * Consume from latest position
      */
-    public void seekToEnd(KafkaConsumer<String, String> consumer) {
+    public void seekToEnd(KafkaConsumer<byte[], byte[]> consumer) {
         Set<TopicPartition> assignments = consumer.assignment();
         if (!assignments.isEmpty()) {
             consumer.seekToEnd(assignments);
@@ -103,10 +238,61 @@ public class ConsumerService {
         }
     }
 
+    /**
+     * Consume from the first message at or after a point in time.
+     * All assigned partitions of the topic are resolved with one offsetsForTimes call;
+     * partitions without such a message are positioned at their end.
+     *
+     * @return the offset each partition was positioned at
+     */
+    public Map<TopicPartition, Long> seekToTimestamp(KafkaConsumer<byte[], byte[]> consumer, String topic, Instant timestamp) {
+        Map<TopicPartition, Long> positions = new HashMap<>();
+        Map<TopicPartition, Long> offsets = offsetsForTimes(consumer, topic, timestamp);
+        for (Map.Entry<TopicPartition, Long> entry : offsets.entrySet()) {
+            consumer.seek(entry.getKey(), entry.getValue());
+            positions.put(entry.getKey(), entry.getValue());
+        }
+        logger.info("Seek to timestamp {} for partitions: {}", timestamp, positions.keySet());
+        return positions;
+    }
+
+    /**
+     * Offsets of the first message at or after a point in time for all assigned partitions
+     * of the topic, in one offsetsForTimes call. Partitions without such a message map to
+     * their end offset.
+     */
+    public Map<TopicPartition, Long> offsetsForTimes(KafkaConsumer<byte[], byte[]> consumer, String topic, Instant timestamp) {
+        Map<TopicPartition, Long> query = new HashMap<>();
+        for (TopicPartition tp : consumer.assignment()) {
+            if (tp.topic().equals(topic)) {
+                query.put(tp, timestamp.toEpochMilli());
+            }
+        }
+        if (query.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Map<TopicPartition, OffsetAndTimestamp> found = consumer.offsetsForTimes(query);
+        List<TopicPartition> pastEnd = new ArrayList<>();
+        Map<TopicPartition, Long> offsets = new HashMap<>();
+        query.keySet().forEach(tp -> {
+            OffsetAndTimestamp offset = found.get(tp);
+            if (offset != null) {
+                offsets.put(tp, offset.offset());
+            } else {
+                pastEnd.add(tp);
+            }
+        });
+        if (!pastEnd.isEmpty()) {
+            offsets.putAll(consumer.endOffsets(pastEnd));
+        }
+        return offsets;
+    }
+
     /**
      * Consume from specific offset
      */
-    public void seek(KafkaConsumer<String, String> consumer, String topic, int partition, long offset) {
+    public void seek(KafkaConsumer<byte[], byte[]> consumer, String topic, int partition, long offset) {
         TopicPartition topicPartition = new TopicPartition(topic, partition);
         consumer.seek(topicPartition, offset);
         logger.info("Seek to offset {} for partition: {}", offset, topicPartition);
@@ -115,12 +301,12 @@ public class ConsumerService {
     /**
      * Poll messages
      */
-    public List<Message> poll(KafkaConsumer<String, String> consumer, long timeoutMs) {
+    public List<Message> poll(KafkaConsumer<byte[], byte[]> consumer, long timeoutMs) {
         try {
-            ConsumerRecords<String, String> records = consumer.poll(Duration.ofMillis(timeoutMs));
+            ConsumerRecords<byte[], byte[]> records = consumer.poll(Duration.ofMillis(timeoutMs));
             List<Message> messages = new ArrayList<>();
 
-            for (ConsumerRecord<String, String> record : records) {
+            for (ConsumerRecord<byte[], byte[]> record : records) {
                 Message message = convertToMessage(record);
                 messages.add(message);
             }
@@ -135,20 +321,26 @@ public class ConsumerService {
     /**
      * Convert message
      */
-    private Message convertToMessage(ConsumerRecord<String, String> record) {
+    Message convertToMessage(ConsumerRecord<byte[], byte[]> record) {
         Message message = new Message();
         message.setTopic(record.topic());
         message.setPartition(record.partition());
         message.setOffset(record.offset());
-        message.setKey(record.key());
-        message.setValue(record.value());
+        message.setKeyBytes(record.key());
+        message.setValueBytes(record.value());
         message.setTimestamp(record.timestamp());
 
-        Map<String, String> headers = new HashMap<>();
-        for (Header header : record.headers()) {
-            headers.put(header.key(), new String(header.value(), StandardCharsets.UTF_8));
+        // Headers stay raw until the message is displayed
+        Header[] headers = record.headers().toArray();
+        if (headers.length > 0) {
+            String[] headerKeys = new String[headers.length];
+            byte[][] headerValues = new byte[headers.length][];
+            for (int i = 0; i < headers.length; i++) {
+                headerKeys[i] = headers[i].key();
+                headerValues[i] = headers[i].value();
+            }
+            message.setRawHeaders(headerKeys, headerValues);
         }
-        message.setHeaders(headers);
 
         return message;
     }
@@ -156,7 +348,7 @@ public class ConsumerService {
     /**
      * Commit offset
      */
-    public void commitSync(KafkaConsumer<String, String> consumer) {
+    public void commitSync(KafkaConsumer<byte[], byte[]> consumer) {
         try {
             consumer.commitSync();
             logger.info("Offset committed successfully");
@@ -168,14 +360,20 @@ public class ConsumerService {
     /**
      * Close consumer
      */
-    public void closeConsumer(KafkaConsumer<String, String> consumer) {
-        if (consumer != null) {
-            try {
-                consumer.close();
-                logger.info("Consumer closed");
-            } catch (Exception e) {
-                logger.error("Error closing consumer", e);
-            }
+    public void closeConsumer(KafkaConsumer<byte[], byte[]> consumer) {
+        if (consumer == null) {
+            return;
+        }
+        ConsumerHandle handle = sessionsByConsumer.get(consumer);
+        if (handle != null) {
+            handle.close();
+            return;
+        }
+        try {
+            consumer.close();
+            logger.info("Consumer closed");
+        } catch (Exception e) {
+            logger.error("Error closing consumer", e);
         }
     }
 
@@ -183,13 +381,6 @@ public class ConsumerService {
      * Close all consumers
      */
     public void closeAllConsumers() {
-        consumers.values().forEach(consumer -> {
-            try {
-                consumer.close();
-            } catch (Exception e) {
-                logger.error("Error closing consumer", e);
-            }
-        });
-        consumers.clear();
+        sessions.values().forEach(ConsumerHandle::close);
     }
 }
@@ -0,0 +1,67 @@
+package com.kafkadesk.core.service;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Point-in-time figures of the open consumers
+ */
+public class ConsumerSessionStats {
+    private final int openSessions;
+    private final Map<String, Integer> sessionsByCluster;
+    private final long maxBufferedBytes;
+    private final long bytesConsumed;
+    private final long expiredSessions;
+
+    ConsumerSessionStats(int openSessions, Map<String, Integer> sessionsByCluster, long maxBufferedBytes,
+                         long bytesConsumed, long expiredSessions) {
+        this.openSessions = openSessions;
+        this.sessionsByCluster = Collections.unmodifiableMap(sessionsByCluster);
+        this.maxBufferedBytes = maxBufferedBytes;
+        this.bytesConsumed = bytesConsumed;
+        this.expiredSessions = expiredSessions;
+    }
+
+    public int getOpenSessions() {
+        return openSessions;
+    }
+
+    /**
+     * Open consumers per cluster ID
+     */
+    public Map<String, Integer> getSessionsByCluster() {
+        return sessionsByCluster;
+    }
+
+    /**
+     * Sum of the open consumers' buffer limits, i.e. the most fetched data they can hold
+     */
+    public long getMaxBufferedBytes() {
+        return maxBufferedBytes;
+    }
+
+    /**
+     * Bytes fetched by the open consumers
+     */
+    public long getBytesConsumed() {
+        return bytesConsumed;
+    }
+
+    /**
+     * Consumers closed for being idle since startup
+     */
+    public long getExpiredSessions() {
+        return expiredSessions;
+    }
+
+    @Override
+    public String toString() {
+        return "ConsumerSessionStats{" +
+                "open=" + openSessions +
+                ", byCluster=" + sessionsByCluster +
+                ", maxBufferedBytes=" + maxBufferedBytes +
+                ", bytesConsumed=" + bytesConsumed +
+                ", expired=" + expiredSessions +
+                '}';
+    }
+}
@@ -0,0 +1,23 @@
+package com.kafkadesk.core.service;
+
+/**
+ * Compression of exported record files
+ */
+public enum ExportCompression {
+    NONE(""),
+    GZIP("gz"),
+    ZSTD("zst");
+
+    private final String extension;
+
+    ExportCompression(String extension) {
+        this.extension = extension;
+    }
+
+    /**
+     * Extension appended after the format extension, empty for NONE
+     */
+    public String getExtension() {
+        return extension;
+    }
+}
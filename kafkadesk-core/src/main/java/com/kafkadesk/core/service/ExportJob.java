@@ -0,0 +1,82 @@
+package com.kafkadesk.core.service;
+
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A running topic export: progress, cancellation and the final report
+ */
+public class ExportJob {
+    private final String topic;
+    private final Path file;
+    private final long startNanos = System.nanoTime();
+    private final CompletableFuture<ExportProgress> result = new CompletableFuture<>();
+    // Records and encoded bytes are only updated by the consumer thread, file bytes by the writer thread
+    private volatile long records;
+    private volatile long bytes;
+    private volatile long fileBytes;
+    private volatile long totalRecords;
+    private volatile long endNanos;
+    private volatile boolean cancelled;
+
+    ExportJob(String topic, Path file) {
+        this.topic = topic;
+        this.file = file;
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Completes with the final progress once the file is closed
+     */
+    public CompletableFuture<ExportProgress> getResult() {
+        return result;
+    }
+
+    public ExportProgress getProgress() {
+        long end = endNanos != 0 ? endNanos : System.nanoTime();
+        return new ExportProgress(records, totalRecords, bytes, fileBytes,
+                (end - startNanos) / 1_000_000, result.isDone());
+    }
+
+    /**
+     * Stop the export; the file keeps the records exported so far
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    void setTotalRecords(long totalRecords) {
+        this.totalRecords = totalRecords;
+    }
+
+    void addRecords(long records, long bytes) {
+        this.records += records;
+        this.bytes += bytes;
+    }
+
+    void setFileBytes(long fileBytes) {
+        this.fileBytes = fileBytes;
+    }
+
+    void complete() {
+        endNanos = System.nanoTime();
+        result.complete(getProgress());
+    }
+
+    void fail(Throwable error) {
+        cancelled = true;
+        endNanos = System.nanoTime();
+        result.completeExceptionally(error);
+    }
+}
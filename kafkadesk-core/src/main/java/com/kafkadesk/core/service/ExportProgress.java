@@ -0,0 +1,82 @@
+package com.kafkadesk.core.service;
+
+/**
+ * Point-in-time progress of a topic export
+ */
+public class ExportProgress {
+    private final long records;
+    private final long totalRecords;
+    private final long bytes;
+    private final long fileBytes;
+    private final long elapsedMs;
+    private final boolean done;
+
+    ExportProgress(long records, long totalRecords, long bytes, long fileBytes, long elapsedMs, boolean done) {
+        this.records = records;
+        this.totalRecords = totalRecords;
+        this.bytes = bytes;
+        this.fileBytes = fileBytes;
+        this.elapsedMs = elapsedMs;
+        this.done = done;
+    }
+
+    public long getRecords() {
+        return records;
+    }
+
+    /**
+     * Messages in the exported offset ranges when the export started
+     */
+    public long getTotalRecords() {
+        return totalRecords;
+    }
+
+    /**
+     * Encoded bytes, before compression
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Bytes written to the file so far
+     */
+    public long getFileBytes() {
+        return fileBytes;
+    }
+
+    public long getElapsedMs() {
+        return elapsedMs;
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    /**
+     * Fraction of the offset ranges exported, between 0 and 1
+     */
+    public double getFraction() {
+        return totalRecords > 0 ? Math.min(1.0, (double) records / totalRecords) : (done ? 1.0 : 0.0);
+    }
+
+    public double getRecordsPerSecond() {
+        return elapsedMs > 0 ? records * 1000.0 / elapsedMs : 0;
+    }
+
+    public double getBytesPerSecond() {
+        return elapsedMs > 0 ? bytes * 1000.0 / elapsedMs : 0;
+    }
+
+    @Override
+    public String toString() {
+        return "ExportProgress{" +
+                "records=" + records + "/" + totalRecords +
+                ", bytes=" + bytes +
+                ", fileBytes=" + fileBytes +
+                ", recordsPerSec=" + Math.round(getRecordsPerSecond()) +
+                ", MBPerSec=" + String.format("%.2f", getBytesPerSecond() / (1024 * 1024)) +
+                ", done=" + done +
+                '}';
+    }
+}
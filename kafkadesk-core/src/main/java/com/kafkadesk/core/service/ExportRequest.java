@@ -0,0 +1,191 @@
+package com.kafkadesk.core.service;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Parameters of a topic export
+ */
+public class ExportRequest {
+    private String topic;
+    private Path file;
+    private RecordFileFormat format = RecordFileFormat.DUMP;
+    private ExportCompression compression = ExportCompression.NONE;
+    private List<Integer> partitions; // null = all partitions
+    private Long startOffset; // null = from the earliest offset
+    private Long endOffset; // null = up to the end offset
+    private Instant fromTimestamp;
+    private Instant toTimestamp;
+    private int bufferSize = 4 * 1024 * 1024;
+    private int bufferCount = 4;
+    private int maxPollRecords = 5000;
+    private int maxPartitionFetchBytes = 4 * 1024 * 1024;
+    private int fetchMaxBytes = 64 * 1024 * 1024;
+    private int receiveBufferBytes = 4 * 1024 * 1024;
+
+    public ExportRequest() {
+    }
+
+    public ExportRequest(String topic, Path file, RecordFileFormat format) {
+        this.topic = topic;
+        this.file = file;
+        this.format = format;
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public void setTopic(String topic) {
+        this.topic = topic;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public void setFile(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * JSONL, DUMP or RAW; CSV is import only
+     */
+    public RecordFileFormat getFormat() {
+        return format;
+    }
+
+    public void setFormat(RecordFileFormat format) {
+        this.format = format;
+    }
+
+    public ExportCompression getCompression() {
+        return compression;
+    }
+
+    public void setCompression(ExportCompression compression) {
+        this.compression = compression;
+    }
+
+    public List<Integer> getPartitions() {
+        return partitions;
+    }
+
+    public void setPartitions(List<Integer> partitions) {
+        this.partitions = partitions;
+    }
+
+    /**
+     * First offset exported in every partition
+     */
+    public Long getStartOffset() {
+        return startOffset;
+    }
+
+    public void setStartOffset(Long startOffset) {
+        this.startOffset = startOffset;
+    }
+
+    /**
+     * Offset the export stops before in every partition
+     */
+    public Long getEndOffset() {
+        return endOffset;
+    }
+
+    public void setEndOffset(Long endOffset) {
+        this.endOffset = endOffset;
+    }
+
+    /**
+     * Only export messages written at or after this time
+     */
+    public Instant getFromTimestamp() {
+        return fromTimestamp;
+    }
+
+    public void setFromTimestamp(Instant fromTimestamp) {
+        this.fromTimestamp = fromTimestamp;
+    }
+
+    /**
+     * Only export messages written before this time
+     */
+    public Instant getToTimestamp() {
+        return toTimestamp;
+    }
+
+    public void setToTimestamp(Instant toTimestamp) {
+        this.toTimestamp = toTimestamp;
+    }
+
+    /**
+     * Size of each direct buffer handed to the writer thread
+     */
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Number of buffers; when all are waiting to be written the consumer stops polling
+     */
+    public int getBufferCount() {
+        return bufferCount;
+    }
+
+    public void setBufferCount(int bufferCount) {
+        this.bufferCount = bufferCount;
+    }
+
+    public int getMaxPollRecords() {
+        return maxPollRecords;
+    }
+
+    public void setMaxPollRecords(int maxPollRecords) {
+        this.maxPollRecords = maxPollRecords;
+    }
+
+    public int getMaxPartitionFetchBytes() {
+        return maxPartitionFetchBytes;
+    }
+
+    public void setMaxPartitionFetchBytes(int maxPartitionFetchBytes) {
+        this.maxPartitionFetchBytes = maxPartitionFetchBytes;
+    }
+
+    public int getFetchMaxBytes() {
+        return fetchMaxBytes;
+    }
+
+    public void setFetchMaxBytes(int fetchMaxBytes) {
+        this.fetchMaxBytes = fetchMaxBytes;
+    }
+
+    public int getReceiveBufferBytes() {
+        return receiveBufferBytes;
+    }
+
+    public void setReceiveBufferBytes(int receiveBufferBytes) {
+        this.receiveBufferBytes = receiveBufferBytes;
+    }
+
+    /**
+     * Consumer settings derived from this request
+     */
+    Properties toConsumerProperties() {
+        Properties props = new Properties();
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, String.valueOf(maxPollRecords));
+        props.put(ConsumerConfig.MAX_PARTITION_FETCH_BYTES_CONFIG, String.valueOf(maxPartitionFetchBytes));
+        props.put(ConsumerConfig.FETCH_MAX_BYTES_CONFIG, String.valueOf(fetchMaxBytes));
+        props.put(ConsumerConfig.RECEIVE_BUFFER_CONFIG, String.valueOf(receiveBufferBytes));
+        return props;
+    }
+}
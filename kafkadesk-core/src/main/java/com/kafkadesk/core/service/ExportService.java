@@ -0,0 +1,271 @@
+package com.kafkadesk.core.service;
+
+import com.kafkadesk.core.config.ConfigManager;
+import com.kafkadesk.core.task.TaskScheduler;
+import com.kafkadesk.model.ClusterConfig;
+import com.kafkadesk.model.PartitionOffsets;
+import com.kafkadesk.model.TopicInfo;
+import com.kafkadesk.utils.ThreadUtil;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Topic export engine.
+ * One consumer is assigned the exported partitions and seeks to the start of the requested
+ * range; records are encoded from their raw bytes into large direct buffers that a writer
+ * thread writes to the file, so neither side allocates strings per record and fetching and
+ * disk writes overlap.
+ */
+public class ExportService {
+    private static final Logger logger = LoggerFactory.getLogger(ExportService.class);
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(200);
+    // Fail rather than poll forever when the cluster stops answering
+    private static final long STALL_TIMEOUT_MS = 60_000;
+    private static ExportService instance;
+
+    private final ExecutorService executor;
+
+    private ExportService() {
+        executor = Executors.newCachedThreadPool(ThreadUtil.numberedDaemonThreadFactory("kafkadesk-export"));
+    }
+
+    public static synchronized ExportService getInstance() {
+        if (instance == null) {
+            instance = new ExportService();
+        }
+        return instance;
+    }
+
+    /**
+     * Start exporting a topic; returns null if the cluster is unknown or the format cannot be written
+     */
+    public ExportJob startExport(String clusterId, ExportRequest request) {
+        ClusterConfig config = ConfigManager.getInstance().getClusterById(clusterId);
+        if (config == null) {
+            logger.error("Cluster not found: {}", clusterId);
+            return null;
+        }
+        if (request.getFormat() == RecordFileFormat.CSV) {
+            logger.error("CSV is an import-only format");
+            return null;
+        }
+
+        ExportJob job = new ExportJob(request.getTopic(), request.getFile());
+        TaskScheduler.getInstance()
+                .submit(clusterId, null, () -> planRanges(clusterId, request, job))
+                .thenAcceptAsync(ranges -> export(config, request, ranges, job), executor)
+                .whenComplete((ignored, error) -> {
+                    if (error != null) {
+                        logger.error("Export of {} to {} failed", request.getTopic(), request.getFile(), error);
+                        job.fail(error);
+                    } else {
+                        job.complete();
+                        logger.info("Exported {} to {}: {}", request.getTopic(), request.getFile(), job.getProgress());
+                    }
+                });
+        return job;
+    }
+
+    /**
+     * Offset range of every exported partition, narrowed to the requested offsets and times.
+     * Fails if the offsets of an exported partition or one of its time bounds cannot be resolved,
+     * rather than exporting an empty or wider range.
+     */
+    private List<PartitionOffsets> planRanges(String clusterId, ExportRequest request, ExportJob job)
+            throws InterruptedException {
+        TopicService topicService = TopicService.getInstance();
+        String topic = request.getTopic();
+        // All lookups are sent before waiting for any of them
+        CompletableFuture<TopicInfo> topicInfo = topicService.resolveTopic(clusterId, topic);
+        CompletableFuture<List<PartitionOffsets>> partitionOffsets =
+                topicService.getPartitionOffsetsAsync(clusterId, topic, null);
+        CompletableFuture<Map<Integer, Long>> fromLookup = request.getFromTimestamp() != null
+                ? topicService.getOffsetsForTimestampAsync(clusterId, topic, request.getFromTimestamp()) : null;
+        CompletableFuture<Map<Integer, Long>> toLookup = request.getToTimestamp() != null
+                ? topicService.getOffsetsForTimestampAsync(clusterId, topic, request.getToTimestamp()) : null;
+
+        Set<Integer> unresolved = new TreeSet<>();
+        await(topicInfo, "describe topic " + topic).getPartitionDetails()
+                .forEach(partition -> unresolved.add(partition.getPartition()));
+        if (request.getPartitions() != null) {
+            unresolved.retainAll(request.getPartitions());
+        }
+        Map<Integer, Long> fromOffsets = fromLookup != null ? await(fromLookup, "resolve the start time") : null;
+        Map<Integer, Long> toOffsets = toLookup != null ? await(toLookup, "resolve the end time") : null;
+
+        List<PartitionOffsets> ranges = new ArrayList<>();
+        long total = 0;
+        for (PartitionOffsets offsets : await(partitionOffsets, "list offsets of topic " + topic)) {
+            int partition = offsets.getPartition();
+            if (!unresolved.contains(partition)
+                    || fromOffsets != null && !fromOffsets.containsKey(partition)
+                    || toOffsets != null && !toOffsets.containsKey(partition)) {
+                continue;
+            }
+            unresolved.remove(partition);
+            ScanService.narrow(offsets, fromOffsets, toOffsets);
+            if (request.getStartOffset() != null) {
+                offsets.setEarliestOffset(Math.max(offsets.getEarliestOffset(),
+                        Math.min(request.getStartOffset(), offsets.getLatestOffset())));
+            }
+            if (request.getEndOffset() != null) {
+                offsets.setLatestOffset(Math.min(offsets.getLatestOffset(), request.getEndOffset()));
+            }
+            if (offsets.getMessageCount() > 0) {
+                ranges.add(offsets);
+                total += offsets.getMessageCount();
+            }
+        }
+        if (!unresolved.isEmpty()) {
+            throw new IllegalStateException("Could not resolve the range of partitions " + unresolved + " of " + topic);
+        }
+        job.setTotalRecords(total);
+        logger.info("Exporting {} messages of {} from {} partitions to {}", total, topic, ranges.size(),
+                request.getFile());
+        return ranges;
+    }
+
+    private static <T> T await(CompletableFuture<T> future, String operation) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to " + operation, e.getCause());
+        }
+    }
+
+    /**
+     * Read the ranges and encode every record into the writer's buffers
+     */
+    private void export(ClusterConfig config, ExportRequest request, List<PartitionOffsets> ranges, ExportJob job) {
+        RecordEncoder encoder = new RecordEncoder(request.getFormat(), request.getTopic());
+        ExportWriter writer;
+        try {
+            writer = new ExportWriter(request.getFile(), request.getCompression(), request.getBufferSize(),
+                    Math.max(2, request.getBufferCount()), job, executor);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        ConsumerService consumerService = ConsumerService.getInstance();
+        ConsumerHandle handle = null;
+        boolean read = false;
+        try {
+            encoder.encodeFileHeader(writer.reserve(8));
+            Map<TopicPartition, Long> endOffsets = new HashMap<>();
+            for (PartitionOffsets offsets : ranges) {
+                endOffsets.put(new TopicPartition(offsets.getTopic(), offsets.getPartition()), offsets.getLatestOffset());
+            }
+            Set<TopicPartition> remaining = new HashSet<>(endOffsets.keySet());
+            if (!remaining.isEmpty()) {
+                handle = consumerService.openSession(config, null, request.toConsumerProperties(), "export");
+                handle.consumer().assign(endOffsets.keySet());
+                for (PartitionOffsets offsets : ranges) {
+                    handle.consumer().seek(new TopicPartition(offsets.getTopic(), offsets.getPartition()),
+                            offsets.getEarliestOffset());
+                }
+            }
+
+            long lastProgress = System.currentTimeMillis();
+            long lastPositions = -1;
+            while (!remaining.isEmpty() && !job.isCancelled()) {
+                ConsumerRecords<byte[], byte[]> records = handle.poll(POLL_TIMEOUT);
+                long count = 0;
+                long bytes = 0;
+                for (TopicPartition tp : records.partitions()) {
+                    long end = endOffsets.get(tp);
+                    for (ConsumerRecord<byte[], byte[]> record : records.records(tp)) {
+                        if (record.offset() >= end) {
+                            break;
+                        }
+                        ByteBuffer out = writer.reserve(encoder.maxSize(record));
+                        int start = out.position();
+                        encoder.encode(record, out);
+                        bytes += out.position() - start;
+                        count++;
+                    }
+                }
+                job.addRecords(count, bytes);
+
+                // Positions can pass the end without returning records (compaction, transaction markers)
+                long positions = 0;
+                Iterator<TopicPartition> it = remaining.iterator();
+                while (it.hasNext()) {
+                    TopicPartition tp = it.next();
+                    long position = handle.consumer().position(tp);
+                    positions += position;
+                    if (position >= endOffsets.get(tp)) {
+                        handle.consumer().pause(Collections.singleton(tp));
+                        it.remove();
+                    }
+                }
+
+                long now = System.currentTimeMillis();
+                if (count > 0 || positions != lastPositions) {
+                    lastProgress = now;
+                    lastPositions = positions;
+                } else if (now - lastProgress > STALL_TIMEOUT_MS) {
+                    throw new IllegalStateException("No records of " + request.getTopic() + " received for "
+                            + STALL_TIMEOUT_MS / 1000 + "s, " + remaining.size() + " partitions unfinished");
+                }
+            }
+            read = true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (handle != null) {
+                handle.close();
+            }
+            boolean complete = read && !job.isCancelled();
+            try {
+                writer.finish();
+            } catch (IOException e) {
+                complete = false;
+                // Do not hide the error that stopped reading
+                if (read) {
+                    throw new UncheckedIOException(e);
+                }
+                logger.warn("Failed to close export file {}", request.getFile(), e);
+            } finally {
+                if (!complete) {
+                    deletePartial(request.getFile());
+                }
+            }
+        }
+    }
+
+    /**
+     * Remove the file of an export that failed or was cancelled, so no truncated file is left behind
+     */
+    private void deletePartial(Path file) {
+        try {
+            if (Files.deleteIfExists(file)) {
+                logger.info("Deleted partial export file {}", file);
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to delete partial export file {}", file, e);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.kafkadesk.core.service;
+
+import com.github.luben.zstd.ZstdOutputStream;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Double-buffered file output of an export.
+ * The consumer thread fills direct buffers and hands them over; a writer thread writes them to
+ * the file, through gzip or zstd if requested, and returns them for reuse. When every buffer is
+ * waiting to be written the consumer thread blocks, so a slow disk throttles fetching.
+ */
+class ExportWriter {
+    private static final ByteBuffer END = ByteBuffer.allocate(0);
+    private static final int STREAM_BUFFER_SIZE = 256 * 1024;
+
+    private final Path path;
+    private final FileChannel file;
+    private final WritableByteChannel out;
+    private final ExportJob job;
+    private final int bufferSize;
+    private final BlockingQueue<ByteBuffer> free;
+    private final BlockingQueue<ByteBuffer> filled = new LinkedBlockingQueue<>();
+    private final CompletableFuture<Void> writing;
+    private ByteBuffer current;
+
+    ExportWriter(Path path, ExportCompression compression, int bufferSize, int bufferCount,
+                 ExportJob job, Executor executor) throws IOException {
+        this.path = path;
+        this.file = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            this.out = open(file, compression);
+        } catch (IOException e) {
+            file.close();
+            throw e;
+        }
+        this.job = job;
+        this.bufferSize = bufferSize;
+        this.free = new ArrayBlockingQueue<>(bufferCount);
+        for (int i = 0; i < bufferCount; i++) {
+            free.add(ByteBuffer.allocateDirect(bufferSize));
+        }
+        this.current = free.poll();
+        this.writing = CompletableFuture.runAsync(this::writeLoop, executor);
+    }
+
+    private static WritableByteChannel open(FileChannel file, ExportCompression compression) throws IOException {
+        switch (compression) {
+            case GZIP:
+                return Channels.newChannel(new GZIPOutputStream(Channels.newOutputStream(file), STREAM_BUFFER_SIZE));
+            case ZSTD:
+                return Channels.newChannel(new ZstdOutputStream(Channels.newOutputStream(file)));
+            case NONE:
+            default:
+                return file;
+        }
+    }
+
+    /**
+     * A buffer with at least {@code bytes} bytes remaining.
+     * The current buffer is handed to the writer if it is too full; a record larger than a
+     * whole buffer gets a buffer of its own that is dropped once written.
+     */
+    ByteBuffer reserve(int bytes) throws IOException {
+        if (current.remaining() >= bytes) {
+            return current;
+        }
+        flush();
+        current = bytes > bufferSize ? ByteBuffer.allocate(bytes) : takeFree();
+        return current;
+    }
+
+    /**
+     * Write out everything handed over so far and close the file
+     */
+    void finish() throws IOException {
+        try {
+            flush();
+            current = null;
+        } finally {
+            filled.add(END);
+        }
+        try {
+            writing.join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    private void flush() throws IOException {
+        checkWriter();
+        if (current != null && current.position() > 0) {
+            current.flip();
+            filled.add(current);
+            current = null;
+        }
+    }
+
+    private ByteBuffer takeFree() throws IOException {
+        try {
+            while (true) {
+                ByteBuffer buffer = free.poll(100, TimeUnit.MILLISECONDS);
+                if (buffer != null) {
+                    return buffer;
+                }
+                checkWriter();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for the export writer");
+        }
+    }
+
+    /**
+     * Surface a writer failure on the consumer thread instead of waiting for buffers forever
+     */
+    private void checkWriter() throws IOException {
+        if (writing.isCompletedExceptionally()) {
+            try {
+                writing.join();
+            } catch (CompletionException e) {
+                throw unwrap(e);
+            }
+        }
+    }
+
+    private void writeLoop() {
+        try (WritableByteChannel channel = out) {
+            while (true) {
+                ByteBuffer buffer = filled.take();
+                if (buffer == END) {
+                    break;
+                }
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                job.setFileBytes(file.position());
+                buffer.clear();
+                if (buffer.isDirect()) {
+                    free.add(buffer);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UncheckedIOException(new InterruptedIOException("Export writer interrupted"));
+        } finally {
+            try {
+                file.close();
+            } catch (IOException ignored) {
+                // already closed with the stream
+            }
+        }
+        try {
+            job.setFileBytes(Files.size(path));
+        } catch (IOException ignored) {
+            // progress only
+        }
+    }
+
+    private static IOException unwrap(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof UncheckedIOException) {
+            return ((UncheckedIOException) cause).getCause();
+        }
+        return cause instanceof IOException ? (IOException) cause : new IOException(cause);
+    }
+}
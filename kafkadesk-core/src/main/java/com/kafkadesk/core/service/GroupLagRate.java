@@ -0,0 +1,111 @@
+package com.kafkadesk.core.service;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Lag rates of every partition a group reads, with group totals
+ */
+public class GroupLagRate {
+    private final String groupId;
+    private final long timestamp;
+    private final List<PartitionLagRate> partitions;
+    private final long lag;
+    private final double consumeRate;
+    private final double produceRate;
+    private final int stalledPartitions;
+    private final long secondsToZero;
+
+    GroupLagRate(String groupId, long timestamp, List<PartitionLagRate> partitions) {
+        this.groupId = groupId;
+        this.timestamp = timestamp;
+        this.partitions = Collections.unmodifiableList(partitions);
+        long totalLag = 0;
+        double consume = 0;
+        double produce = 0;
+        int stalled = 0;
+        long slowest = 0;
+        for (PartitionLagRate partition : partitions) {
+            slowest = slowest(slowest, partition.getSecondsToZero());
+            totalLag += partition.getLag();
+            consume += partition.getConsumeRate();
+            produce += partition.getProduceRate();
+            if (partition.isStalled()) {
+                stalled++;
+            }
+        }
+        this.lag = totalLag;
+        this.consumeRate = consume;
+        this.produceRate = produce;
+        this.stalledPartitions = stalled;
+        this.secondsToZero = slowest;
+    }
+
+    public String getGroupId() {
+        return groupId;
+    }
+
+    /**
+     * Time of the latest offsets (epoch millis)
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Per-partition rates, by topic and partition
+     */
+    public List<PartitionLagRate> getPartitions() {
+        return partitions;
+    }
+
+    public long getLag() {
+        return lag;
+    }
+
+    public double getConsumeRate() {
+        return consumeRate;
+    }
+
+    public double getProduceRate() {
+        return produceRate;
+    }
+
+    /**
+     * Falling behind wins over no estimate, which wins over any duration
+     */
+    private static long slowest(long a, long b) {
+        if (a == LagRateTracker.FALLING_BEHIND || b == LagRateTracker.FALLING_BEHIND) {
+            return LagRateTracker.FALLING_BEHIND;
+        }
+        if (a == LagRateTracker.NO_ESTIMATE || b == LagRateTracker.NO_ESTIMATE) {
+            return LagRateTracker.NO_ESTIMATE;
+        }
+        return Math.max(a, b);
+    }
+
+    /**
+     * Seconds until every partition's lag reaches zero at the current rates: 0 if there is no
+     * lag, {@link LagRateTracker#FALLING_BEHIND} if some partition's lag is growing,
+     * {@link LagRateTracker#NO_ESTIMATE} if some partition has no rate yet or holds steady.
+     * Partitions are not summed, since surplus on one does not help another.
+     */
+    public long getSecondsToZero() {
+        return secondsToZero;
+    }
+
+    public int getStalledPartitions() {
+        return stalledPartitions;
+    }
+
+    @Override
+    public String toString() {
+        return "GroupLagRate{" +
+                "groupId='" + groupId + '\'' +
+                ", lag=" + lag +
+                ", consumeRate=" + consumeRate +
+                ", produceRate=" + produceRate +
+                ", stalledPartitions=" + stalledPartitions +
+                '}';
+    }
+}
@@ -0,0 +1,222 @@
+package com.kafkadesk.core.service;
+
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Rolling consume and produce rates per group and partition.
+ * <p>
+ * Fed with committed and end offsets each time lag is calculated, by {@link LagService} for the
+ * whole cluster and by {@link ConsumerGroupService} for single groups. Each update touches only
+ * the partitions it carries: the rates are exponentially weighted moving averages over about a
+ * minute, updated in place from the change since the previous offsets, so a tick costs
+ * O(partitions) however often it runs.
+ * <p>
+ * A partition is stalled when its committed offset has not moved for the stall threshold while
+ * its end offset grew.
+ */
+public class LagRateTracker {
+    /** Seconds to zero when lag is growing */
+    public static final long FALLING_BEHIND = -1;
+    /** Seconds to zero when there is no rate yet, or lag is holding steady */
+    public static final long NO_ESTIMATE = -2;
+    private static final long SMOOTHING_MS = 60_000;
+    private static final long DEFAULT_STALL_THRESHOLD_MS = 60_000;
+    // Offsets closer together than this are too noisy for a rate and are skipped
+    private static final long MIN_INTERVAL_MS = 1_000;
+    private static final Comparator<PartitionLagRate> PARTITION_ORDER =
+            Comparator.comparing(PartitionLagRate::getTopic).thenComparingInt(PartitionLagRate::getPartition);
+    private static LagRateTracker instance;
+
+    private final Map<String, Map<String, GroupState>> clusters = new ConcurrentHashMap<>();
+    private volatile long stallThresholdMs = DEFAULT_STALL_THRESHOLD_MS;
+
+    private LagRateTracker() {
+    }
+
+    public static synchronized LagRateTracker getInstance() {
+        if (instance == null) {
+            instance = new LagRateTracker();
+        }
+        return instance;
+    }
+
+    /**
+     * Add the offsets of every partition a group has committed to.
+     * Partitions missing from the update are forgotten.
+     *
+     * @param committed  committed offsets; null values (no commit) are ignored
+     * @param endOffsets log-end offsets; partitions without one are ignored
+     */
+    public void update(String clusterId, String groupId, long timestamp,
+                       Map<TopicPartition, OffsetAndMetadata> committed, Map<TopicPartition, Long> endOffsets) {
+        clusters.computeIfAbsent(clusterId, id -> new ConcurrentHashMap<>())
+                .computeIfAbsent(groupId, id -> new GroupState())
+                .update(timestamp, committed, endOffsets, stallThresholdMs);
+    }
+
+    /**
+     * Current rates of a group, or null if it has not been seen
+     */
+    public GroupLagRate getGroupRate(String clusterId, String groupId) {
+        Map<String, GroupState> groups = clusters.get(clusterId);
+        GroupState state = groups != null ? groups.get(groupId) : null;
+        return state != null ? state.snapshot(groupId) : null;
+    }
+
+    /**
+     * Current rates of every group seen in the cluster
+     */
+    public List<GroupLagRate> getGroupRates(String clusterId) {
+        Map<String, GroupState> groups = clusters.get(clusterId);
+        List<GroupLagRate> result = new ArrayList<>();
+        if (groups != null) {
+            groups.forEach((groupId, state) -> result.add(state.snapshot(groupId)));
+            result.sort(Comparator.comparing(GroupLagRate::getGroupId));
+        }
+        return result;
+    }
+
+    public void remove(String clusterId, String groupId) {
+        Map<String, GroupState> groups = clusters.get(clusterId);
+        if (groups != null) {
+            groups.remove(groupId);
+        }
+    }
+
+    public void clear(String clusterId) {
+        clusters.remove(clusterId);
+    }
+
+    /**
+     * How long a committed offset may stay put while messages arrive before it counts as stalled
+     */
+    public void setStallThresholdMs(long stallThresholdMs) {
+        this.stallThresholdMs = Math.max(0, stallThresholdMs);
+    }
+
+    static long secondsToZero(long lag, double netRate, boolean hasRate) {
+        if (lag <= 0) {
+            return 0;
+        }
+        if (!hasRate || netRate == 0) {
+            return NO_ESTIMATE;
+        }
+        return netRate > 0 ? (long) Math.ceil(lag / netRate) : FALLING_BEHIND;
+    }
+
+    /**
+     * One group's partitions; updates replace the set of partitions
+     */
+    private static final class GroupState {
+        private final Map<TopicPartition, PartitionState> partitions = new HashMap<>();
+        private long timestamp;
+        private long generation;
+
+        synchronized void update(long now, Map<TopicPartition, OffsetAndMetadata> committed,
+                                 Map<TopicPartition, Long> endOffsets, long stallThresholdMs) {
+            if (now - timestamp < MIN_INTERVAL_MS) {
+                return;
+            }
+            timestamp = now;
+            generation++;
+            committed.forEach((tp, om) -> {
+                Long end = endOffsets.get(tp);
+                if (om == null || end == null) {
+                    return;
+                }
+                PartitionState state = partitions.get(tp);
+                if (state == null) {
+                    partitions.put(tp, new PartitionState(now, om.offset(), end, generation));
+                } else {
+                    state.update(now, om.offset(), end, generation, stallThresholdMs);
+                }
+            });
+            partitions.values().removeIf(state -> state.generation != generation);
+        }
+
+        synchronized GroupLagRate snapshot(String groupId) {
+            List<PartitionLagRate> result = new ArrayList<>(partitions.size());
+            partitions.forEach((tp, state) -> result.add(new PartitionLagRate(tp.topic(), tp.partition(),
+                    state.committed, state.end, state.consumeRate, state.produceRate, state.hasRate,
+                    state.stalledForMs)));
+            result.sort(PARTITION_ORDER);
+            return new GroupLagRate(groupId, timestamp, result);
+        }
+    }
+
+    /**
+     * Offsets of one partition at the previous update and the rates derived so far
+     */
+    private static final class PartitionState {
+        private long timestamp;
+        private long committed;
+        private long end;
+        private double consumeRate;
+        private double produceRate;
+        private boolean hasRate;
+        // When the committed offset last moved, and the end offset at that time
+        private long committedMovedAt;
+        private long endWhenCommittedMoved;
+        private long stalledForMs;
+        private long generation;
+
+        PartitionState(long now, long committed, long end, long generation) {
+            reset(now, committed, end);
+            this.generation = generation;
+        }
+
+        void update(long now, long newCommitted, long newEnd, long generation, long stallThresholdMs) {
+            this.generation = generation;
+            if (newCommitted < committed || newEnd < end) {
+                // Offsets were reset or the partition was recreated
+                reset(now, newCommitted, newEnd);
+                return;
+            }
+
+            long elapsedMs = now - timestamp;
+            double consumed = (newCommitted - committed) * 1000.0 / elapsedMs;
+            double produced = (newEnd - end) * 1000.0 / elapsedMs;
+            if (hasRate) {
+                double weight = 1 - Math.exp(-(double) elapsedMs / SMOOTHING_MS);
+                consumeRate += weight * (consumed - consumeRate);
+                produceRate += weight * (produced - produceRate);
+            } else {
+                consumeRate = consumed;
+                produceRate = produced;
+                hasRate = true;
+            }
+
+            if (newCommitted != committed) {
+                committedMovedAt = now;
+                endWhenCommittedMoved = newEnd;
+            }
+            long idleMs = now - committedMovedAt;
+            boolean stalled = idleMs >= stallThresholdMs && newEnd > endWhenCommittedMoved && newEnd > newCommitted;
+            stalledForMs = stalled ? idleMs : 0;
+
+            timestamp = now;
+            committed = newCommitted;
+            end = newEnd;
+        }
+
+        private void reset(long now, long newCommitted, long newEnd) {
+            timestamp = now;
+            committed = newCommitted;
+            end = newEnd;
+            consumeRate = 0;
+            produceRate = 0;
+            hasRate = false;
+            committedMovedAt = now;
+            endWhenCommittedMoved = newEnd;
+            stalledForMs = 0;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.kafkadesk.core.service;
+
+import com.kafkadesk.core.history.LagHistoryStore;
+import com.kafkadesk.core.task.TaskScheduler;
+import com.kafkadesk.model.ConsumerGroupInfo;
+import com.kafkadesk.utils.ThreadUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background lag sampling.
+ * Refreshes the cluster's lag snapshot through {@link LagService} at a fixed interval and adds
+ * each snapshot to the {@link LagHistoryStore}. The refresh runs on the shared task scheduler,
+ * so it counts against the cluster's concurrency limit like any other load.
+ */
+public class LagSampler {
+    private static final Logger logger = LoggerFactory.getLogger(LagSampler.class);
+    private static final long DEFAULT_INTERVAL_MS = 60_000;
+    private static LagSampler instance;
+
+    private final Map<String, Sampling> clusters = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+
+    private LagSampler() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(ThreadUtil.daemonThreadFactory("kafkadesk-lag-sampler"));
+    }
+
+    public static synchronized LagSampler getInstance() {
+        if (instance == null) {
+            instance = new LagSampler();
+        }
+        return instance;
+    }
+
+    /**
+     * Sample the cluster now and then every minute, until stopped
+     */
+    public void start(String clusterId) {
+        start(clusterId, DEFAULT_INTERVAL_MS);
+    }
+
+    /**
+     * Sample the cluster now and then at the given interval; restarts sampling if it is running.
+     * History already recorded is kept. A lag snapshot taken less than an interval ago, such as
+     * the one that warmed the cache at connect, counts as the first sample.
+     */
+    public void start(String clusterId, long intervalMs) {
+        Sampling previous = clusters.remove(clusterId);
+        if (previous != null) {
+            previous.close();
+        }
+        Sampling sampling = new Sampling(clusterId, intervalMs);
+        clusters.put(clusterId, sampling);
+        LagSnapshot latest = previous == null ? LagService.getInstance().getSnapshot(clusterId) : null;
+        long age = latest != null ? System.currentTimeMillis() - latest.getTimestamp() : -1;
+        if (age >= 0 && age < intervalMs) {
+            sampling.recordUnlessClosed(latest);
+            sampling.schedule(intervalMs - age);
+        } else {
+            sampling.schedule(0);
+        }
+        logger.info("Started lag sampling for cluster {} every {} ms", clusterId, intervalMs);
+    }
+
+    /**
+     * Stop sampling and drop the cluster's lag history
+     */
+    public void stop(String clusterId) {
+        Sampling sampling = clusters.remove(clusterId);
+        if (sampling != null) {
+            sampling.close();
+        }
+        LagHistoryStore.getInstance().clear(clusterId);
+    }
+
+    public boolean isSampling(String clusterId) {
+        return clusters.containsKey(clusterId);
+    }
+
+    private void record(LagSnapshot snapshot) {
+        Map<String, Map<ConsumerGroupInfo.TopicPartition, Long>> lagByGroup = new HashMap<>();
+        for (ConsumerGroupInfo group : snapshot.getGroups()) {
+            lagByGroup.put(group.getGroupId(), group.getLag());
+        }
+        LagHistoryStore.getInstance().record(snapshot.getClusterId(), snapshot.getTimestamp(), lagByGroup);
+    }
+
+    /**
+     * One cluster's schedule
+     */
+    private final class Sampling {
+        private final String clusterId;
+        private final long intervalMs;
+        private ScheduledFuture<?> task;
+        private boolean closed;
+
+        Sampling(String clusterId, long intervalMs) {
+            this.clusterId = clusterId;
+            this.intervalMs = intervalMs;
+        }
+
+        synchronized void schedule(long delayMs) {
+            if (!closed) {
+                task = scheduler.schedule(this::sample, delayMs, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        synchronized void close() {
+            closed = true;
+            if (task != null) {
+                task.cancel(false);
+            }
+        }
+
+        private void sample() {
+            TaskScheduler.getInstance()
+                    .submit(clusterId, "lag-sample", () -> LagService.getInstance().refresh(clusterId))
+                    .whenComplete((snapshot, error) -> {
+                        if (error != null) {
+                            logger.debug("Lag sample of cluster {} failed", clusterId, error);
+                        } else if (snapshot != null) {
+                            recordUnlessClosed(snapshot);
+                        }
+                        schedule(intervalMs);
+                    });
+        }
+
+        /**
+         * Under the same lock as close(), so a stop() either clears this sample or prevents it;
+         * the history is never recreated after it was cleared
+         */
+        private synchronized void recordUnlessClosed(LagSnapshot snapshot) {
+            if (!closed) {
+                record(snapshot);
+            }
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.kafkadesk.core.service;
+
+import com.kafkadesk.model.ConsumerGroupInfo;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.ConsumerGroupDescription;
+import org.apache.kafka.clients.admin.DescribeConsumerGroupsResult;
+import org.apache.kafka.clients.admin.ListConsumerGroupOffsetsResult;
+import org.apache.kafka.clients.admin.ListConsumerGroupOffsetsSpec;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cluster-wide consumer lag engine.
+ * A refresh fetches committed offsets of all groups in batches, then looks up the
+ * log-end offsets of the union of their partitions with a single listOffsets call.
+ */
+public class LagService {
+    private static final Logger logger = LoggerFactory.getLogger(LagService.class);
+    private static final int GROUP_BATCH_SIZE = 200;
+    private static LagService instance;
+    private final Map<String, LagSnapshot> snapshots = new ConcurrentHashMap<>();
+
+    private LagService() {
+    }
+
+    public static synchronized LagService getInstance() {
+        if (instance == null) {
+            instance = new LagService();
+        }
+        return instance;
+    }
+
+    /**
+     * Refresh lag for every consumer group of the cluster
+     *
+     * @return the snapshot, or null if the groups could not be listed
+     */
+    public LagSnapshot refresh(String clusterId) {
+        List<String> groupIds;
+        try {
+            groupIds = ConsumerGroupService.getInstance().listConsumerGroupsAsync(clusterId).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            // An empty list here would read as every group having been deleted
+            logger.warn("Failed to list consumer groups of cluster {}", clusterId, e.getCause());
+            return null;
+        }
+        return refresh(clusterId, groupIds);
+    }
+
+    /**
+     * Refresh lag for the given consumer groups and make it the cluster's current snapshot
+     */
+    public LagSnapshot refresh(String clusterId, Collection<String> groupIds) {
+        Admin admin = ClusterService.getInstance().getAdminClient(clusterId);
+        if (admin == null) {
+            logger.error("Admin client not found for cluster: {}", clusterId);
+            return null;
+        }
+
+        ConsumerGroupService groupService = ConsumerGroupService.getInstance();
+        List<String> ids = new ArrayList<>(new LinkedHashSet<>(groupIds));
+
+        // Send every describe and offset-fetch batch before waiting on any of them
+        List<List<String>> batches = new ArrayList<>();
+        List<DescribeConsumerGroupsResult> describeResults = new ArrayList<>();
+        List<ListConsumerGroupOffsetsResult> offsetResults = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += GROUP_BATCH_SIZE) {
+            List<String> batch = ids.subList(from, Math.min(from + GROUP_BATCH_SIZE, ids.size()));
+            Map<String, ListConsumerGroupOffsetsSpec> specs = new HashMap<>();
+            batch.forEach(groupId -> specs.put(groupId, new ListConsumerGroupOffsetsSpec()));
+
+            batches.add(batch);
+            describeResults.add(admin.describeConsumerGroups(batch));
+            offsetResults.add(admin.listConsumerGroupOffsets(specs));
+        }
+
+        Map<String, ConsumerGroupInfo> groups = new LinkedHashMap<>();
+        Map<String, Map<TopicPartition, OffsetAndMetadata>> committed = new HashMap<>();
+        Set<TopicPartition> partitions = new HashSet<>();
+        Set<String> undescribed = new HashSet<>();
+
+        for (int i = 0; i < batches.size(); i++) {
+            Map<String, KafkaFuture<ConsumerGroupDescription>> descriptions =
+                    describeResults.get(i).describedGroups();
+            ListConsumerGroupOffsetsResult offsetsResult = offsetResults.get(i);
+
+            for (String groupId : batches.get(i)) {
+                ConsumerGroupInfo info;
+                try {
+                    info = groupService.convertGroupDescription(
+                            descriptions.get(groupId).get(10, TimeUnit.SECONDS));
+                } catch (Exception e) {
+                    logger.warn("Failed to describe consumer group: {}", groupId, e);
+                    undescribed.add(groupId);
+                    continue;
+                }
+
+                Map<TopicPartition, OffsetAndMetadata> offsets;
+                try {
+                    offsets = offsetsResult.partitionsToOffsetAndMetadata(groupId).get(10, TimeUnit.SECONDS);
+                } catch (Exception e) {
+                    logger.warn("Failed to list offsets for consumer group: {}", groupId, e);
+                    offsets = Collections.emptyMap();
+                }
+
+                info.setOffsets(groupService.convertOffsets(offsets));
+                offsets.forEach((tp, om) -> {
+                    if (om != null) {
+                        partitions.add(tp);
+                    }
+                });
+                groups.put(groupId, info);
+                committed.put(groupId, offsets);
+            }
+        }
+
+        long timestamp = System.currentTimeMillis();
+        Map<TopicPartition, Long> endOffsets = listEndOffsets(admin, partitions);
+
+        Map<ConsumerGroupInfo.TopicPartition, Long> snapshotEndOffsets = new HashMap<>(endOffsets.size());
+        endOffsets.forEach((tp, offset) ->
+                snapshotEndOffsets.put(new ConsumerGroupInfo.TopicPartition(tp.topic(), tp.partition()), offset));
+
+        committed.forEach((groupId, offsets) -> {
+            Map<ConsumerGroupInfo.TopicPartition, Long> lagMap = new HashMap<>();
+            offsets.forEach((tp, om) -> {
+                Long endOffset = endOffsets.get(tp);
+                if (om != null && endOffset != null) {
+                    lagMap.put(new ConsumerGroupInfo.TopicPartition(tp.topic(), tp.partition()),
+                            Math.max(0, endOffset - om.offset()));
+                }
+            });
+            groups.get(groupId).setLag(lagMap);
+        });
+
+        LagRateTracker rateTracker = LagRateTracker.getInstance();
+        committed.forEach((groupId, offsets) -> rateTracker.update(clusterId, groupId, timestamp, offsets, endOffsets));
+
+        LagSnapshot snapshot = new LagSnapshot(clusterId, timestamp, groups, snapshotEndOffsets, undescribed);
+        snapshots.put(clusterId, snapshot);
+        logger.debug("Refreshed lag for {} groups over {} partitions", groups.size(), endOffsets.size());
+        return snapshot;
+    }
+
+    /**
+     * Latest snapshot of the cluster, or null if none was taken yet
+     */
+    public LagSnapshot getSnapshot(String clusterId) {
+        return snapshots.get(clusterId);
+    }
+
+    /**
+     * Drop the cached snapshot of a cluster
+     */
+    public void clear(String clusterId) {
+        snapshots.remove(clusterId);
+    }
+
+    /**
+     * Fetch log-end offsets for all partitions in one listOffsets call
+     */
+    private Map<TopicPartition, Long> listEndOffsets(Admin admin, Set<TopicPartition> partitions) {
+        if (partitions.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Map<TopicPartition, OffsetSpec> offsetSpecs = new HashMap<>();
+        partitions.forEach(tp -> offsetSpecs.put(tp, OffsetSpec.latest()));
+        ListOffsetsResult result = admin.listOffsets(offsetSpecs);
+
+        Map<TopicPartition, Long> endOffsets = new HashMap<>(partitions.size());
+        for (TopicPartition tp : partitions) {
+            try {
+                endOffsets.put(tp, result.partitionResult(tp).get(10, TimeUnit.SECONDS).offset());
+            } catch (Exception e) {
+                // Typically a topic deleted after the group committed to it
+                logger.debug("Failed to get end offset for {}", tp, e);
+            }
+        }
+        return endOffsets;
+    }
+}
@@ -0,0 +1,108 @@
+package com.kafkadesk.core.service;
+
+import com.kafkadesk.model.ConsumerGroupInfo;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Point-in-time view of consumer lag for a whole cluster.
+ * Every group's lag is computed against the same set of log-end offsets.
+ */
+public class LagSnapshot {
+    private final String clusterId;
+    private final long timestamp;
+    private final Map<String, ConsumerGroupInfo> groups;
+    private final Map<ConsumerGroupInfo.TopicPartition, Long> endOffsets;
+    private final Set<String> undescribedGroups;
+
+    LagSnapshot(String clusterId, long timestamp,
+                Map<String, ConsumerGroupInfo> groups,
+                Map<ConsumerGroupInfo.TopicPartition, Long> endOffsets,
+                Set<String> undescribedGroups) {
+        this.clusterId = clusterId;
+        this.timestamp = timestamp;
+        this.groups = Collections.unmodifiableMap(groups);
+        this.endOffsets = Collections.unmodifiableMap(endOffsets);
+        this.undescribedGroups = Collections.unmodifiableSet(undescribedGroups);
+    }
+
+    public String getClusterId() {
+        return clusterId;
+    }
+
+    /**
+     * Time the end offsets were fetched (epoch millis)
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public Collection<ConsumerGroupInfo> getGroups() {
+        return groups.values();
+    }
+
+    /**
+     * Groups that exist but could not be described; they are missing from {@link #getGroups()}
+     * although they were not deleted
+     */
+    public Set<String> getUndescribedGroups() {
+        return undescribedGroups;
+    }
+
+    public ConsumerGroupInfo getGroup(String groupId) {
+        return groups.get(groupId);
+    }
+
+    /**
+     * Log-end offsets of every partition that at least one group has committed to
+     */
+    public Map<ConsumerGroupInfo.TopicPartition, Long> getEndOffsets() {
+        return endOffsets;
+    }
+
+    /**
+     * Log-end offset of a partition, or -1 if it is not part of the snapshot
+     */
+    public long getEndOffset(String topic, int partition) {
+        Long offset = endOffsets.get(new ConsumerGroupInfo.TopicPartition(topic, partition));
+        return offset != null ? offset : -1L;
+    }
+
+    /**
+     * Per-partition lag of a group
+     */
+    public Map<ConsumerGroupInfo.TopicPartition, Long> getGroupLag(String groupId) {
+        ConsumerGroupInfo info = groups.get(groupId);
+        return info != null ? info.getLag() : Collections.emptyMap();
+    }
+
+    /**
+     * Sum of a group's lag over all partitions
+     */
+    public long getTotalLag(String groupId) {
+        long total = 0;
+        for (Long lag : getGroupLag(groupId).values()) {
+            total += lag;
+        }
+        return total;
+    }
+
+    /**
+     * Total lag on a topic, keyed by the groups that have committed offsets for it
+     */
+    public Map<String, Long> getTopicLag(String topic) {
+        Map<String, Long> lagByGroup = new HashMap<>();
+        for (ConsumerGroupInfo info : groups.values()) {
+            info.getLag().forEach((tp, lag) -> {
+                if (tp.getTopic().equals(topic)) {
+                    lagByGroup.merge(info.getGroupId(), lag, Long::sum);
+                }
+            });
+        }
+        return lagByGroup;
+    }
+}
@@ -0,0 +1,89 @@
+package com.kafkadesk.core.service;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size histogram of latencies in microseconds.
+ * Values below {@value #SUB_BUCKETS} are counted exactly; larger ones fall into logarithmic
+ * buckets, each power of two split into {@value #SUB_BUCKETS} linear sub-buckets, so a
+ * percentile is off by at most about 3%. Memory does not grow with the number of values,
+ * unlike keeping every latency of a streamed send.
+ */
+final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // One row of sub-buckets per power of two from 2^5 up to 2^62, after the exact values
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final long[] counts;
+    private long count;
+    private long max;
+
+    LatencyHistogram() {
+        this.counts = new long[BUCKETS];
+    }
+
+    private LatencyHistogram(LatencyHistogram other) {
+        this.counts = Arrays.copyOf(other.counts, BUCKETS);
+        this.count = other.count;
+        this.max = other.max;
+    }
+
+    synchronized void record(long micros) {
+        long value = Math.max(0, micros);
+        counts[index(value)]++;
+        count++;
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Copy of the values recorded so far
+     */
+    synchronized LatencyHistogram snapshot() {
+        return new LatencyHistogram(this);
+    }
+
+    synchronized long getCount() {
+        return count;
+    }
+
+    synchronized long getMax() {
+        return max;
+    }
+
+    /**
+     * Value at the given percentile (0-100): the highest value of the bucket holding it, capped at the maximum
+     */
+    synchronized long percentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(highest(i), max);
+            }
+        }
+        return max;
+    }
+
+    private static int index(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int magnitude = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (magnitude - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (magnitude - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    private static long highest(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long sub = index % SUB_BUCKETS;
+        return ((SUB_BUCKETS + sub + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,296 @@
+package com.kafkadesk.core.service;
+
+import com.kafkadesk.core.cache.MetadataCacheManager;
+import com.kafkadesk.model.TopicInfo;
+import com.kafkadesk.utils.ThreadUtil;
+import org.apache.kafka.clients.admin.LogDirDescription;
+import org.apache.kafka.clients.admin.ReplicaInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodic log dir sampling for partition size and growth.
+ * Each sample is one describeLogDirs call across the cluster; the size of every partition and
+ * broker is kept in a {@link SizeHistory}, from which write rates, retention forecasts and skew
+ * per topic and per broker are computed on request.
+ */
+public class LogSizeSampler {
+    private static final Logger logger = LoggerFactory.getLogger(LogSizeSampler.class);
+    private static final long DEFAULT_INTERVAL_MS = 60_000;
+    // One hour at the default interval
+    private static final int HISTORY_SAMPLES = 60;
+    private static LogSizeSampler instance;
+
+    private final Map<String, ClusterSamples> clusters = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+
+    private LogSizeSampler() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(ThreadUtil.daemonThreadFactory("kafkadesk-size-sampler"));
+    }
+
+    public static synchronized LogSizeSampler getInstance() {
+        if (instance == null) {
+            instance = new LogSizeSampler();
+        }
+        return instance;
+    }
+
+    /**
+     * Sample the cluster now and then every minute, until stopped
+     */
+    public void start(String clusterId) {
+        start(clusterId, DEFAULT_INTERVAL_MS);
+    }
+
+    /**
+     * Sample the cluster now and then at the given interval; restarts sampling if it is running
+     */
+    public void start(String clusterId, long intervalMs) {
+        stop(clusterId);
+        ClusterSamples samples = new ClusterSamples(clusterId, intervalMs);
+        clusters.put(clusterId, samples);
+        samples.schedule(0);
+        logger.info("Started log size sampling for cluster {} every {} ms", clusterId, intervalMs);
+    }
+
+    /**
+     * Stop sampling and drop the cluster's history
+     */
+    public void stop(String clusterId) {
+        ClusterSamples samples = clusters.remove(clusterId);
+        if (samples != null) {
+            samples.close();
+        }
+    }
+
+    public boolean isSampling(String clusterId) {
+        return clusters.containsKey(clusterId);
+    }
+
+    /**
+     * Samples held for the cluster; rates need at least two
+     */
+    public int getSampleCount(String clusterId) {
+        ClusterSamples samples = clusters.get(clusterId);
+        return samples != null ? samples.partitions.size() : 0;
+    }
+
+    /**
+     * Per-topic size and growth, fastest growing first; empty if the cluster is not sampled
+     */
+    public List<TopicSizeStats> getTopicStats(String clusterId) {
+        ClusterSamples samples = clusters.get(clusterId);
+        if (samples == null) {
+            return new ArrayList<>();
+        }
+
+        Map<String, TopicTotals> totals = new HashMap<>();
+        // Under the sample lock, so a sample being recorded is never seen half written
+        synchronized (samples) {
+            samples.partitions.forEach((tp, size, rate) -> {
+                TopicTotals topic = totals.computeIfAbsent(tp.topic(), key -> new TopicTotals());
+                topic.partitions++;
+                topic.sizeBytes += size;
+                topic.bytesPerSecond += rate;
+                topic.largestPartitionBytes = Math.max(topic.largestPartitionBytes, size);
+            });
+        }
+
+        Map<String, TopicInfo> topics = new HashMap<>();
+        for (TopicInfo topic : MetadataCacheManager.getInstance().getCache(clusterId).getTopics()) {
+            topics.put(topic.getName(), topic);
+        }
+
+        List<TopicSizeStats> result = new ArrayList<>(totals.size());
+        totals.forEach((name, topic) -> {
+            TopicInfo info = topics.get(name);
+            result.add(new TopicSizeStats(name, topic.partitions, topic.sizeBytes, topic.bytesPerSecond,
+                    topic.largestPartitionBytes, info != null ? info.getRetentionMs() : -1,
+                    info != null ? info.getRetentionBytes() : -1));
+        });
+        result.sort(Comparator.comparingDouble(TopicSizeStats::getBytesPerSecond).reversed()
+                .thenComparing(TopicSizeStats::getTopic));
+        return result;
+    }
+
+    /**
+     * Per-broker size and growth, by broker ID; empty if the cluster is not sampled
+     */
+    public List<BrokerSizeStats> getBrokerStats(String clusterId) {
+        ClusterSamples samples = clusters.get(clusterId);
+        if (samples == null) {
+            return new ArrayList<>();
+        }
+
+        List<BrokerTotals> totals = new ArrayList<>();
+        synchronized (samples) {
+            samples.brokers.forEach((brokerId, size, rate) -> totals.add(new BrokerTotals(brokerId, size, rate)));
+        }
+        long total = 0;
+        for (BrokerTotals broker : totals) {
+            total += broker.sizeBytes;
+        }
+        double mean = totals.isEmpty() ? 0 : (double) total / totals.size();
+
+        Map<Integer, Long> usableBytes = samples.usableBytes;
+        List<BrokerSizeStats> result = new ArrayList<>(totals.size());
+        for (BrokerTotals broker : totals) {
+            result.add(new BrokerSizeStats(broker.brokerId, broker.sizeBytes, broker.bytesPerSecond,
+                    usableBytes.getOrDefault(broker.brokerId, -1L), mean > 0 ? broker.sizeBytes / mean : 1));
+        }
+        result.sort(Comparator.comparingInt(BrokerSizeStats::getBrokerId));
+        return result;
+    }
+
+    /**
+     * Take one sample of the cluster without blocking
+     */
+    public CompletableFuture<Void> sampleAsync(String clusterId) {
+        ClusterSamples samples = clusters.get(clusterId);
+        if (samples == null) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Cluster is not sampled: " + clusterId));
+        }
+        return samples.sample();
+    }
+
+    /**
+     * One cluster's sample history and schedule
+     */
+    private final class ClusterSamples {
+        private final String clusterId;
+        private final long intervalMs;
+        private final SizeHistory<TopicPartition> partitions = new SizeHistory<>(HISTORY_SAMPLES);
+        private final SizeHistory<Integer> brokers = new SizeHistory<>(HISTORY_SAMPLES);
+        private volatile Map<Integer, Long> usableBytes = new HashMap<>();
+        // Brokers holding each partition, and every broker seen, as of the last sample
+        private Map<TopicPartition, List<Integer>> replicaBrokers = new HashMap<>();
+        private Set<Integer> knownBrokers = new HashSet<>();
+        private ScheduledFuture<?> task;
+        private boolean closed;
+
+        ClusterSamples(String clusterId, long intervalMs) {
+            this.clusterId = clusterId;
+            this.intervalMs = intervalMs;
+        }
+
+        synchronized void schedule(long delayMs) {
+            if (!closed) {
+                task = scheduler.schedule(() -> sample().whenComplete((v, e) -> schedule(intervalMs)),
+                        delayMs, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        synchronized void close() {
+            closed = true;
+            if (task != null) {
+                task.cancel(false);
+            }
+        }
+
+        CompletableFuture<Void> sample() {
+            return BrokerService.getInstance().describeAsync(clusterId)
+                    .thenAccept(view -> record(view.logDirs))
+                    .exceptionally(e -> {
+                        logger.debug("Log size sample of cluster {} failed", clusterId, e);
+                        return null;
+                    });
+        }
+
+        /**
+         * Partition size is its largest replica; future replicas of a reassignment only
+         * count towards their broker. A broker whose log dirs could not be described is missing
+         * from the sample; its history and that of its partitions are kept rather than dropped.
+         */
+        private synchronized void record(Map<Integer, Map<String, LogDirDescription>> logDirs) {
+            if (closed) {
+                return;
+            }
+            long timestamp = System.currentTimeMillis();
+            Set<Integer> missing = new HashSet<>(knownBrokers);
+            missing.removeAll(logDirs.keySet());
+            Map<TopicPartition, List<Integer>> replicas = new HashMap<>();
+            Map<Integer, Long> usable = new HashMap<>();
+            partitions.begin(timestamp);
+            brokers.begin(timestamp);
+            logDirs.forEach((brokerId, dirs) -> {
+                long brokerBytes = 0;
+                long brokerUsable = 0;
+                for (LogDirDescription dir : dirs.values()) {
+                    for (Map.Entry<TopicPartition, ReplicaInfo> entry : dir.replicaInfos().entrySet()) {
+                        ReplicaInfo replica = entry.getValue();
+                        brokerBytes += replica.size();
+                        replicas.computeIfAbsent(entry.getKey(), key -> new ArrayList<>(3)).add(brokerId);
+                        if (!replica.isFuture()) {
+                            partitions.record(entry.getKey(), replica.size());
+                        }
+                    }
+                    long dirUsable = dir.usableBytes().orElse(-1);
+                    brokerUsable = brokerUsable < 0 || dirUsable < 0 ? -1 : brokerUsable + dirUsable;
+                }
+                brokers.record(brokerId, brokerBytes);
+                usable.put(brokerId, dirs.isEmpty() ? -1 : brokerUsable);
+            });
+            partitions.end(tp -> onMissingBroker(tp, missing));
+            brokers.end(missing::contains);
+            if (!missing.isEmpty()) {
+                replicaBrokers.forEach((tp, ids) -> {
+                    if (!replicas.containsKey(tp) && partitions.contains(tp)) {
+                        replicas.put(tp, ids);
+                    }
+                });
+            }
+            replicaBrokers = replicas;
+            knownBrokers = new HashSet<>(logDirs.keySet());
+            missing.removeIf(brokerId -> !brokers.contains(brokerId));
+            knownBrokers.addAll(missing);
+            usableBytes = usable;
+        }
+
+        private boolean onMissingBroker(TopicPartition tp, Set<Integer> missing) {
+            List<Integer> ids = replicaBrokers.get(tp);
+            if (ids == null) {
+                return false;
+            }
+            for (Integer id : ids) {
+                if (missing.contains(id)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static final class TopicTotals {
+        private int partitions;
+        private long sizeBytes;
+        private double bytesPerSecond;
+        private long largestPartitionBytes;
+    }
+
+    private static final class BrokerTotals {
+        private final int brokerId;
+        private final long sizeBytes;
+        private final double bytesPerSecond;
+
+        BrokerTotals(int brokerId, long sizeBytes, double bytesPerSecond) {
+            this.brokerId = brokerId;
+            this.sizeBytes = sizeBytes;
+            this.bytesPerSecond = bytesPerSecond;
+        }
+    }
+}
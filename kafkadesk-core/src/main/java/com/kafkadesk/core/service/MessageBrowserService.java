@@ -0,0 +1,85 @@
+package com.kafkadesk.core.service;
+
+import com.kafkadesk.core.config.ConfigManager;
+import com.kafkadesk.model.ClusterConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Live message browser engine.
+ * Each session tails a topic on its own poll thread and exposes the messages through a
+ * bounded ring buffer.
+ */
+public class MessageBrowserService {
+    private static final Logger logger = LoggerFactory.getLogger(MessageBrowserService.class);
+    private static MessageBrowserService instance;
+    private final Map<String, MessageBrowserSession> sessions = new ConcurrentHashMap<>();
+
+    private MessageBrowserService() {
+    }
+
+    public static synchronized MessageBrowserService getInstance() {
+        if (instance == null) {
+            instance = new MessageBrowserService();
+        }
+        return instance;
+    }
+
+    /**
+     * Start browsing a topic; returns null if the cluster is unknown
+     */
+    public MessageBrowserSession openSession(String clusterId, String topic, BrowseOptions options) {
+        ClusterConfig config = ConfigManager.getInstance().getClusterById(clusterId);
+        if (config == null) {
+            logger.error("Cluster not found: {}", clusterId);
+            return null;
+        }
+
+        String sessionId = UUID.randomUUID().toString();
+        MessageBrowserSession session = new MessageBrowserSession(sessionId, clusterId, config, topic,
+                options != null ? options : new BrowseOptions());
+        sessions.put(sessionId, session);
+        session.start();
+        return session;
+    }
+
+    public MessageBrowserSession getSession(String sessionId) {
+        return sessions.get(sessionId);
+    }
+
+    /**
+     * Stop a session and forget it
+     */
+    public void closeSession(String sessionId) {
+        MessageBrowserSession session = sessions.remove(sessionId);
+        if (session != null) {
+            session.stop();
+        }
+    }
+
+    /**
+     * Stop every session of a cluster
+     */
+    public void closeSessions(String clusterId) {
+        List<String> ids = new ArrayList<>();
+        sessions.forEach((id, session) -> {
+            if (session.getClusterId().equals(clusterId)) {
+                ids.add(id);
+            }
+        });
+        ids.forEach(this::closeSession);
+    }
+
+    /**
+     * Stop all sessions
+     */
+    public void closeAllSessions() {
+        new ArrayList<>(sessions.keySet()).forEach(this::closeSession);
+    }
+}
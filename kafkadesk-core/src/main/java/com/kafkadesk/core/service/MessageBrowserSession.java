@@ -0,0 +1,286 @@
+package com.kafkadesk.core.service;
+
+import com.kafkadesk.model.ClusterConfig;
+import com.kafkadesk.model.Message;
+import com.kafkadesk.utils.ThreadUtil;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * One live message browser session.
+ * A dedicated thread polls the topic and fills a bounded ring buffer; the reader drains
+ * it at its own pace. When the buffer is full the poll thread stops polling until there
+ * is room again, so memory stays bounded no matter how fast the topic is written.
+ */
+public class MessageBrowserSession {
+    private static final Logger logger = LoggerFactory.getLogger(MessageBrowserSession.class);
+    private static final long BACKPRESSURE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * Session lifecycle
+     */
+    public enum State {
+        STARTING,
+        RUNNING,
+        STOPPED,
+        FAILED
+    }
+
+    private final String id;
+    private final String clusterId;
+    private final String topic;
+    private final ClusterConfig clusterConfig;
+    private final BrowseOptions options;
+    private final MessageRingBuffer buffer;
+    private volatile State state = State.STARTING;
+    private volatile boolean running;
+    private volatile ConsumerHandle handle;
+    private KafkaConsumer<byte[], byte[]> consumer;
+    private volatile Exception error;
+    private volatile long consumedCount;
+    private volatile long backpressureNanos;
+    private Thread pollThread;
+
+    MessageBrowserSession(String id, String clusterId, ClusterConfig clusterConfig, String topic, BrowseOptions options) {
+        this.id = id;
+        this.clusterId = clusterId;
+        this.clusterConfig = clusterConfig;
+        this.topic = topic;
+        this.options = options;
+        this.buffer = new MessageRingBuffer(options.getBufferCapacity());
+    }
+
+    synchronized void start() {
+        if (pollThread != null) {
+            return;
+        }
+        running = true;
+        pollThread = ThreadUtil.newDaemonThread(this::pollLoop, "kafkadesk-browser-" + topic);
+        pollThread.start();
+    }
+
+    /**
+     * Stop polling and close the consumer. Returns immediately; the poll thread exits on its own.
+     */
+    public void stop() {
+        running = false;
+        ConsumerHandle current = handle;
+        if (current != null) {
+            current.consumer().wakeup();
+        }
+    }
+
+    /**
+     * Move up to {@code max} buffered messages into {@code target}.
+     * Must always be called from the same thread.
+     */
+    public int drainTo(Collection<? super Message> target, int max) {
+        return buffer.drainTo(target, max);
+    }
+
+    private void pollLoop() {
+        List<Message> pending = new ArrayList<>();
+        try {
+            handle = ConsumerService.getInstance().openSession(clusterConfig, null, options.toConsumerProperties(),
+                    "browser");
+            consumer = handle.consumer();
+            if (!running) {
+                return;
+            }
+            ConsumerService consumerService = ConsumerService.getInstance();
+            List<TopicPartition> partitions = resolvePartitions();
+            consumer.assign(partitions);
+            BrowseOptions.StartPosition startPosition = options.getStartPosition();
+            if (startPosition == BrowseOptions.StartPosition.TIMESTAMP && options.getStartTimestamp() == null) {
+                startPosition = BrowseOptions.StartPosition.EARLIEST;
+            }
+            switch (startPosition) {
+                case EARLIEST:
+                    consumer.seekToBeginning(partitions);
+                    break;
+                case TIMESTAMP:
+                    consumerService.seekToTimestamp(consumer, topic, options.getStartTimestamp());
+                    break;
+                default:
+                    consumer.seekToEnd(partitions);
+                    break;
+            }
+
+            // Time range: stop each partition at the first offset written at or after the end time
+            Map<TopicPartition, Long> endOffsets = options.getEndTimestamp() != null
+                    ? new HashMap<>(consumerService.offsetsForTimes(consumer, topic, options.getEndTimestamp()))
+                    : null;
+            state = State.RUNNING;
+            logger.info("Browser session {} started on {} ({} partitions)", id, topic, partitions.size());
+
+            Duration pollTimeout = Duration.ofMillis(options.getPollTimeoutMs());
+            boolean reachedEnd = false;
+            while (running && !handle.isExpired()) {
+                if (!pending.isEmpty()) {
+                    // Backpressure: do not fetch more until the reader has made room
+                    if (!offerPending(pending)) {
+                        long start = System.nanoTime();
+                        LockSupport.parkNanos(BACKPRESSURE_PARK_NANOS);
+                        backpressureNanos += System.nanoTime() - start;
+                        continue;
+                    }
+                }
+                if (reachedEnd) {
+                    break;
+                }
+
+                ConsumerRecords<byte[], byte[]> records = handle.poll(pollTimeout);
+                for (TopicPartition tp : records.partitions()) {
+                    Long end = endOffsets != null ? endOffsets.get(tp) : null;
+                    for (ConsumerRecord<byte[], byte[]> record : records.records(tp)) {
+                        if (end != null && record.offset() >= end) {
+                            break;
+                        }
+                        pending.add(consumerService.convertToMessage(record));
+                        consumedCount++;
+                    }
+                }
+                if (endOffsets != null) {
+                    reachedEnd = pauseFinished(endOffsets);
+                }
+            }
+            state = State.STOPPED;
+        } catch (WakeupException e) {
+            state = State.STOPPED;
+        } catch (Exception e) {
+            if (handle != null && handle.isExpired()) {
+                // Closed by the registry while nobody drained the buffer
+                state = State.STOPPED;
+                return;
+            }
+            logger.error("Browser session {} on {} failed", id, topic, e);
+            error = e;
+            state = State.FAILED;
+        } finally {
+            running = false;
+            ConsumerHandle current = handle;
+            if (current != null) {
+                current.close();
+            }
+            logger.info("Browser session {} on {} stopped after {} messages", id, topic, consumedCount);
+        }
+    }
+
+    /**
+     * Pause partitions that reached their end offset; returns true once all have
+     */
+    private boolean pauseFinished(Map<TopicPartition, Long> endOffsets) {
+        Iterator<Map.Entry<TopicPartition, Long>> it = endOffsets.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<TopicPartition, Long> entry = it.next();
+            if (consumer.position(entry.getKey()) >= entry.getValue()) {
+                consumer.pause(Collections.singleton(entry.getKey()));
+                it.remove();
+            }
+        }
+        return endOffsets.isEmpty();
+    }
+
+    /**
+     * Offer as many pending messages as fit; returns true once all were buffered
+     */
+    private boolean offerPending(List<Message> pending) {
+        int offered = 0;
+        while (offered < pending.size() && buffer.offer(pending.get(offered))) {
+            offered++;
+        }
+        if (offered == pending.size()) {
+            pending.clear();
+            return true;
+        }
+        pending.subList(0, offered).clear();
+        return false;
+    }
+
+    private List<TopicPartition> resolvePartitions() {
+        List<TopicPartition> partitions = new ArrayList<>();
+        if (options.getPartitions() != null) {
+            options.getPartitions().forEach(p -> partitions.add(new TopicPartition(topic, p)));
+            return partitions;
+        }
+        List<PartitionInfo> infos = consumer.partitionsFor(topic);
+        if (infos == null || infos.isEmpty()) {
+            throw new IllegalStateException("Topic not found: " + topic);
+        }
+        infos.forEach(info -> partitions.add(new TopicPartition(topic, info.partition())));
+        return partitions;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getClusterId() {
+        return clusterId;
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public BrowseOptions getOptions() {
+        return options;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Failure that ended the session, or null
+     */
+    public Exception getError() {
+        return error;
+    }
+
+    /**
+     * Messages fetched from Kafka so far
+     */
+    public long getConsumedCount() {
+        return consumedCount;
+    }
+
+    /**
+     * Messages waiting in the ring buffer
+     */
+    public int getBufferedCount() {
+        return buffer.size();
+    }
+
+    public int getBufferCapacity() {
+        return buffer.capacity();
+    }
+
+    /**
+     * Total time the poll thread spent waiting for buffer space
+     */
+    public long getBackpressureMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(backpressureNanos);
+    }
+}
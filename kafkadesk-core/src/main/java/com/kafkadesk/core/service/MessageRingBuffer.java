@@ -0,0 +1,68 @@
+package com.kafkadesk.core.service;
+
+import com.kafkadesk.model.Message;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded single-producer/single-consumer ring buffer of messages.
+ * The poll thread offers, one reader drains; neither side takes a lock.
+ */
+public class MessageRingBuffer {
+    private final Message[] slots;
+    private final int mask;
+    private final AtomicLong readIndex = new AtomicLong();
+    private final AtomicLong writeIndex = new AtomicLong();
+
+    /**
+     * @param capacity requested capacity, rounded up to a power of two
+     */
+    public MessageRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.slots = new Message[size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * Append a message; returns false if the buffer is full. Producer thread only.
+     */
+    public boolean offer(Message message) {
+        long write = writeIndex.get();
+        if (write - readIndex.get() >= slots.length) {
+            return false;
+        }
+        slots[(int) (write & mask)] = message;
+        writeIndex.lazySet(write + 1);
+        return true;
+    }
+
+    /**
+     * Move up to {@code max} messages into {@code target}; returns how many were moved.
+     * Reader thread only.
+     */
+    public int drainTo(Collection<? super Message> target, int max) {
+        long read = readIndex.get();
+        int count = (int) Math.min(max, writeIndex.get() - read);
+        for (int i = 0; i < count; i++) {
+            int slot = (int) ((read + i) & mask);
+            target.add(slots[slot]);
+            slots[slot] = null;
+        }
+        readIndex.lazySet(read + count);
+        return count;
+    }
+
+    public int size() {
+        long read = readIndex.get();
+        return (int) (writeIndex.get() - read);
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+}
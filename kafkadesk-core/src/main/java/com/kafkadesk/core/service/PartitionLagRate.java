@@ -0,0 +1,102 @@
+package com.kafkadesk.core.service;
+
+/**
+ * Lag of one partition read by a group, with its consume and produce rates
+ */
+public class PartitionLagRate {
+    private final String topic;
+    private final int partition;
+    private final long committedOffset;
+    private final long endOffset;
+    private final double consumeRate;
+    private final double produceRate;
+    private final boolean hasRate;
+    private final long stalledForMs;
+
+    PartitionLagRate(String topic, int partition, long committedOffset, long endOffset,
+                     double consumeRate, double produceRate, boolean hasRate, long stalledForMs) {
+        this.topic = topic;
+        this.partition = partition;
+        this.committedOffset = committedOffset;
+        this.endOffset = endOffset;
+        this.consumeRate = consumeRate;
+        this.produceRate = produceRate;
+        this.hasRate = hasRate;
+        this.stalledForMs = stalledForMs;
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public int getPartition() {
+        return partition;
+    }
+
+    public long getCommittedOffset() {
+        return committedOffset;
+    }
+
+    public long getEndOffset() {
+        return endOffset;
+    }
+
+    public long getLag() {
+        return Math.max(0, endOffset - committedOffset);
+    }
+
+    /**
+     * Messages committed per second, smoothed
+     */
+    public double getConsumeRate() {
+        return consumeRate;
+    }
+
+    /**
+     * Messages produced per second, smoothed
+     */
+    public double getProduceRate() {
+        return produceRate;
+    }
+
+    /**
+     * Whether two offset samples have been seen, so the rates mean something
+     */
+    public boolean hasRate() {
+        return hasRate;
+    }
+
+    /**
+     * Seconds until the lag reaches zero at the current rates: 0 if there is no lag,
+     * {@link LagRateTracker#FALLING_BEHIND} if messages arrive faster than they are consumed,
+     * {@link LagRateTracker#NO_ESTIMATE} before the first rate or while lag holds steady
+     */
+    public long getSecondsToZero() {
+        return LagRateTracker.secondsToZero(getLag(), consumeRate - produceRate, hasRate);
+    }
+
+    /**
+     * Whether the committed offset has not moved for the stall threshold while new messages arrived
+     */
+    public boolean isStalled() {
+        return stalledForMs > 0;
+    }
+
+    /**
+     * How long the partition has been stalled, or 0 if it is not
+     */
+    public long getStalledForMs() {
+        return stalledForMs;
+    }
+
+    @Override
+    public String toString() {
+        return "PartitionLagRate{" +
+                topic + "-" + partition +
+                ", lag=" + getLag() +
+                ", consumeRate=" + consumeRate +
+                ", produceRate=" + produceRate +
+                ", stalled=" + isStalled() +
+                '}';
+    }
+}
@@ -0,0 +1,156 @@
+package com.kafkadesk.core.service;
+
+import com.kafkadesk.core.config.ClientConfigFactory;
+import com.kafkadesk.model.ClusterConfig;
+import com.kafkadesk.utils.ThreadUtil;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Producers keyed by owner and {@link ProducerProfile}; the owner is the cluster ID of a
+ * configured cluster, or the bootstrap servers of one that is not configured.
+ * Producers are built from {@link ClientConfigFactory#producer} and the profile, reused across sends
+ * and closed after {@value #IDLE_TIMEOUT_MS} ms without a lease.
+ */
+class ProducerPool {
+    private static final Logger logger = LoggerFactory.getLogger(ProducerPool.class);
+    private static final long IDLE_TIMEOUT_MS = 5 * 60 * 1000;
+    private static final long EVICT_INTERVAL_MS = 30 * 1000;
+    private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(10);
+
+    private final Map<String, Entry> producers = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService evictor;
+
+    ProducerPool() {
+        evictor = Executors.newSingleThreadScheduledExecutor(ThreadUtil.daemonThreadFactory("kafkadesk-producer-evictor"));
+        evictor.scheduleWithFixedDelay(this::evictIdle, EVICT_INTERVAL_MS, EVICT_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrow the producer for a configured cluster and profile, creating it if needed.
+     * The producer is not evicted until the lease is returned with {@link #release}.
+     */
+    Entry acquire(ClusterConfig config, ProducerProfile profile) {
+        return acquire(config.getId(), config.getBootstrapServers(), profile, () -> ClientConfigFactory.producer(config));
+    }
+
+    /**
+     * Borrow the producer for bootstrap servers that belong to no configured cluster
+     */
+    Entry acquire(String bootstrapServers, ProducerProfile profile) {
+        return acquire(bootstrapServers, bootstrapServers, profile, () -> ClientConfigFactory.producer(bootstrapServers));
+    }
+
+    private Entry acquire(String owner, String bootstrapServers, ProducerProfile profile,
+                          Supplier<Properties> settings) {
+        return producers.compute(owner + "|" + profile.key(), (key, entry) -> {
+            if (entry == null) {
+                Properties props = settings.get();
+                props.putAll(profile.toProducerProperties());
+                entry = new Entry(key, owner, bootstrapServers, new KafkaProducer<>(props));
+                logger.info("Created producer {}", key);
+            }
+            entry.leases++;
+            entry.lastUsed = System.currentTimeMillis();
+            return entry;
+        });
+    }
+
+    void release(Entry entry) {
+        producers.computeIfPresent(entry.key, (key, current) -> {
+            if (current == entry) {
+                current.leases--;
+                current.lastUsed = System.currentTimeMillis();
+            }
+            return current;
+        });
+    }
+
+    /**
+     * Number of open producers
+     */
+    int size() {
+        return producers.size();
+    }
+
+    /**
+     * Close the producers of a cluster, by cluster ID or bootstrap servers
+     */
+    void close(String owner) {
+        closeIf(entry -> entry.owner.equals(owner) || entry.bootstrapServers.equals(owner));
+    }
+
+    void closeAll() {
+        closeIf(entry -> true);
+    }
+
+    void shutdown() {
+        evictor.shutdownNow();
+        closeAll();
+    }
+
+    private void evictIdle() {
+        long cutoff = System.currentTimeMillis() - IDLE_TIMEOUT_MS;
+        closeIf(entry -> entry.leases == 0 && entry.lastUsed < cutoff);
+    }
+
+    /**
+     * Remove matching entries atomically, then close them outside the map
+     */
+    private void closeIf(Predicate<Entry> predicate) {
+        List<Entry> removed = new ArrayList<>();
+        for (String key : producers.keySet()) {
+            producers.computeIfPresent(key, (k, entry) -> {
+                if (predicate.test(entry)) {
+                    removed.add(entry);
+                    return null;
+                }
+                return entry;
+            });
+        }
+        for (Entry entry : removed) {
+            try {
+                entry.producer.close(CLOSE_TIMEOUT);
+                logger.info("Producer closed for: {}", entry.key);
+            } catch (Exception e) {
+                logger.error("Error closing producer for: " + entry.key, e);
+            }
+        }
+    }
+
+    /**
+     * A pooled producer and its lease bookkeeping, guarded by the map entry
+     */
+    static final class Entry {
+        private final String key;
+        private final String owner;
+        private final String bootstrapServers;
+        private final KafkaProducer<byte[], byte[]> producer;
+        private int leases;
+        private long lastUsed;
+
+        private Entry(String key, String owner, String bootstrapServers, KafkaProducer<byte[], byte[]> producer) {
+            this.key = key;
+            this.owner = owner;
+            this.bootstrapServers = bootstrapServers;
+            this.producer = producer;
+        }
+
+        KafkaProducer<byte[], byte[]> producer() {
+            return producer;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.kafkadesk.core.service;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+
+import java.util.Properties;
+
+/**
+ * Producer tuning shared by every send that uses it.
+ * Sends with equal profiles on the same cluster share one pooled producer.
+ */
+public class ProducerProfile {
+    private String acks = "all";
+    private String compressionType = "none";
+    private int batchSize = 16 * 1024;
+    private int lingerMs = 1;
+    private boolean idempotence = true;
+
+    public ProducerProfile() {
+    }
+
+    /**
+     * Small batches sent right away: single messages from the UI
+     */
+    public static ProducerProfile latency() {
+        ProducerProfile profile = new ProducerProfile();
+        profile.setLingerMs(0);
+        return profile;
+    }
+
+    /**
+     * Large compressed batches: bulk sends and imports
+     */
+    public static ProducerProfile throughput() {
+        ProducerProfile profile = new ProducerProfile();
+        profile.setBatchSize(256 * 1024);
+        profile.setLingerMs(10);
+        profile.setCompressionType("lz4");
+        return profile;
+    }
+
+    public ProducerProfile copy() {
+        ProducerProfile profile = new ProducerProfile();
+        profile.acks = acks;
+        profile.compressionType = compressionType;
+        profile.batchSize = batchSize;
+        profile.lingerMs = lingerMs;
+        profile.idempotence = idempotence;
+        return profile;
+    }
+
+    /**
+     * 0, 1 or all
+     */
+    public String getAcks() {
+        return acks;
+    }
+
+    public void setAcks(String acks) {
+        this.acks = acks;
+    }
+
+    /**
+     * none, gzip, snappy, lz4 or zstd
+     */
+    public String getCompressionType() {
+        return compressionType;
+    }
+
+    public void setCompressionType(String compressionType) {
+        this.compressionType = compressionType;
+    }
+
+    /**
+     * Producer batch size in bytes
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getLingerMs() {
+        return lingerMs;
+    }
+
+    public void setLingerMs(int lingerMs) {
+        this.lingerMs = lingerMs;
+    }
+
+    /**
+     * Idempotent writes; only honoured with acks=all
+     */
+    public boolean isIdempotence() {
+        return idempotence;
+    }
+
+    public void setIdempotence(boolean idempotence) {
+        this.idempotence = idempotence;
+    }
+
+    /**
+     * Producer settings derived from this profile
+     */
+    Properties toProducerProperties() {
+        Properties props = new Properties();
+        props.put(ProducerConfig.ACKS_CONFIG, acks);
+        props.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        props.put(ProducerConfig.BATCH_SIZE_CONFIG, String.valueOf(batchSize));
+        props.put(ProducerConfig.LINGER_MS_CONFIG, String.valueOf(lingerMs));
+        // The producer rejects idempotence with acks other than all
+        boolean acksAll = "all".equals(acks) || "-1".equals(acks);
+        props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, String.valueOf(idempotence && acksAll));
+        return props;
+    }
+
+    /**
+     * Identity of the producer settings, used to share producers between sends
+     */
+    String key() {
+        return acks + "/" + compressionType + "/" + batchSize + "/" + lingerMs + "/" + idempotence;
+    }
+
+    @Override
+    public String toString() {
+        return "ProducerProfile{" + key() + '}';
+    }
+}
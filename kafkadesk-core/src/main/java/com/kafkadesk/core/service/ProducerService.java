@@ -1,32 +1,46 @@
 package com.kafkadesk.core.service;
 
+import com.kafkadesk.core.config.ConfigManager;
+import com.kafkadesk.model.ClusterConfig;
 import com.kafkadesk.model.Message;
+import com.kafkadesk.utils.ThreadUtil;
 import org.apache.kafka.clients.producer.Callback;
 import org.apache.kafka.clients.producer.KafkaProducer;
-import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.clients.producer.RecordMetadata;
 import org.apache.kafka.common.header.Header;
 import org.apache.kafka.common.header.internals.RecordHeader;
-import org.apache.kafka.common.serialization.StringSerializer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
-import java.util.Properties;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 /**
- * Message producer service
+ * Message producer service.
+ * Producers come from a pool keyed by cluster and {@link ProducerProfile}, so they carry the
+ * cluster's security and custom properties and are shared between sends with equal settings.
  */
 public class ProducerService {
     private static final Logger logger = LoggerFactory.getLogger(ProducerService.class);
     private static ProducerService instance;
-    private final Map<String, KafkaProducer<String, String>> producers = new ConcurrentHashMap<>();
+    private final ProducerPool pool = new ProducerPool();
+    // Hands records of async batches to the producer; threads exist only while a batch is sending
+    private final ExecutorService sendExecutor =
+            Executors.newCachedThreadPool(ThreadUtil.numberedDaemonThreadFactory("kafkadesk-producer-send"));
 
     private ProducerService() {
     }
@@ -39,45 +53,44 @@ public class ProducerService {
     }
 
     /**
-     * Get or create Producer
+     * Borrow a producer for a bootstrap server string: the configured cluster using those
+     * servers, so its security settings apply, or a producer for the bare servers
      */
-    private KafkaProducer<String, String> getProducer(String bootstrapServers) {
-        return producers.computeIfAbsent(bootstrapServers, servers -> {
-            Properties props = new Properties();
-            props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, servers);
-            props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class.getName());
-            props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class.getName());
-            props.put(ProducerConfig.ACKS_CONFIG, "all");
-            props.put(ProducerConfig.RETRIES_CONFIG, 3);
-            props.put(ProducerConfig.LINGER_MS_CONFIG, 1);
-
-            return new KafkaProducer<>(props);
-        });
+    private ProducerPool.Entry acquire(String bootstrapServers, ProducerProfile profile) {
+        for (ClusterConfig config : ConfigManager.getInstance().getClusters()) {
+            if (bootstrapServers.equals(config.getBootstrapServers())) {
+                return pool.acquire(config, profile);
+            }
+        }
+        return pool.acquire(bootstrapServers, profile);
     }
 
     /**
-     * Send message
+     * Build producer record from message
      */
-    public RecordMetadata sendMessage(String bootstrapServers, Message message) throws Exception {
-        KafkaProducer<String, String> producer = getProducer(bootstrapServers);
-
+    private ProducerRecord<byte[], byte[]> toRecord(Message message) {
         List<Header> headers = new ArrayList<>();
-        if (message.getHeaders() != null) {
-            message.getHeaders().forEach((key, value) -> 
-                headers.add(new RecordHeader(key, value.getBytes(StandardCharsets.UTF_8)))
-            );
-        }
+        message.getHeaderBytes().forEach((key, value) -> headers.add(new RecordHeader(key, value)));
 
-        ProducerRecord<String, String> record = new ProducerRecord<>(
+        // Raw bytes go out unchanged; string fields are sent as UTF-8
+        return new ProducerRecord<>(
                 message.getTopic(),
                 message.getPartition(),
-                message.getKey(),
-                message.getValue(),
+                message.getKeyBytes(),
+                message.getValueBytes(),
                 headers
         );
+    }
+
+    /**
+     * Send message; single messages use the latency profile so they go out without linger
+     */
+    public RecordMetadata sendMessage(String bootstrapServers, Message message) throws Exception {
+        ProducerRecord<byte[], byte[]> record = toRecord(message);
 
+        ProducerPool.Entry lease = acquire(bootstrapServers, ProducerProfile.latency());
         try {
-            Future<RecordMetadata> future = producer.send(record);
+            Future<RecordMetadata> future = lease.producer().send(record);
             RecordMetadata metadata = future.get();
             logger.info("Message sent successfully to topic: {}, partition: {}, offset: {}", 
                     metadata.topic(), metadata.partition(), metadata.offset());
@@ -85,6 +98,8 @@ public class ProducerService {
         } catch (Exception e) {
             logger.error("Failed to send message", e);
             throw e;
+        } finally {
+            pool.release(lease);
         }
     }
 
@@ -92,64 +107,303 @@ public class ProducerService {
      * Send message（With callback）
      */
     public void sendMessage(String bootstrapServers, Message message, Callback callback) {
-        KafkaProducer<String, String> producer = getProducer(bootstrapServers);
+        ProducerPool.Entry lease = acquire(bootstrapServers, ProducerProfile.latency());
+        try {
+            lease.producer().send(toRecord(message), callback);
+        } finally {
+            // Closing an evicted producer still completes the records it holds
+            pool.release(lease);
+        }
+    }
 
-        List<Header> headers = new ArrayList<>();
-        if (message.getHeaders() != null) {
-            message.getHeaders().forEach((key, value) -> 
-                headers.add(new RecordHeader(key, value.getBytes(StandardCharsets.UTF_8)))
-            );
+    /**
+     * Send a message to a configured cluster with the given producer profile.
+     * The future completes on the producer's I/O thread.
+     */
+    public CompletableFuture<RecordMetadata> send(String clusterId, Message message, ProducerProfile profile) {
+        ClusterConfig config = ConfigManager.getInstance().getClusterById(clusterId);
+        if (config == null) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Cluster not found: " + clusterId));
+        }
+        CompletableFuture<RecordMetadata> result = new CompletableFuture<>();
+        ProducerPool.Entry lease = pool.acquire(config, profile);
+        try {
+            lease.producer().send(toRecord(message), (metadata, exception) -> {
+                if (exception != null) {
+                    result.completeExceptionally(exception);
+                } else {
+                    result.complete(metadata);
+                }
+            });
+        } catch (Exception e) {
+            result.completeExceptionally(e);
+        } finally {
+            pool.release(lease);
         }
+        return result;
+    }
 
-        ProducerRecord<String, String> record = new ProducerRecord<>(
-                message.getTopic(),
-                message.getPartition(),
-                message.getKey(),
-                message.getValue(),
-                headers
-        );
+    /**
+     * Send messages pipelined to a configured cluster, see {@link #sendMessagesAsync}
+     */
+    public CompletableFuture<BatchSendResult> sendBatch(String clusterId, List<Message> messages, SendOptions options) {
+        ClusterConfig config = ConfigManager.getInstance().getClusterById(clusterId);
+        if (config == null) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Cluster not found: " + clusterId));
+        }
+        return new AsyncPipeline(() -> pool.acquire(config, options.getProfile()), messages, options).start();
+    }
 
-        producer.send(record, callback);
+    /**
+     * Send messages pipelined.
+     * Records are handed to the producer without waiting for acknowledgements, up to
+     * {@link SendOptions#getMaxInFlight()} unacknowledged records at a time, so batching,
+     * linger and compression take effect. Completes when every record is acknowledged or failed.
+     * No thread waits for acknowledgements: each time the window has room, the next records are
+     * handed over on the send executor.
+     */
+    public CompletableFuture<BatchSendResult> sendMessagesAsync(String bootstrapServers, List<Message> messages,
+                                                                SendOptions options) {
+        return new AsyncPipeline(() -> acquire(bootstrapServers, options.getProfile()), messages, options).start();
     }
 
     /**
-     * 批量Send message
+     * Send a stream of messages pipelined on the calling thread, keeping only the aggregate result.
+     * The iterator is advanced only when the in-flight window has room, which throttles the source.
      */
-    public List<RecordMetadata> sendMessages(String bootstrapServers, List<Message> messages) throws Exception {
-        List<RecordMetadata> metadataList = new ArrayList<>();
-        for (Message message : messages) {
-            RecordMetadata metadata = sendMessage(bootstrapServers, message);
-            metadataList.add(metadata);
+    BatchSendResult sendStream(String bootstrapServers, Iterator<Message> messages, SendOptions options) {
+        ProducerPool.Entry lease = acquire(bootstrapServers, options.getProfile());
+        try {
+            return pipeline(lease.producer(), messages, options);
+        } finally {
+            pool.release(lease);
         }
-        return metadataList;
     }
 
     /**
-     * Close producer
+     * Send records keeping at most maxInFlight unacknowledged; blocks until all are acknowledged
      */
-    public void closeProducer(String bootstrapServers) {
-        KafkaProducer<String, String> producer = producers.remove(bootstrapServers);
-        if (producer != null) {
+    private BatchSendResult pipeline(KafkaProducer<byte[], byte[]> producer, Iterator<Message> messages,
+                                     SendOptions options) {
+        int maxInFlight = Math.max(1, options.getMaxInFlight());
+        Semaphore window = new Semaphore(maxInFlight);
+        Tally tally = new Tally(null);
+
+        int index = 0;
+        while (messages.hasNext()) {
+            Message message = messages.next();
+            try {
+                window.acquire();
+            } catch (InterruptedException e) {
+                logger.warn("Batch send interrupted after {} records", index);
+                Thread.currentThread().interrupt();
+                break;
+            }
+
+            int i = index++;
+            long sendStart = System.nanoTime();
             try {
-                producer.close();
-                logger.info("Producer closed for: {}", bootstrapServers);
+                producer.send(toRecord(message), (metadata, exception) -> {
+                    tally.onAck(i, message, sendStart, metadata, exception);
+                    window.release();
+                });
             } catch (Exception e) {
-                logger.error("Error closing producer", e);
+                tally.onError(i, message, e);
+                window.release();
             }
         }
+
+        // Wait for every outstanding acknowledgement
+        window.acquireUninterruptibly(maxInFlight);
+        window.release(maxInFlight);
+        return tally.finish(index);
     }
 
     /**
-     * Close all producers
+     * A list of messages sent without blocking a thread.
+     * pump() hands records over until the window is full and then returns; acknowledgements
+     * reopen the window and schedule the next pump, at most one at a time.
      */
-    public void closeAllProducers() {
-        producers.forEach((servers, producer) -> {
+    private final class AsyncPipeline {
+        private final Supplier<ProducerPool.Entry> producer;
+        private final List<Message> messages;
+        private final SendOptions options;
+        private final int maxInFlight;
+        private final Tally tally;
+        private final CompletableFuture<BatchSendResult> result = new CompletableFuture<>();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicBoolean pumping = new AtomicBoolean();
+        private final AtomicBoolean finished = new AtomicBoolean();
+        private volatile ProducerPool.Entry lease;
+        // Only written by the pump, which never runs twice at once
+        private volatile int next;
+
+        AsyncPipeline(Supplier<ProducerPool.Entry> producer, List<Message> messages, SendOptions options) {
+            this.producer = producer;
+            this.messages = messages;
+            this.options = options;
+            this.maxInFlight = Math.max(1, options.getMaxInFlight());
+            this.tally = new Tally(new SendResult[messages.size()]);
+        }
+
+        CompletableFuture<BatchSendResult> start() {
+            schedule();
+            return result;
+        }
+
+        private boolean hasMore() {
+            // A cancelled result stops sending; records already handed over still complete
+            return next < messages.size() && !result.isDone();
+        }
+
+        private void schedule() {
+            if (!pumping.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                sendExecutor.execute(this::pump);
+            } catch (RejectedExecutionException e) {
+                pumping.set(false);
+                result.completeExceptionally(e);
+                finishIfIdle();
+            }
+        }
+
+        private void pump() {
             try {
-                producer.close();
+                if (lease == null) {
+                    lease = producer.get();
+                }
+                while (hasMore() && inFlight.get() < maxInFlight) {
+                    int i = next++;
+                    Message message = messages.get(i);
+                    inFlight.incrementAndGet();
+                    long sendStart = System.nanoTime();
+                    try {
+                        lease.producer().send(toRecord(message), (metadata, exception) -> {
+                            tally.onAck(i, message, sendStart, metadata, exception);
+                            inFlight.decrementAndGet();
+                            resume();
+                        });
+                    } catch (Exception e) {
+                        tally.onError(i, message, e);
+                        inFlight.decrementAndGet();
+                    }
+                }
             } catch (Exception e) {
-                logger.error("Error closing producer for: " + servers, e);
+                logger.error("Failed to send messages", e);
+                result.completeExceptionally(e);
+            } finally {
+                pumping.set(false);
+            }
+            // An acknowledgement may have made room while this pump was finishing
+            resume();
+        }
+
+        private void resume() {
+            if (hasMore()) {
+                if (inFlight.get() < maxInFlight) {
+                    schedule();
+                }
+            } else {
+                finishIfIdle();
+            }
+        }
+
+        private void finishIfIdle() {
+            if (inFlight.get() > 0 || pumping.get() || !finished.compareAndSet(false, true)) {
+                return;
+            }
+            if (lease != null) {
+                pool.release(lease);
+            }
+            result.complete(tally.finish(next));
+        }
+    }
+
+    /**
+     * Counts acknowledgements of a batch and builds its result
+     */
+    private static final class Tally {
+        private final SendResult[] results;
+        private final AtomicLong sent = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong bytes = new AtomicLong();
+        private final LatencyHistogram latencies = new LatencyHistogram();
+        private final long start = System.nanoTime();
+
+        /**
+         * @param results receives the result of record i at index i; null to keep only the aggregate
+         */
+        Tally(SendResult[] results) {
+            this.results = results;
+        }
+
+        void onAck(int i, Message message, long sendStart, RecordMetadata metadata, Exception exception) {
+            long latencyMicros = (System.nanoTime() - sendStart) / 1000;
+            if (exception == null) {
+                sent.incrementAndGet();
+                bytes.addAndGet(Math.max(0, metadata.serializedKeySize())
+                        + Math.max(0, metadata.serializedValueSize()));
+                latencies.record(latencyMicros);
+                if (results != null) {
+                    results[i] = new SendResult(i, metadata.topic(), metadata.partition(),
+                            metadata.offset(), latencyMicros, null);
+                }
+            } else {
+                failed.incrementAndGet();
+                if (results != null) {
+                    results[i] = new SendResult(i, message.getTopic(), -1, -1, latencyMicros, exception);
+                }
+            }
+        }
+
+        void onError(int i, Message message, Exception e) {
+            failed.incrementAndGet();
+            if (results != null) {
+                results[i] = new SendResult(i, message.getTopic(), -1, -1, 0, e);
             }
-        });
-        producers.clear();
+        }
+
+        /**
+         * @param count number of records handed to the producer
+         */
+        BatchSendResult finish(int count) {
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+            List<SendResult> resultList = results != null
+                    ? Arrays.asList(results).subList(0, count) : Collections.emptyList();
+            BatchSendResult result = new BatchSendResult(resultList, sent.get(), failed.get(), bytes.get(),
+                    elapsedMs, latencies.snapshot());
+            logger.info("Batch send finished: {}", result);
+            return result;
+        }
+    }
+
+    /**
+     * Close producer
+     */
+    public void closeProducer(String bootstrapServers) {
+        pool.close(bootstrapServers);
+    }
+
+    /**
+     * Close the pooled producers of a cluster
+     */
+    public void closeProducers(String clusterId) {
+        pool.close(clusterId);
+    }
+
+    /**
+     * Number of pooled producers currently open
+     */
+    public int getOpenProducerCount() {
+        return pool.size();
+    }
+
+    /**
+     * Close all producers
+     */
+    public void closeAllProducers() {
+        pool.closeAll();
     }
 }
@@ -0,0 +1,321 @@
+package com.kafkadesk.core.service;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Encodes consumed records straight from their bytes into an export buffer.
+ * Keys and values are never decoded to strings: JSON escaping works on the UTF-8 bytes. A key,
+ * value or header value that is not well-formed UTF-8 (RFC 3629) is written as base64 instead,
+ * so binary data survives a round trip. Not thread-safe; one encoder per export.
+ */
+class RecordEncoder {
+    private static final int MAX_CACHED_HEADER_KEYS = 1024;
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] KEY_FIELD = ",\"key\":".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] KEY_BASE64_FIELD = ",\"keyBase64\":".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] VALUE_FIELD = ",\"value\":".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] VALUE_BASE64_FIELD = ",\"valueBase64\":".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] BASE64_OBJECT = "{\"base64\":".getBytes(StandardCharsets.US_ASCII);
+    // 最坏情况: 每个字节转义为六个字符
+    private static final int MAX_ESCAPE = 6;
+
+    private final RecordFileFormat format;
+    private final byte[] topicPrefix;
+    private final byte[] digits = new byte[20];
+    private final Map<String, byte[]> headerKeys = new HashMap<>();
+
+    RecordEncoder(RecordFileFormat format, String topic) {
+        this.format = format;
+        ByteBuffer prefix = ByteBuffer.allocate(16 + MAX_ESCAPE * topic.length() * 3);
+        prefix.put("{\"topic\":".getBytes(StandardCharsets.US_ASCII));
+        putJsonString(prefix, topic.getBytes(StandardCharsets.UTF_8));
+        prefix.put((byte) ',');
+        this.topicPrefix = new byte[prefix.position()];
+        prefix.flip().get(topicPrefix);
+    }
+
+    /**
+     * Bytes written once at the start of the file
+     */
+    void encodeFileHeader(ByteBuffer out) {
+        if (format == RecordFileFormat.DUMP) {
+            out.putInt(RecordFileReader.DUMP_MAGIC);
+            out.putInt(RecordFileReader.DUMP_VERSION);
+        }
+    }
+
+    /**
+     * Upper bound of the encoded size of a record
+     */
+    int maxSize(ConsumerRecord<byte[], byte[]> record) {
+        int key = length(record.key());
+        int value = length(record.value());
+        switch (format) {
+            case RAW:
+                return 4 + value;
+            case JSONL: {
+                int size = topicPrefix.length + 128 + MAX_ESCAPE * (key + value);
+                for (Header header : record.headers()) {
+                    size += 24 + MAX_ESCAPE * (headerKey(header.key()).length + length(header.value()));
+                }
+                return size;
+            }
+            case DUMP:
+            default: {
+                int size = 4 + 8 + 8 + 4 + key + 4 + value + 4;
+                for (Header header : record.headers()) {
+                    size += 4 + headerKey(header.key()).length + 4 + length(header.value());
+                }
+                return size;
+            }
+        }
+    }
+
+    /**
+     * Encode a record; the buffer must have {@link #maxSize} bytes remaining
+     */
+    void encode(ConsumerRecord<byte[], byte[]> record, ByteBuffer out) {
+        switch (format) {
+            case RAW:
+                // Length-prefixed, since values may contain any byte
+                putLengthPrefixed(out, record.value());
+                break;
+            case JSONL:
+                encodeJson(record, out);
+                break;
+            case DUMP:
+            default:
+                encodeDump(record, out);
+                break;
+        }
+    }
+
+    private void encodeDump(ConsumerRecord<byte[], byte[]> record, ByteBuffer out) {
+        out.putInt(record.partition());
+        out.putLong(record.offset());
+        out.putLong(record.timestamp());
+        putLengthPrefixed(out, record.key());
+        putLengthPrefixed(out, record.value());
+        int countPosition = out.position();
+        out.putInt(0);
+        int count = 0;
+        for (Header header : record.headers()) {
+            putLengthPrefixed(out, headerKey(header.key()));
+            putLengthPrefixed(out, header.value());
+            count++;
+        }
+        out.putInt(countPosition, count);
+    }
+
+    private static void putLengthPrefixed(ByteBuffer out, byte[] bytes) {
+        if (bytes == null) {
+            out.putInt(-1);
+        } else {
+            out.putInt(bytes.length);
+            out.put(bytes);
+        }
+    }
+
+    private void encodeJson(ConsumerRecord<byte[], byte[]> record, ByteBuffer out) {
+        out.put(topicPrefix);
+        putAscii(out, "\"partition\":");
+        putLong(out, record.partition());
+        putAscii(out, ",\"offset\":");
+        putLong(out, record.offset());
+        putAscii(out, ",\"timestamp\":");
+        putLong(out, record.timestamp());
+        putJsonField(out, KEY_FIELD, KEY_BASE64_FIELD, record.key());
+        putJsonField(out, VALUE_FIELD, VALUE_BASE64_FIELD, record.value());
+        boolean first = true;
+        for (Header header : record.headers()) {
+            putAscii(out, first ? ",\"headers\":{" : ",");
+            first = false;
+            putJsonString(out, headerKey(header.key()));
+            out.put((byte) ':');
+            int start = out.position();
+            if (!putJsonString(out, header.value())) {
+                out.position(start);
+                out.put(BASE64_OBJECT);
+                putBase64(out, header.value());
+                out.put((byte) '}');
+            }
+        }
+        if (!first) {
+            out.put((byte) '}');
+        }
+        out.put((byte) '}');
+        out.put((byte) '\n');
+    }
+
+    /**
+     * Write a key or value field: the bytes as a JSON string if they are UTF-8, otherwise as base64
+     * under the base64 field name
+     */
+    private static void putJsonField(ByteBuffer out, byte[] name, byte[] base64Name, byte[] bytes) {
+        int start = out.position();
+        out.put(name);
+        if (!putJsonString(out, bytes)) {
+            out.position(start);
+            out.put(base64Name);
+            putBase64(out, bytes);
+        }
+    }
+
+    private static void putBase64(ByteBuffer out, byte[] bytes) {
+        out.put((byte) '"');
+        out.put(Base64.getEncoder().encode(bytes));
+        out.put((byte) '"');
+    }
+
+    /**
+     * Write bytes as a JSON string, copying runs that need no escaping in one go.
+     *
+     * @return false if the bytes are not well-formed UTF-8; the buffer then holds a partial string
+     */
+    static boolean putJsonString(ByteBuffer out, byte[] bytes) {
+        if (bytes == null) {
+            out.put(NULL);
+            return true;
+        }
+        out.put((byte) '"');
+        int run = 0;
+        int i = 0;
+        while (i < bytes.length) {
+            int b = bytes[i] & 0xFF;
+            if (b >= 0x20 && b < 0x80 && b != '"' && b != '\\') {
+                i++;
+                continue;
+            }
+            if (b >= 0x80) {
+                int length = utf8Length(bytes, i);
+                if (length == 0) {
+                    return false;
+                }
+                i += length;
+                continue;
+            }
+            out.put(bytes, run, i - run);
+            escape(out, b);
+            run = ++i;
+        }
+        out.put(bytes, run, bytes.length - run);
+        out.put((byte) '"');
+        return true;
+    }
+
+    private static void escape(ByteBuffer out, int b) {
+        switch (b) {
+            case '"':
+            case '\\':
+                out.put((byte) '\\').put((byte) b);
+                break;
+            case '\n':
+                out.put((byte) '\\').put((byte) 'n');
+                break;
+            case '\r':
+                out.put((byte) '\\').put((byte) 'r');
+                break;
+            case '\t':
+                out.put((byte) '\\').put((byte) 't');
+                break;
+            default:
+                out.put((byte) '\\').put((byte) 'u').put((byte) '0').put((byte) '0')
+                        .put(HEX[b >> 4]).put(HEX[b & 0xF]);
+                break;
+        }
+    }
+
+    /**
+     * Length of the well-formed UTF-8 sequence starting at i, or 0 if it is malformed.
+     * Follows RFC 3629: the second byte's range depends on the lead byte, which rules out
+     * overlong forms (E0 80.., F0 80..), UTF-16 surrogates (ED A0..) and code points past U+10FFFF.
+     */
+    static int utf8Length(byte[] bytes, int i) {
+        int b = bytes[i] & 0xFF;
+        int length;
+        int secondMin = 0x80;
+        int secondMax = 0xBF;
+        if (b >= 0xC2 && b <= 0xDF) {
+            length = 2;
+        } else if (b >= 0xE0 && b <= 0xEF) {
+            length = 3;
+            if (b == 0xE0) {
+                secondMin = 0xA0;
+            } else if (b == 0xED) {
+                secondMax = 0x9F;
+            }
+        } else if (b >= 0xF0 && b <= 0xF4) {
+            length = 4;
+            if (b == 0xF0) {
+                secondMin = 0x90;
+            } else if (b == 0xF4) {
+                secondMax = 0x8F;
+            }
+        } else {
+            return 0;
+        }
+        if (i + length > bytes.length) {
+            return 0;
+        }
+        int second = bytes[i + 1] & 0xFF;
+        if (second < secondMin || second > secondMax) {
+            return 0;
+        }
+        for (int k = 2; k < length; k++) {
+            if ((bytes[i + k] & 0xC0) != 0x80) {
+                return 0;
+            }
+        }
+        return length;
+    }
+
+    private static void putAscii(ByteBuffer out, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            out.put((byte) text.charAt(i));
+        }
+    }
+
+    private void putLong(ByteBuffer out, long value) {
+        if (value < 0) {
+            out.put((byte) '-');
+            if (value == Long.MIN_VALUE) {
+                putAscii(out, "9223372036854775808");
+                return;
+            }
+            value = -value;
+        }
+        int position = digits.length;
+        do {
+            digits[--position] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        out.put(digits, position, digits.length - position);
+    }
+
+    /**
+     * UTF-8 bytes of a header key; header keys repeat across records, so they are cached
+     */
+    private byte[] headerKey(String key) {
+        byte[] bytes = headerKeys.get(key);
+        if (bytes == null) {
+            if (headerKeys.size() >= MAX_CACHED_HEADER_KEYS) {
+                headerKeys.clear();
+            }
+            bytes = key.getBytes(StandardCharsets.UTF_8);
+            headerKeys.put(key, bytes);
+        }
+        return bytes;
+    }
+
+    private static int length(byte[] bytes) {
+        return bytes != null ? bytes.length : 0;
+    }
+}
@@ -0,0 +1,34 @@
+package com.kafkadesk.core.service;
+
+/**
+ * File formats for bulk import and export of records
+ */
+public enum RecordFileFormat {
+    /**
+     * One JSON object per line: {"key", "value", "headers", "partition", "timestamp", "topic"};
+     * keys and values that are not UTF-8 go in "keyBase64"/"valueBase64", header values as {"base64"}
+     */
+    JSONL("jsonl"),
+    /**
+     * key,value[,partition] per line, RFC 4180 quoting; an optional "key,value" header line
+     */
+    CSV("csv"),
+    /**
+     * Binary length-prefixed records, see {@link RecordFileReader}
+     */
+    DUMP("kdump"),
+    /**
+     * Record values only, each as an int length (-1 for null) followed by the bytes
+     */
+    RAW("raw");
+
+    private final String extension;
+
+    RecordFileFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
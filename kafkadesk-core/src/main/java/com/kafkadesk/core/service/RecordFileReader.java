@@ -0,0 +1,431 @@
+package com.kafkadesk.core.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kafkadesk.model.Message;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Streaming reader of record files.
+ * The file is memory-mapped in windows of {@value #WINDOW_SIZE} bytes, so files of any
+ * size are read without loading them into memory; records are parsed one at a time as the
+ * iterator is advanced.
+ * <p>
+ * Dump format (big-endian): the magic {@code KDMP} and a version int, then per record
+ * partition (int), offset (long), timestamp (long), key, value, header count (int) and
+ * that many header key/value pairs. Keys, values and header fields are an int length
+ * (-1 for null) followed by the bytes. Raw files hold only values, each length-prefixed the
+ * same way.
+ */
+public class RecordFileReader implements Iterator<Message>, Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(RecordFileReader.class);
+    static final int DUMP_MAGIC = 0x4B444D50; // "KDMP"
+    static final int DUMP_VERSION = 1;
+    private static final int WINDOW_SIZE = 64 * 1024 * 1024;
+    private static final int MAX_LOGGED_ERRORS = 10;
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private final FileChannel channel;
+    private final RecordFileFormat format;
+    private final long fileSize;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private Message next;
+    private boolean finished;
+    private boolean started;
+    // Progress, read from other threads
+    private volatile long bytesRead;
+    private volatile long recordsRead;
+    private volatile long parseErrors;
+
+    public RecordFileReader(Path file, RecordFileFormat format) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.format = format;
+        this.fileSize = channel.size();
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !finished) {
+            try {
+                next = readNext();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            finished = next == null;
+        }
+        return next != null;
+    }
+
+    @Override
+    public Message next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Message message = next;
+        next = null;
+        recordsRead++;
+        bytesRead = position();
+        return message;
+    }
+
+    /**
+     * Bytes consumed up to the last returned record
+     */
+    public long getPosition() {
+        return bytesRead;
+    }
+
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    public long getRecordsRead() {
+        return recordsRead;
+    }
+
+    /**
+     * Lines or records that could not be parsed and were skipped
+     */
+    public long getParseErrors() {
+        return parseErrors;
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+
+    private Message readNext() throws IOException {
+        switch (format) {
+            case DUMP:
+                return readDumpRecord();
+            case RAW:
+                return readRawRecord();
+            case CSV:
+            case JSONL:
+            default:
+                byte[] line;
+                while ((line = readLine()) != null) {
+                    if (line.length == 0) {
+                        continue;
+                    }
+                    boolean first = !started;
+                    started = true;
+                    try {
+                        Message message = format == RecordFileFormat.CSV ? parseCsv(line, first) : parseJson(line);
+                        if (message != null) {
+                            return message;
+                        }
+                    } catch (Exception e) {
+                        parseError("Skipping unparsable line at byte " + position(), e);
+                    }
+                }
+                return null;
+        }
+    }
+
+    // Line formats
+
+    private Message parseJson(byte[] line) throws IOException {
+        JsonNode node = mapper.readTree(line);
+        if (node == null || !node.isObject()) {
+            throw new IOException("Not a JSON object");
+        }
+        Message message = new Message();
+        message.setTopic(text(node.get("topic")));
+        // Keys and values that are not UTF-8 are exported as base64
+        if (node.hasNonNull("keyBase64")) {
+            message.setKeyBytes(Base64.getDecoder().decode(node.get("keyBase64").asText()));
+        } else {
+            message.setKey(text(node.get("key")));
+        }
+        if (node.hasNonNull("valueBase64")) {
+            message.setValueBytes(Base64.getDecoder().decode(node.get("valueBase64").asText()));
+        } else {
+            message.setValue(text(node.get("value")));
+        }
+        if (node.hasNonNull("partition")) {
+            message.setPartition(node.get("partition").asInt());
+        }
+        if (node.hasNonNull("timestamp")) {
+            message.setTimestamp(node.get("timestamp").asLong());
+        }
+        JsonNode headers = node.get("headers");
+        if (headers != null && headers.isObject()) {
+            Map<String, String> headerMap = new LinkedHashMap<>();
+            boolean binary = false;
+            for (Iterator<Map.Entry<String, JsonNode>> it = headers.fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> entry = it.next();
+                headerMap.put(entry.getKey(), text(entry.getValue()));
+                binary |= isBase64Header(entry.getValue());
+            }
+            if (binary) {
+                setRawHeaders(message, headers);
+            } else {
+                message.setHeaders(headerMap);
+            }
+        }
+        return message;
+    }
+
+    /**
+     * A header value that is not UTF-8 is exported as {"base64": "..."}
+     */
+    private static boolean isBase64Header(JsonNode value) {
+        return value != null && value.isObject() && value.size() == 1 && value.hasNonNull("base64");
+    }
+
+    private static void setRawHeaders(Message message, JsonNode headers) {
+        String[] keys = new String[headers.size()];
+        byte[][] values = new byte[headers.size()][];
+        int i = 0;
+        for (Iterator<Map.Entry<String, JsonNode>> it = headers.fields(); it.hasNext(); i++) {
+            Map.Entry<String, JsonNode> entry = it.next();
+            keys[i] = entry.getKey();
+            if (isBase64Header(entry.getValue())) {
+                values[i] = Base64.getDecoder().decode(entry.getValue().get("base64").asText());
+            } else {
+                String text = text(entry.getValue());
+                values[i] = text != null ? text.getBytes(StandardCharsets.UTF_8) : null;
+            }
+        }
+        message.setRawHeaders(keys, values);
+    }
+
+    /**
+     * Strings as-is; nested JSON values as their JSON text
+     */
+    private static String text(JsonNode node) {
+        if (node == null || node.isNull()) {
+            return null;
+        }
+        return node.isValueNode() ? node.asText() : node.toString();
+    }
+
+    private Message parseCsv(byte[] line, boolean first) throws IOException {
+        List<String> fields = parseCsvLine(new String(line, StandardCharsets.UTF_8));
+        if (first && fields.size() >= 2 && "key".equalsIgnoreCase(fields.get(0)) && "value".equalsIgnoreCase(fields.get(1))) {
+            return null; // header line
+        }
+        if (fields.size() < 2) {
+            throw new IOException("Expected key,value[,partition]");
+        }
+        Message message = new Message();
+        message.setKey(fields.get(0).isEmpty() ? null : fields.get(0));
+        message.setValue(fields.get(1));
+        if (fields.size() > 2 && !fields.get(2).isEmpty()) {
+            message.setPartition(Integer.parseInt(fields.get(2).trim()));
+        }
+        return message;
+    }
+
+    /**
+     * Split one CSV line; quoted fields may contain commas and doubled quotes
+     */
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Next line without its terminator, or null at end of file
+     */
+    private byte[] readLine() throws IOException {
+        while (true) {
+            if ((window == null || !window.hasRemaining()) && !ensure(1)) {
+                return null;
+            }
+            int start = window.position();
+            int limit = window.limit();
+            for (int i = start; i < limit; i++) {
+                if (window.get(i) == '\n') {
+                    byte[] line = new byte[i - start];
+                    window.get(line);
+                    window.get(); // '\n'
+                    return stripCarriageReturn(line);
+                }
+            }
+            if (windowStart + limit >= fileSize) {
+                // Last line without terminator
+                byte[] line = new byte[limit - start];
+                window.get(line);
+                return stripCarriageReturn(line);
+            }
+            // The line continues past the window: map again from the line start, twice as large if needed
+            int lineSoFar = limit - start;
+            remap(windowStart + start, lineSoFar < WINDOW_SIZE / 2 ? WINDOW_SIZE : (long) lineSoFar * 2);
+        }
+    }
+
+    private static byte[] stripCarriageReturn(byte[] line) {
+        if (line.length > 0 && line[line.length - 1] == '\r') {
+            byte[] stripped = new byte[line.length - 1];
+            System.arraycopy(line, 0, stripped, 0, stripped.length);
+            return stripped;
+        }
+        return line;
+    }
+
+    // Dump format
+
+    private Message readDumpRecord() throws IOException {
+        if (!started) {
+            started = true;
+            if (!ensure(8) || window.getInt() != DUMP_MAGIC) {
+                throw new IOException("Not a KafkaDesk dump file");
+            }
+            int version = window.getInt();
+            if (version != DUMP_VERSION) {
+                throw new IOException("Unsupported dump version: " + version);
+            }
+        }
+        if (!ensure(1)) {
+            return null;
+        }
+        try {
+            Message message = new Message();
+            message.setPartition(readInt());
+            message.setOffset(readLong());
+            message.setTimestamp(readLong());
+            message.setKeyBytes(readBytes());
+            message.setValueBytes(readBytes());
+            int headerCount = readInt();
+            if (headerCount > 0) {
+                String[] headerKeys = new String[headerCount];
+                byte[][] headerValues = new byte[headerCount][];
+                for (int i = 0; i < headerCount; i++) {
+                    byte[] key = readBytes();
+                    headerKeys[i] = key != null ? new String(key, StandardCharsets.UTF_8) : "";
+                    headerValues[i] = readBytes();
+                }
+                message.setRawHeaders(headerKeys, headerValues);
+            }
+            return message;
+        } catch (IOException e) {
+            parseError("Truncated dump record at byte " + position(), e);
+            return null;
+        }
+    }
+
+    // Raw format
+
+    private Message readRawRecord() throws IOException {
+        started = true;
+        if (!ensure(1)) {
+            return null;
+        }
+        try {
+            Message message = new Message();
+            message.setValueBytes(readBytes());
+            return message;
+        } catch (IOException e) {
+            parseError("Truncated raw record at byte " + position(), e);
+            return null;
+        }
+    }
+
+    private int readInt() throws IOException {
+        require(4);
+        return window.getInt();
+    }
+
+    private long readLong() throws IOException {
+        require(8);
+        return window.getLong();
+    }
+
+    private byte[] readBytes() throws IOException {
+        int length = readInt();
+        if (length < 0) {
+            return null;
+        }
+        require(length);
+        byte[] bytes = new byte[length];
+        window.get(bytes);
+        return bytes;
+    }
+
+    private void require(int bytes) throws IOException {
+        if (!ensure(bytes)) {
+            throw new IOException("Unexpected end of file");
+        }
+    }
+
+    // Mapping
+
+    /**
+     * Make at least {@code bytes} bytes available in the window; false if the file has fewer left
+     */
+    private boolean ensure(int bytes) throws IOException {
+        if (window != null && window.remaining() >= bytes) {
+            return true;
+        }
+        long position = position();
+        if (fileSize - position < bytes) {
+            return false;
+        }
+        remap(position, Math.max(WINDOW_SIZE, bytes));
+        return true;
+    }
+
+    private void remap(long position, long size) throws IOException {
+        long mapSize = Math.min(Math.min(size, Integer.MAX_VALUE), fileSize - position);
+        window = channel.map(FileChannel.MapMode.READ_ONLY, position, mapSize);
+        windowStart = position;
+    }
+
+    private long position() {
+        return window != null ? windowStart + window.position() : 0;
+    }
+
+    private void parseError(String message, Exception e) {
+        parseErrors++;
+        if (parseErrors <= MAX_LOGGED_ERRORS) {
+            logger.warn("{}: {}", message, e.getMessage());
+        }
+    }
+}
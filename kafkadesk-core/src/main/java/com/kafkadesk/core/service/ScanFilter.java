@@ -0,0 +1,93 @@
+package com.kafkadesk.core.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Message filter evaluated on raw record bytes, so non-matching records are never decoded
+ */
+@FunctionalInterface
+public interface ScanFilter {
+
+    /**
+     * @param key   raw key, may be null
+     * @param value raw value, may be null
+     */
+    boolean test(byte[] key, byte[] value);
+
+    /**
+     * Match every message
+     */
+    static ScanFilter all() {
+        return (key, value) -> true;
+    }
+
+    /**
+     * Key equal to the UTF-8 encoding of {@code text}
+     */
+    static ScanFilter keyEquals(String text) {
+        byte[] target = text.getBytes(StandardCharsets.UTF_8);
+        return (key, value) -> key != null && Arrays.equals(key, target);
+    }
+
+    /**
+     * Key containing the UTF-8 encoding of {@code text}
+     */
+    static ScanFilter keyContains(String text) {
+        BytePattern pattern = new BytePattern(text.getBytes(StandardCharsets.UTF_8));
+        return (key, value) -> pattern.foundIn(key);
+    }
+
+    /**
+     * Value containing the UTF-8 encoding of {@code text}
+     */
+    static ScanFilter valueContains(String text) {
+        BytePattern pattern = new BytePattern(text.getBytes(StandardCharsets.UTF_8));
+        return (key, value) -> pattern.foundIn(value);
+    }
+
+    default ScanFilter and(ScanFilter other) {
+        return (key, value) -> test(key, value) && other.test(key, value);
+    }
+
+    default ScanFilter or(ScanFilter other) {
+        return (key, value) -> test(key, value) || other.test(key, value);
+    }
+
+    /**
+     * Byte substring search (Boyer-Moore-Horspool)
+     */
+    final class BytePattern {
+        private final byte[] needle;
+        private final int[] shift = new int[256];
+
+        BytePattern(byte[] needle) {
+            this.needle = needle;
+            Arrays.fill(shift, needle.length);
+            for (int i = 0; i < needle.length - 1; i++) {
+                shift[needle[i] & 0xff] = needle.length - 1 - i;
+            }
+        }
+
+        boolean foundIn(byte[] haystack) {
+            if (haystack == null) {
+                return false;
+            }
+            int n = needle.length;
+            if (n == 0) {
+                return true;
+            }
+            int last = n - 1;
+            for (int pos = 0; pos <= haystack.length - n; pos += shift[haystack[pos + last] & 0xff]) {
+                int i = last;
+                while (haystack[pos + i] == needle[i]) {
+                    if (i == 0) {
+                        return true;
+                    }
+                    i--;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.kafkadesk.core.service;
+
+import com.kafkadesk.model.Message;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * A running topic scan: progress, matches so far, cancellation and the final result
+ */
+public class ScanHandle {
+    private static final Logger logger = LoggerFactory.getLogger(ScanHandle.class);
+
+    private final String topic;
+    private final int maxResults;
+    private final Consumer<Message> matchListener;
+    private final long startNanos = System.nanoTime();
+    private final LongAdder scannedMessages = new LongAdder();
+    private final LongAdder scannedBytes = new LongAdder();
+    private final AtomicInteger matchCount = new AtomicInteger();
+    private final ConcurrentLinkedQueue<Message> matches = new ConcurrentLinkedQueue<>();
+    private final CompletableFuture<List<Message>> result = new CompletableFuture<>();
+    private volatile long totalMessages;
+    private volatile long endNanos;
+    private volatile boolean stopped;
+
+    ScanHandle(String topic, int maxResults, Consumer<Message> matchListener) {
+        this.topic = topic;
+        this.maxResults = maxResults;
+        this.matchListener = matchListener;
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    /**
+     * Matches sorted by partition and offset, completed when every shard has finished
+     */
+    public CompletableFuture<List<Message>> getResult() {
+        return result;
+    }
+
+    public ScanProgress getProgress() {
+        long end = endNanos != 0 ? endNanos : System.nanoTime();
+        return new ScanProgress(scannedMessages.sum(), totalMessages, scannedBytes.sum(),
+                Math.min(matchCount.get(), maxResults), (end - startNanos) / 1_000_000, result.isDone());
+    }
+
+    /**
+     * Stop the scan; matches found so far are still delivered as the result
+     */
+    public void cancel() {
+        stopped = true;
+    }
+
+    public boolean isStopped() {
+        return stopped;
+    }
+
+    void setTotalMessages(long totalMessages) {
+        this.totalMessages = totalMessages;
+    }
+
+    void addScanned(long messages, long bytes) {
+        scannedMessages.add(messages);
+        scannedBytes.add(bytes);
+    }
+
+    /**
+     * Record a match; returns false once the result limit is reached and the scan should stop
+     */
+    boolean addMatch(Message message) {
+        int count = matchCount.incrementAndGet();
+        if (count > maxResults) {
+            stopped = true;
+            return false;
+        }
+        matches.add(message);
+        if (matchListener != null) {
+            try {
+                matchListener.accept(message);
+            } catch (Exception e) {
+                logger.warn("Scan match listener failed", e);
+            }
+        }
+        if (count == maxResults) {
+            stopped = true;
+            return false;
+        }
+        return true;
+    }
+
+    void complete() {
+        endNanos = System.nanoTime();
+        List<Message> sorted = new ArrayList<>(matches);
+        sorted.sort(Comparator.comparing(Message::getPartition).thenComparing(Message::getOffset));
+        logger.info("Scan of {} finished: {}", topic, getProgress());
+        result.complete(sorted);
+    }
+
+    void fail(Throwable error) {
+        stopped = true;
+        endNanos = System.nanoTime();
+        result.completeExceptionally(error);
+    }
+}
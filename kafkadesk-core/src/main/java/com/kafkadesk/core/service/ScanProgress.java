@@ -0,0 +1,75 @@
+package com.kafkadesk.core.service;
+
+/**
+ * Point-in-time progress of a topic scan
+ */
+public class ScanProgress {
+    private final long scannedMessages;
+    private final long totalMessages;
+    private final long scannedBytes;
+    private final int matches;
+    private final long elapsedMs;
+    private final boolean done;
+
+    ScanProgress(long scannedMessages, long totalMessages, long scannedBytes, int matches,
+                 long elapsedMs, boolean done) {
+        this.scannedMessages = scannedMessages;
+        this.totalMessages = totalMessages;
+        this.scannedBytes = scannedBytes;
+        this.matches = matches;
+        this.elapsedMs = elapsedMs;
+        this.done = done;
+    }
+
+    public long getScannedMessages() {
+        return scannedMessages;
+    }
+
+    /**
+     * Messages in the scanned offset ranges when the scan started
+     */
+    public long getTotalMessages() {
+        return totalMessages;
+    }
+
+    public long getScannedBytes() {
+        return scannedBytes;
+    }
+
+    public int getMatches() {
+        return matches;
+    }
+
+    public long getElapsedMs() {
+        return elapsedMs;
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    /**
+     * Fraction of the offset ranges scanned, between 0 and 1
+     */
+    public double getFraction() {
+        return totalMessages > 0 ? Math.min(1.0, (double) scannedMessages / totalMessages) : (done ? 1.0 : 0.0);
+    }
+
+    public double getMessagesPerSecond() {
+        return elapsedMs > 0 ? scannedMessages * 1000.0 / elapsedMs : 0;
+    }
+
+    public double getBytesPerSecond() {
+        return elapsedMs > 0 ? scannedBytes * 1000.0 / elapsedMs : 0;
+    }
+
+    @Override
+    public String toString() {
+        return "ScanProgress{" +
+                "scanned=" + scannedMessages + "/" + totalMessages +
+                ", matches=" + matches +
+                ", msgPerSec=" + Math.round(getMessagesPerSecond()) +
+                ", done=" + done +
+                '}';
+    }
+}
@@ -0,0 +1,144 @@
+package com.kafkadesk.core.service;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Parameters of a topic scan
+ */
+public class ScanRequest {
+    private String topic;
+    private List<Integer> partitions; // null = all partitions
+    private ScanFilter filter = ScanFilter.all();
+    private Instant fromTimestamp; // null = from the earliest offset
+    private Instant toTimestamp; // null = up to the end offset
+    private int maxResults = 500;
+    private int parallelism = 0; // 0 = one consumer per partition, up to the scan pool size
+    private int maxPollRecords = 5000;
+    private int maxPartitionFetchBytes = 4 * 1024 * 1024;
+    private int fetchMaxBytes = 64 * 1024 * 1024;
+    private int receiveBufferBytes = 4 * 1024 * 1024;
+
+    public ScanRequest() {
+    }
+
+    public ScanRequest(String topic, ScanFilter filter) {
+        this.topic = topic;
+        this.filter = filter;
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public void setTopic(String topic) {
+        this.topic = topic;
+    }
+
+    public List<Integer> getPartitions() {
+        return partitions;
+    }
+
+    public void setPartitions(List<Integer> partitions) {
+        this.partitions = partitions;
+    }
+
+    /**
+     * Only scan messages written at or after this time
+     */
+    public Instant getFromTimestamp() {
+        return fromTimestamp;
+    }
+
+    public void setFromTimestamp(Instant fromTimestamp) {
+        this.fromTimestamp = fromTimestamp;
+    }
+
+    /**
+     * Only scan messages written before this time
+     */
+    public Instant getToTimestamp() {
+        return toTimestamp;
+    }
+
+    public void setToTimestamp(Instant toTimestamp) {
+        this.toTimestamp = toTimestamp;
+    }
+
+    public ScanFilter getFilter() {
+        return filter;
+    }
+
+    public void setFilter(ScanFilter filter) {
+        this.filter = filter;
+    }
+
+    /**
+     * The scan stops as soon as this many messages matched
+     */
+    public int getMaxResults() {
+        return maxResults;
+    }
+
+    public void setMaxResults(int maxResults) {
+        this.maxResults = maxResults;
+    }
+
+    /**
+     * Number of consumers the partitions are split across
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public int getMaxPollRecords() {
+        return maxPollRecords;
+    }
+
+    public void setMaxPollRecords(int maxPollRecords) {
+        this.maxPollRecords = maxPollRecords;
+    }
+
+    public int getMaxPartitionFetchBytes() {
+        return maxPartitionFetchBytes;
+    }
+
+    public void setMaxPartitionFetchBytes(int maxPartitionFetchBytes) {
+        this.maxPartitionFetchBytes = maxPartitionFetchBytes;
+    }
+
+    public int getFetchMaxBytes() {
+        return fetchMaxBytes;
+    }
+
+    public void setFetchMaxBytes(int fetchMaxBytes) {
+        this.fetchMaxBytes = fetchMaxBytes;
+    }
+
+    public int getReceiveBufferBytes() {
+        return receiveBufferBytes;
+    }
+
+    public void setReceiveBufferBytes(int receiveBufferBytes) {
+        this.receiveBufferBytes = receiveBufferBytes;
+    }
+
+    /**
+     * Consumer settings derived from this request
+     */
+    Properties toConsumerProperties() {
+        Properties props = new Properties();
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, String.valueOf(maxPollRecords));
+        props.put(ConsumerConfig.MAX_PARTITION_FETCH_BYTES_CONFIG, String.valueOf(maxPartitionFetchBytes));
+        props.put(ConsumerConfig.FETCH_MAX_BYTES_CONFIG, String.valueOf(fetchMaxBytes));
+        props.put(ConsumerConfig.RECEIVE_BUFFER_CONFIG, String.valueOf(receiveBufferBytes));
+        return props;
+    }
+}
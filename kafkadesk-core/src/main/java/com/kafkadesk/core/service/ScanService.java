@@ -0,0 +1,226 @@
+package com.kafkadesk.core.service;
+
+import com.kafkadesk.core.config.ConfigManager;
+import com.kafkadesk.core.task.TaskScheduler;
+import com.kafkadesk.model.ClusterConfig;
+import com.kafkadesk.model.Message;
+import com.kafkadesk.model.PartitionOffsets;
+import com.kafkadesk.utils.ThreadUtil;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Parallel topic scan engine.
+ * A topic's partitions are split into shards balanced by message count; each shard is read
+ * by its own consumer from the earliest offset (or the start of the requested time range)
+ * up to the end offset captured when the scan started. Filters run on the raw record bytes,
+ * and only matches are turned into messages.
+ */
+public class ScanService {
+    private static final Logger logger = LoggerFactory.getLogger(ScanService.class);
+    private static final int SCAN_POOL_SIZE = Math.max(4, Runtime.getRuntime().availableProcessors());
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(200);
+    private static ScanService instance;
+
+    private final ThreadPoolExecutor executor;
+
+    private ScanService() {
+        executor = new ThreadPoolExecutor(SCAN_POOL_SIZE, SCAN_POOL_SIZE, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), ThreadUtil.numberedDaemonThreadFactory("kafkadesk-scan"));
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    public static synchronized ScanService getInstance() {
+        if (instance == null) {
+            instance = new ScanService();
+        }
+        return instance;
+    }
+
+    /**
+     * Start scanning a topic; returns null if the cluster is unknown.
+     *
+     * @param matchListener receives every match as it is found, on a scan thread; may be null
+     */
+    public ScanHandle startScan(String clusterId, ScanRequest request, Consumer<Message> matchListener) {
+        ClusterConfig config = ConfigManager.getInstance().getClusterById(clusterId);
+        if (config == null) {
+            logger.error("Cluster not found: {}", clusterId);
+            return null;
+        }
+
+        ScanHandle handle = new ScanHandle(request.getTopic(), request.getMaxResults(), matchListener);
+        TaskScheduler.getInstance()
+                .submit(clusterId, null, () -> planShards(clusterId, request, handle))
+                .thenCompose(shards -> {
+                    List<CompletableFuture<Void>> futures = new ArrayList<>(shards.size());
+                    for (List<PartitionOffsets> shard : shards) {
+                        futures.add(CompletableFuture.runAsync(() -> scanShard(config, request, shard, handle), executor));
+                    }
+                    return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+                })
+                .whenComplete((ignored, error) -> {
+                    if (error != null) {
+                        logger.error("Scan of {} failed", request.getTopic(), error);
+                        handle.fail(error);
+                    } else {
+                        handle.complete();
+                    }
+                });
+        return handle;
+    }
+
+    /**
+     * Split the partitions into shards with roughly equal message counts
+     */
+    private List<List<PartitionOffsets>> planShards(String clusterId, ScanRequest request, ScanHandle handle) {
+        TopicService topicService = TopicService.getInstance();
+        String topic = request.getTopic();
+        // Time range: narrow each partition's range with one timestamp lookup per bound
+        Map<Integer, Long> fromOffsets = request.getFromTimestamp() != null
+                ? topicService.getOffsetsForTimestamp(clusterId, topic, request.getFromTimestamp()) : null;
+        Map<Integer, Long> toOffsets = request.getToTimestamp() != null
+                ? topicService.getOffsetsForTimestamp(clusterId, topic, request.getToTimestamp()) : null;
+
+        List<PartitionOffsets> partitions = new ArrayList<>();
+        long total = 0;
+        for (PartitionOffsets offsets : topicService.getPartitionOffsets(clusterId, topic)) {
+            narrow(offsets, fromOffsets, toOffsets);
+            if (offsets.getMessageCount() == 0
+                    || (request.getPartitions() != null && !request.getPartitions().contains(offsets.getPartition()))) {
+                continue;
+            }
+            partitions.add(offsets);
+            total += offsets.getMessageCount();
+        }
+        handle.setTotalMessages(total);
+        if (partitions.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        int shardCount = request.getParallelism() > 0 ? request.getParallelism() : SCAN_POOL_SIZE;
+        shardCount = Math.min(shardCount, partitions.size());
+
+        // Largest partitions first, each onto the least loaded shard
+        partitions.sort((a, b) -> Long.compare(b.getMessageCount(), a.getMessageCount()));
+        List<List<PartitionOffsets>> shards = new ArrayList<>(shardCount);
+        long[] load = new long[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(new ArrayList<>());
+        }
+        for (PartitionOffsets offsets : partitions) {
+            int target = 0;
+            for (int i = 1; i < shardCount; i++) {
+                if (load[i] < load[target]) {
+                    target = i;
+                }
+            }
+            shards.get(target).add(offsets);
+            load[target] += offsets.getMessageCount();
+        }
+        logger.info("Scanning {} messages of {} in {} shards", total, request.getTopic(), shardCount);
+        return shards;
+    }
+
+    /**
+     * Clamp a partition's range to the offsets resolved for the time range.
+     * A lookup of -1 means no message at or after the time, i.e. the range ends at the log end.
+     * A partition whose start lookup failed is scanned from its earliest offset rather than skipped.
+     */
+    static void narrow(PartitionOffsets offsets, Map<Integer, Long> fromOffsets, Map<Integer, Long> toOffsets) {
+        if (fromOffsets != null) {
+            Long from = fromOffsets.get(offsets.getPartition());
+            if (from == null) {
+                logger.warn("No start offset resolved for {}-{}, scanning from earliest",
+                        offsets.getTopic(), offsets.getPartition());
+            } else {
+                offsets.setEarliestOffset(from < 0
+                        ? offsets.getLatestOffset() : Math.max(offsets.getEarliestOffset(), from));
+            }
+        }
+        if (toOffsets != null) {
+            Long to = toOffsets.get(offsets.getPartition());
+            if (to != null && to >= 0) {
+                offsets.setLatestOffset(Math.min(offsets.getLatestOffset(), to));
+            }
+        }
+    }
+
+    /**
+     * Read a shard's partitions up to their end offsets
+     */
+    private void scanShard(ClusterConfig config, ScanRequest request, List<PartitionOffsets> shard, ScanHandle handle) {
+        if (handle.isStopped()) {
+            return;
+        }
+
+        Map<TopicPartition, Long> endOffsets = new HashMap<>();
+        for (PartitionOffsets offsets : shard) {
+            endOffsets.put(new TopicPartition(offsets.getTopic(), offsets.getPartition()), offsets.getLatestOffset());
+        }
+
+        ConsumerService consumerService = ConsumerService.getInstance();
+        ConsumerHandle session = consumerService.openSession(config, null, request.toConsumerProperties(), "scan");
+        KafkaConsumer<byte[], byte[]> consumer = session.consumer();
+        try {
+            consumer.assign(endOffsets.keySet());
+            for (PartitionOffsets offsets : shard) {
+                consumer.seek(new TopicPartition(offsets.getTopic(), offsets.getPartition()), offsets.getEarliestOffset());
+            }
+
+            ScanFilter filter = request.getFilter();
+            Set<TopicPartition> remaining = new HashSet<>(endOffsets.keySet());
+            while (!remaining.isEmpty() && !handle.isStopped()) {
+                ConsumerRecords<byte[], byte[]> records = session.poll(POLL_TIMEOUT);
+                for (TopicPartition tp : records.partitions()) {
+                    long end = endOffsets.get(tp);
+                    long messages = 0;
+                    long bytes = 0;
+                    for (ConsumerRecord<byte[], byte[]> record : records.records(tp)) {
+                        if (record.offset() >= end || handle.isStopped()) {
+                            break;
+                        }
+                        messages++;
+                        bytes += Math.max(0, record.serializedKeySize()) + Math.max(0, record.serializedValueSize());
+                        if (filter.test(record.key(), record.value())
+                                && !handle.addMatch(consumerService.convertToMessage(record))) {
+                            break;
+                        }
+                    }
+                    handle.addScanned(messages, bytes);
+                }
+
+                // Positions can pass the end without returning records (compaction, transaction markers)
+                Iterator<TopicPartition> it = remaining.iterator();
+                while (it.hasNext()) {
+                    TopicPartition tp = it.next();
+                    if (consumer.position(tp) >= endOffsets.get(tp)) {
+                        consumer.pause(Collections.singleton(tp));
+                        it.remove();
+                    }
+                }
+            }
+        } finally {
+            session.close();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.kafkadesk.core.service;
+
+/**
+ * Settings of a pipelined batch send
+ */
+public class SendOptions {
+    private int maxInFlight = 10000;
+    private ProducerProfile profile = ProducerProfile.throughput();
+
+    /**
+     * Maximum number of records sent but not yet acknowledged
+     */
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public void setMaxInFlight(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Producer settings; the throughput profile by default
+     */
+    public ProducerProfile getProfile() {
+        return profile;
+    }
+
+    public void setProfile(ProducerProfile profile) {
+        this.profile = profile;
+    }
+
+    /**
+     * Producer batch size in bytes
+     */
+    public int getBatchSize() {
+        return profile.getBatchSize();
+    }
+
+    public void setBatchSize(int batchSize) {
+        profile.setBatchSize(batchSize);
+    }
+
+    public int getLingerMs() {
+        return profile.getLingerMs();
+    }
+
+    public void setLingerMs(int lingerMs) {
+        profile.setLingerMs(lingerMs);
+    }
+
+    /**
+     * none, gzip, snappy, lz4 or zstd
+     */
+    public String getCompressionType() {
+        return profile.getCompressionType();
+    }
+
+    public void setCompressionType(String compressionType) {
+        profile.setCompressionType(compressionType);
+    }
+
+    public String getAcks() {
+        return profile.getAcks();
+    }
+
+    public void setAcks(String acks) {
+        profile.setAcks(acks);
+    }
+}
@@ -0,0 +1,62 @@
+package com.kafkadesk.core.service;
+
+/**
+ * Outcome of sending one record of a batch
+ */
+public class SendResult {
+    private final int index;
+    private final String topic;
+    private final int partition;
+    private final long offset;
+    private final long latencyMicros;
+    private final Exception error;
+
+    SendResult(int index, String topic, int partition, long offset, long latencyMicros, Exception error) {
+        this.index = index;
+        this.topic = topic;
+        this.partition = partition;
+        this.offset = offset;
+        this.latencyMicros = latencyMicros;
+        this.error = error;
+    }
+
+    /**
+     * Position of the record in the submitted batch
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    /**
+     * Partition written to, or -1 if the send failed
+     */
+    public int getPartition() {
+        return partition;
+    }
+
+    /**
+     * Offset written to, or -1 if the send failed
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * Time from send to acknowledgement
+     */
+    public long getLatencyMicros() {
+        return latencyMicros;
+    }
+
+    public Exception getError() {
+        return error;
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
@@ -0,0 +1,183 @@
+package com.kafkadesk.core.service;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Ring buffer of size samples for a changing set of keys.
+ * All values live in one flat long array, a row of {@code capacity} columns per key; each
+ * sample writes one column. Keys missing from a sample are dropped and their rows reused,
+ * unless the caller asks to keep them, e.g. because their broker did not answer; a kept key
+ * reports its latest known size until its row holds no sample at all. Thread-safe.
+ *
+ * @param <K> what is measured, e.g. a partition or a broker
+ */
+class SizeHistory<K> {
+    private static final long MISSING = -1;
+
+    private final int capacity;
+    private final long[] timestamps;
+    private final Map<K, Integer> slots = new HashMap<>();
+    private long[] sizes;
+    private int[] free = new int[16];
+    private int freeCount;
+    private int slotCount;
+    private long samples;
+
+    /**
+     * Visits the latest size and growth rate of each key
+     */
+    interface Visitor<K> {
+        void visit(K key, long size, double bytesPerSecond);
+    }
+
+    /**
+     * @param capacity samples kept per key
+     */
+    SizeHistory(int capacity) {
+        this.capacity = Math.max(2, capacity);
+        this.timestamps = new long[this.capacity];
+        this.sizes = new long[16 * this.capacity];
+    }
+
+    /**
+     * Start a new sample, overwriting the oldest one
+     */
+    synchronized void begin(long timestamp) {
+        int column = (int) (samples % capacity);
+        timestamps[column] = timestamp;
+        for (int slot = 0; slot < slotCount; slot++) {
+            sizes[slot * capacity + column] = MISSING;
+        }
+        samples++;
+    }
+
+    /**
+     * Record a size in the current sample; if a key is recorded twice the larger size is kept
+     */
+    synchronized void record(K key, long size) {
+        Integer slot = slots.get(key);
+        if (slot == null) {
+            slot = allocate(key);
+        }
+        int index = slot * capacity + latestColumn();
+        sizes[index] = Math.max(sizes[index], size);
+    }
+
+    /**
+     * Finish the current sample; keys it did not record are dropped
+     */
+    synchronized void end() {
+        end(key -> false);
+    }
+
+    /**
+     * Finish the current sample; keys it did not record are dropped unless {@code keep} accepts them
+     * and they still have an earlier sample
+     */
+    synchronized void end(Predicate<K> keep) {
+        int column = latestColumn();
+        slots.entrySet().removeIf(entry -> {
+            int slot = entry.getValue();
+            if (sizes[slot * capacity + column] != MISSING
+                    || (keep.test(entry.getKey()) && latest(slot) != MISSING)) {
+                return false;
+            }
+            if (freeCount == free.length) {
+                free = Arrays.copyOf(free, freeCount * 2);
+            }
+            free[freeCount++] = slot;
+            return true;
+        });
+    }
+
+    /**
+     * Whether the key still has a history
+     */
+    synchronized boolean contains(K key) {
+        return slots.containsKey(key);
+    }
+
+    /**
+     * Samples currently held, at most the capacity
+     */
+    synchronized int size() {
+        return (int) Math.min(samples, capacity);
+    }
+
+    /**
+     * Visit every key with its latest known size
+     */
+    synchronized void forEach(Visitor<K> visitor) {
+        slots.forEach((key, slot) -> {
+            long size = latest(slot);
+            if (size != MISSING) {
+                visitor.visit(key, size, rate(slot));
+            }
+        });
+    }
+
+    /**
+     * Most recent size held for a slot, or MISSING
+     */
+    private long latest(int slot) {
+        for (long sample = samples - 1; sample >= samples - size(); sample--) {
+            long size = sizes[slot * capacity + (int) (sample % capacity)];
+            if (size != MISSING) {
+                return size;
+            }
+        }
+        return MISSING;
+    }
+
+    /**
+     * Bytes added per second over the window: the sum of the increases between consecutive
+     * samples over the time they span. Decreases, such as retention deleting a segment, are not
+     * counted against the rate.
+     */
+    private double rate(int slot) {
+        int held = size();
+        long first = samples - held;
+        long previous = MISSING;
+        long firstTime = 0;
+        long lastTime = 0;
+        long added = 0;
+        for (long sample = first; sample < samples; sample++) {
+            int column = (int) (sample % capacity);
+            long size = sizes[slot * capacity + column];
+            if (size == MISSING) {
+                continue;
+            }
+            if (previous == MISSING) {
+                firstTime = timestamps[column];
+            } else if (size > previous) {
+                added += size - previous;
+            }
+            previous = size;
+            lastTime = timestamps[column];
+        }
+        long elapsedMs = lastTime - firstTime;
+        return elapsedMs > 0 ? added * 1000.0 / elapsedMs : 0;
+    }
+
+    private int allocate(K key) {
+        int slot;
+        if (freeCount > 0) {
+            slot = free[--freeCount];
+        } else {
+            if ((slotCount + 1) * capacity > sizes.length) {
+                sizes = Arrays.copyOf(sizes, sizes.length * 2);
+            }
+            slot = slotCount++;
+        }
+        Arrays.fill(sizes, slot * capacity, (slot + 1) * capacity, MISSING);
+        slots.put(key, slot);
+        return slot;
+    }
+
+    private int latestColumn() {
+        return (int) ((samples - 1) % capacity);
+    }
+}
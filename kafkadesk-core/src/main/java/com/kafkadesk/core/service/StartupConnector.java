@@ -0,0 +1,140 @@
+package com.kafkadesk.core.service;
+
+import com.kafkadesk.core.cache.MetadataCacheManager;
+import com.kafkadesk.core.task.TaskScheduler;
+import com.kafkadesk.model.ClusterConfig;
+import com.kafkadesk.utils.ThreadUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Connects many clusters at once, typically the auto-connect clusters at startup.
+ * Every cluster is connected in parallel with its own timeout, so one unreachable cluster
+ * delays only itself. Once connected, the cluster's metadata cache is warmed on its task
+ * scheduler lane with its topics and consumer groups. Progress is reported per cluster.
+ */
+public class StartupConnector {
+    private static final Logger logger = LoggerFactory.getLogger(StartupConnector.class);
+    public static final long DEFAULT_TIMEOUT_MS = 10_000;
+    private static StartupConnector instance;
+
+    // Creating a client resolves the bootstrap servers, which may block on DNS
+    private final ExecutorService executor;
+
+    private StartupConnector() {
+        executor = Executors.newCachedThreadPool(ThreadUtil.daemonThreadFactory("kafkadesk-connector"));
+    }
+
+    public static synchronized StartupConnector getInstance() {
+        if (instance == null) {
+            instance = new StartupConnector();
+        }
+        return instance;
+    }
+
+    /**
+     * Stage a cluster has reached
+     */
+    public enum Stage {
+        CONNECTING,
+        /** Connected, cache still warming */
+        CONNECTED,
+        /** Connected and cache warm */
+        READY,
+        FAILED
+    }
+
+    /**
+     * Progress callback; called from background threads
+     */
+    public interface Listener {
+        void onProgress(ClusterConfig cluster, Stage stage);
+    }
+
+    /**
+     * Connect all clusters in parallel and warm their caches.
+     *
+     * @param timeoutMs how long each cluster may take to answer
+     * @return completes when every cluster is READY or FAILED, with the final stage by cluster id
+     */
+    public CompletableFuture<Map<String, Stage>> connectAll(Collection<ClusterConfig> clusters, long timeoutMs,
+                                                             Listener listener) {
+        long start = System.currentTimeMillis();
+        Map<String, CompletableFuture<Stage>> results = new LinkedHashMap<>();
+        for (ClusterConfig cluster : clusters) {
+            results.put(cluster.getId(), connect(cluster, timeoutMs, listener));
+        }
+
+        return CompletableFuture.allOf(results.values().toArray(new CompletableFuture[0])).handle((ignored, error) -> {
+            Map<String, Stage> stages = new LinkedHashMap<>();
+            results.forEach((id, future) -> stages.put(id, future.getNow(Stage.FAILED)));
+            long ready = stages.values().stream().filter(stage -> stage == Stage.READY).count();
+            logger.info("Startup connection finished in {} ms: {}/{} clusters ready",
+                    System.currentTimeMillis() - start, ready, stages.size());
+            return stages;
+        });
+    }
+
+    /**
+     * Connect one cluster and warm its cache; completes with READY or FAILED, never exceptionally
+     */
+    public CompletableFuture<Stage> connect(ClusterConfig cluster, long timeoutMs, Listener listener) {
+        notify(listener, cluster, Stage.CONNECTING);
+        return CompletableFuture
+                .supplyAsync(() -> ClusterService.getInstance().connectAsync(cluster, timeoutMs), executor)
+                .thenCompose(future -> future)
+                .thenCompose(connected -> {
+                    if (!connected) {
+                        return CompletableFuture.completedFuture(Stage.FAILED);
+                    }
+                    notify(listener, cluster, Stage.CONNECTED);
+                    return warm(cluster.getId());
+                })
+                .exceptionally(error -> {
+                    logger.error("Failed to connect to cluster: " + cluster.getName(), error);
+                    return Stage.FAILED;
+                })
+                .thenApply(stage -> {
+                    notify(listener, cluster, stage);
+                    return stage;
+                });
+    }
+
+    /**
+     * Fill the metadata cache; a failed refresh leaves it cold but the cluster still usable
+     */
+    private CompletableFuture<Stage> warm(String clusterId) {
+        TaskScheduler scheduler = TaskScheduler.getInstance();
+        MetadataCacheManager cacheManager = MetadataCacheManager.getInstance();
+        List<CompletableFuture<?>> refreshes = new ArrayList<>();
+        // Same keys as the views use, so the two never run the same refresh side by side
+        refreshes.add(scheduler.submit(clusterId, "topics", () -> cacheManager.refreshTopics(clusterId, false)));
+        refreshes.add(scheduler.submit(clusterId, "consumer-groups", () -> cacheManager.refreshConsumerGroups(clusterId)));
+        return CompletableFuture.allOf(refreshes.toArray(new CompletableFuture[0])).handle((ignored, error) -> {
+            if (error != null) {
+                logger.warn("Warming metadata cache of cluster {} failed", clusterId, error);
+            }
+            return Stage.READY;
+        });
+    }
+
+    private void notify(Listener listener, ClusterConfig cluster, Stage stage) {
+        if (listener == null) {
+            return;
+        }
+        try {
+            listener.onProgress(cluster, stage);
+        } catch (Exception e) {
+            logger.warn("Startup progress listener failed", e);
+        }
+    }
+}
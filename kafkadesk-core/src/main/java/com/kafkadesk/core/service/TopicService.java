@@ -1,34 +1,45 @@
 package com.kafkadesk.core.service;
 
+import com.kafkadesk.core.cache.MetadataCacheManager;
+import com.kafkadesk.model.PartitionOffsets;
 import com.kafkadesk.model.TopicInfo;
 import org.apache.kafka.clients.admin.Admin;
 import org.apache.kafka.clients.admin.Config;
-import org.apache.kafka.clients.admin.CreateTopicsResult;
-import org.apache.kafka.clients.admin.DeleteTopicsResult;
-import org.apache.kafka.clients.admin.DescribeConfigsResult;
-import org.apache.kafka.clients.admin.DescribeTopicsResult;
-import org.apache.kafka.clients.admin.ListTopicsResult;
+import org.apache.kafka.clients.admin.ConfigEntry;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
 import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.admin.OffsetSpec;
 import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.TopicPartitionInfo;
 import org.apache.kafka.common.config.ConfigResource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
- * Topic service
+ * Topic service.
+ * Each blocking method has an *Async variant that returns without waiting and fails with
+ * {@link AdminOperationException}.
  */
 public class TopicService {
     private static final Logger logger = LoggerFactory.getLogger(TopicService.class);
+    private static final int DESCRIBE_BATCH_SIZE = 500;
     private static TopicService instance;
 
     private TopicService() {
@@ -45,124 +56,324 @@ public class TopicService {
      * List all topics
      */
     public List<String> listTopics(String clusterId) {
-        Admin admin = ClusterService.getInstance().getAdminClient(clusterId);
-        if (admin == null) {
-            logger.error("Admin client not found for cluster: {}", clusterId);
-            return Collections.emptyList();
-        }
+        return AdminFutures.await(listTopicsAsync(clusterId), Collections.emptyList(), logger);
+    }
 
-        try {
-            ListTopicsResult result = admin.listTopics();
-            Set<String> topics = result.names().get(10, TimeUnit.SECONDS);
-            return new ArrayList<>(topics);
-        } catch (Exception e) {
-            logger.error("Failed to list topics", e);
-            return Collections.emptyList();
-        }
+    /**
+     * List all topics without blocking
+     */
+    public CompletableFuture<List<String>> listTopicsAsync(String clusterId) {
+        return AdminFutures.call(clusterId, "list topics",
+                admin -> AdminFutures.toCompletable(admin.listTopics().names()).thenApply(ArrayList::new));
     }
 
     /**
      * Get topic details
      */
     public TopicInfo getTopicInfo(String clusterId, String topicName) {
-        Admin admin = ClusterService.getInstance().getAdminClient(clusterId);
-        if (admin == null) {
-            return null;
-        }
+        return AdminFutures.await(getTopicInfoAsync(clusterId, topicName), null, logger);
+    }
 
-        try {
-            DescribeTopicsResult result = admin.describeTopics(Collections.singleton(topicName));
-            TopicDescription description = result.all().get(10, TimeUnit.SECONDS).get(topicName);
+    /**
+     * Get topic details without blocking; the description and the configs are requested together
+     */
+    public CompletableFuture<TopicInfo> getTopicInfoAsync(String clusterId, String topicName) {
+        return AdminFutures.call(clusterId, "describe topic " + topicName, admin -> {
+            CompletableFuture<TopicDescription> description = AdminFutures.toCompletable(
+                    admin.describeTopics(Collections.singleton(topicName)).topicNameValues().get(topicName));
 
-            if (description == null) {
-                return null;
-            }
+            // 获取主题配置
+            ConfigResource resource = new ConfigResource(ConfigResource.Type.TOPIC, topicName);
+            CompletableFuture<Config> config = AdminFutures.toCompletable(
+                    admin.describeConfigs(Collections.singleton(resource)).values().get(resource));
+
+            return description.thenCombine(config, this::buildTopicInfo);
+        });
+    }
+
+    /**
+     * Get topic details for many topics at once.
+     * Topics that fail to describe (e.g. deleted in the meantime) are skipped.
+     */
+    public List<TopicInfo> getTopicInfos(String clusterId, Collection<String> topicNames) {
+        return AdminFutures.await(getTopicInfosAsync(clusterId, topicNames), Collections.emptyList(), logger);
+    }
 
-            TopicInfo topicInfo = new TopicInfo();
-            topicInfo.setName(description.name());
-            topicInfo.setPartitions(description.partitions().size());
+    /**
+     * Get topic details for many topics without blocking.
+     * Topics are described in chunks of {@value #DESCRIBE_BATCH_SIZE}, all sent at once so the
+     * admin client pipelines them. Each chunk has its own timeout, so a slow chunk loses only
+     * its unanswered topics. Topics that fail to describe are skipped; topics whose configs
+     * fail are returned without configs.
+     */
+    public CompletableFuture<List<TopicInfo>> getTopicInfosAsync(String clusterId, Collection<String> topicNames) {
+        if (topicNames == null || topicNames.isEmpty()) {
+            return CompletableFuture.completedFuture(Collections.emptyList());
+        }
 
-            // 获取副本因子（从第一个分区获取）
-            if (!description.partitions().isEmpty()) {
-                topicInfo.setReplicationFactor(description.partitions().get(0).replicas().size());
+        // Chunks always complete within their own timeout; the call timeout is only a backstop
+        long backstopMs = AdminFutures.BATCH_TIMEOUT_MS + AdminFutures.TIMEOUT_MS;
+        return AdminFutures.call(clusterId, "describe topics", backstopMs, admin -> {
+            List<CompletableFuture<List<TopicInfo>>> batches = new ArrayList<>();
+            for (List<String> batch : partition(new ArrayList<>(new LinkedHashSet<>(topicNames)), DESCRIBE_BATCH_SIZE)) {
+                batches.add(describeBatch(admin, batch));
             }
+            return collect(batches).thenApply(lists -> lists.stream()
+                    .flatMap(List::stream)
+                    .collect(Collectors.toList()));
+        });
+    }
 
-            // Convert partition information
-            List<TopicInfo.PartitionInfo> partitionInfos = description.partitions().stream()
-                    .map(this::convertPartitionInfo)
-                    .collect(Collectors.toList());
-            topicInfo.setPartitionDetails(partitionInfos);
+    /**
+     * Describe one chunk of topics; on timeout, completes with the topics answered so far
+     */
+    private CompletableFuture<List<TopicInfo>> describeBatch(Admin admin, List<String> batch) {
+        Map<String, KafkaFuture<TopicDescription>> descriptions = admin.describeTopics(batch).topicNameValues();
+        List<ConfigResource> resources = batch.stream()
+                .map(name -> new ConfigResource(ConfigResource.Type.TOPIC, name))
+                .collect(Collectors.toList());
+        Map<ConfigResource, KafkaFuture<Config>> configs = admin.describeConfigs(resources).values();
 
-            // 获取主题配置
-            ConfigResource resource = new ConfigResource(ConfigResource.Type.TOPIC, topicName);
-            DescribeConfigsResult configResult = admin.describeConfigs(Collections.singleton(resource));
-            Config config = configResult.all().get(10, TimeUnit.SECONDS).get(resource);
-
-            if (config != null) {
-                Map<String, String> configMap = new HashMap<>();
-                config.entries().forEach(entry -> {
-                    if (!entry.isDefault()) {
-                        configMap.put(entry.name(), entry.value());
-                    }
+        List<CompletableFuture<TopicInfo>> futures = new ArrayList<>(batch.size());
+        for (String topicName : batch) {
+            CompletableFuture<Config> config = AdminFutures.toCompletable(
+                            configs.get(new ConfigResource(ConfigResource.Type.TOPIC, topicName)))
+                    .exceptionally(e -> {
+                        logger.warn("Failed to describe configs for topic: {}", topicName, e);
+                        return null;
+                    });
+            futures.add(AdminFutures.toCompletable(descriptions.get(topicName))
+                    .thenCombine(config, this::buildTopicInfo)
+                    .exceptionally(e -> {
+                        logger.warn("Failed to describe topic: {}", topicName, e);
+                        return null;
+                    }));
+        }
+        return collect(futures)
+                .orTimeout(AdminFutures.BATCH_TIMEOUT_MS, TimeUnit.MILLISECONDS)
+                .exceptionally(e -> {
+                    List<TopicInfo> answered = futures.stream()
+                            .filter(future -> future.isDone() && !future.isCompletedExceptionally())
+                            .map(CompletableFuture::join)
+                            .filter(Objects::nonNull)
+                            .collect(Collectors.toList());
+                    logger.warn("Describing {} topics timed out, keeping the {} answered", batch.size(), answered.size());
+                    return answered;
                 });
-                topicInfo.setConfig(configMap);
-                
-                // Parse and format retention time
-                String retentionMs = configMap.getOrDefault("retention.ms", 
-                    config.entries().stream()
-                        .filter(e -> "retention.ms".equals(e.name()))
-                        .map(e -> e.value())
-                        .findFirst()
-                        .orElse("-1"));
-                topicInfo.setRetentionTime(formatRetentionTime(retentionMs));
+    }
+
+    /**
+     * Get earliest and latest offsets of every partition of a topic
+     */
+    public List<PartitionOffsets> getPartitionOffsets(String clusterId, String topicName) {
+        return getPartitionOffsets(clusterId, topicName, null);
+    }
+
+    /**
+     * Get earliest and latest offsets of every partition of a topic.
+     * The listener, if given, receives each partition as soon as both of its offsets are
+     * known; it is called on an admin client thread.
+     */
+    public List<PartitionOffsets> getPartitionOffsets(String clusterId, String topicName,
+                                                      Consumer<PartitionOffsets> listener) {
+        return AdminFutures.await(getPartitionOffsetsAsync(clusterId, topicName, listener),
+                Collections.emptyList(), logger);
+    }
+
+    /**
+     * Get earliest and latest offsets of every partition of a topic without blocking.
+     * Leader and ISR come from the cached describe result. The offsets of all partitions
+     * are fetched with one earliest and one latest listOffsets request, sent together.
+     * Partitions whose offsets fail are left out. The listener, if given, receives each
+     * partition as soon as both of its offsets are known, on an admin client thread.
+     */
+    public CompletableFuture<List<PartitionOffsets>> getPartitionOffsetsAsync(String clusterId, String topicName,
+                                                                              Consumer<PartitionOffsets> listener) {
+        return resolveTopic(clusterId, topicName).thenCompose(topicInfo -> AdminFutures.call(clusterId,
+                "list offsets of topic " + topicName, AdminFutures.BATCH_TIMEOUT_MS, admin -> {
+            List<TopicInfo.PartitionInfo> partitions = topicInfo.getPartitionDetails();
+            Map<TopicPartition, OffsetSpec> earliestSpecs = new HashMap<>(partitions.size());
+            Map<TopicPartition, OffsetSpec> latestSpecs = new HashMap<>(partitions.size());
+            for (TopicInfo.PartitionInfo partitionInfo : partitions) {
+                TopicPartition tp = new TopicPartition(topicName, partitionInfo.getPartition());
+                earliestSpecs.put(tp, OffsetSpec.earliest());
+                latestSpecs.put(tp, OffsetSpec.latest());
+            }
+            ListOffsetsResult earliest = admin.listOffsets(earliestSpecs);
+            ListOffsetsResult latest = admin.listOffsets(latestSpecs);
+
+            List<CompletableFuture<PartitionOffsets>> futures = new ArrayList<>(partitions.size());
+            for (TopicInfo.PartitionInfo partitionInfo : partitions) {
+                TopicPartition tp = new TopicPartition(topicName, partitionInfo.getPartition());
+                CompletableFuture<PartitionOffsets> future = AdminFutures.toCompletable(earliest.partitionResult(tp))
+                        .thenCombine(AdminFutures.toCompletable(latest.partitionResult(tp)), (first, last) -> {
+                            PartitionOffsets offsets = new PartitionOffsets(topicName, tp.partition(),
+                                    first.offset(), last.offset());
+                            offsets.setLeader(partitionInfo.getLeader());
+                            offsets.setIsr(partitionInfo.getIsr());
+                            return offsets;
+                        });
+                if (listener != null) {
+                    future.thenAccept(listener);
+                }
+                futures.add(future.exceptionally(e -> {
+                    logger.warn("Failed to get offsets for partition {}", tp, e);
+                    return null;
+                }));
             }
+            return collect(futures);
+        }));
+    }
+
+    /**
+     * Offset of the first message at or after a point in time, per partition, resolved for
+     * all partitions with one listOffsets call. Partitions without such a message map to -1.
+     */
+    public Map<Integer, Long> getOffsetsForTimestamp(String clusterId, String topicName, Instant timestamp) {
+        return AdminFutures.await(getOffsetsForTimestampAsync(clusterId, topicName, timestamp),
+                Collections.emptyMap(), logger);
+    }
 
-            return topicInfo;
-        } catch (Exception e) {
-            logger.error("Failed to get topic info: " + topicName, e);
-            return null;
+    /**
+     * Offsets for a point in time without blocking; partitions that fail are left out
+     */
+    public CompletableFuture<Map<Integer, Long>> getOffsetsForTimestampAsync(String clusterId, String topicName,
+                                                                            Instant timestamp) {
+        return resolveTopic(clusterId, topicName).thenCompose(topicInfo -> AdminFutures.call(clusterId,
+                "list offsets of topic " + topicName, AdminFutures.BATCH_TIMEOUT_MS, admin -> {
+            Map<TopicPartition, OffsetSpec> specs = new HashMap<>();
+            for (TopicInfo.PartitionInfo partitionInfo : topicInfo.getPartitionDetails()) {
+                specs.put(new TopicPartition(topicName, partitionInfo.getPartition()),
+                        OffsetSpec.forTimestamp(timestamp.toEpochMilli()));
+            }
+            ListOffsetsResult result = admin.listOffsets(specs);
+
+            Map<Integer, Long> offsets = new ConcurrentHashMap<>();
+            List<CompletableFuture<Void>> futures = new ArrayList<>(specs.size());
+            for (TopicPartition tp : specs.keySet()) {
+                futures.add(AdminFutures.toCompletable(result.partitionResult(tp))
+                        .thenAccept(info -> offsets.put(tp.partition(), info.offset()))
+                        .exceptionally(e -> {
+                            logger.warn("Failed to get offset for timestamp {} of partition {}", timestamp, tp, e);
+                            return null;
+                        }));
+            }
+            return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                    .thenApply(v -> offsets);
+        }));
+    }
+
+    /**
+     * Topic details from the metadata cache, described on a miss
+     */
+    CompletableFuture<TopicInfo> resolveTopic(String clusterId, String topicName) {
+        TopicInfo topicInfo = MetadataCacheManager.getInstance().getCache(clusterId).getTopic(topicName);
+        if (topicInfo != null) {
+            return CompletableFuture.completedFuture(topicInfo);
         }
+        return getTopicInfoAsync(clusterId, topicName);
+    }
+
+    /**
+     * Wait for all futures and keep the non-null results, in order
+     */
+    private static <T> CompletableFuture<List<T>> collect(List<CompletableFuture<T>> futures) {
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .thenApply(v -> futures.stream()
+                        .map(CompletableFuture::join)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toList()));
+    }
+
+    /**
+     * Build topic info from describe results
+     */
+    private TopicInfo buildTopicInfo(TopicDescription description, Config config) {
+        TopicInfo topicInfo = new TopicInfo();
+        topicInfo.setName(description.name());
+        topicInfo.setPartitions(description.partitions().size());
+
+        // 获取副本因子（从第一个分区获取）
+        if (!description.partitions().isEmpty()) {
+            topicInfo.setReplicationFactor(description.partitions().get(0).replicas().size());
+        }
+
+        // Convert partition information
+        List<TopicInfo.PartitionInfo> partitionInfos = description.partitions().stream()
+                .map(this::convertPartitionInfo)
+                .collect(Collectors.toList());
+        topicInfo.setPartitionDetails(partitionInfos);
+
+        if (config != null) {
+            Map<String, String> configMap = new HashMap<>();
+            config.entries().forEach(entry -> {
+                if (!entry.isDefault()) {
+                    configMap.put(entry.name(), entry.value());
+                }
+            });
+            topicInfo.setConfig(configMap);
+
+            // Parse and format retention time
+            String retentionMs = configMap.getOrDefault("retention.ms",
+                config.entries().stream()
+                    .filter(e -> "retention.ms".equals(e.name()))
+                    .map(e -> e.value())
+                    .findFirst()
+                    .orElse("-1"));
+            topicInfo.setRetentionTime(formatRetentionTime(retentionMs));
+            topicInfo.setRetentionMs(parseLimit(retentionMs));
+            ConfigEntry retentionBytes = config.get("retention.bytes");
+            topicInfo.setRetentionBytes(parseLimit(retentionBytes != null ? retentionBytes.value() : null));
+        }
+
+        return topicInfo;
+    }
+
+    /**
+     * Split a list into consecutive chunks of at most the given size
+     */
+    private static <T> List<List<T>> partition(List<T> items, int size) {
+        List<List<T>> chunks = new ArrayList<>((items.size() + size - 1) / size);
+        for (int from = 0; from < items.size(); from += size) {
+            chunks.add(items.subList(from, Math.min(from + size, items.size())));
+        }
+        return chunks;
     }
 
     /**
      * Create topic
      */
     public boolean createTopic(String clusterId, String topicName, int partitions, short replicationFactor) {
-        Admin admin = ClusterService.getInstance().getAdminClient(clusterId);
-        if (admin == null) {
-            return false;
-        }
+        return AdminFutures.await(createTopicAsync(clusterId, topicName, partitions, replicationFactor)
+                .thenApply(v -> true), false, logger);
+    }
 
-        try {
+    /**
+     * Create topic without blocking
+     */
+    public CompletableFuture<Void> createTopicAsync(String clusterId, String topicName, int partitions,
+                                                    short replicationFactor) {
+        return AdminFutures.call(clusterId, "create topic " + topicName, admin -> {
             NewTopic newTopic = new NewTopic(topicName, partitions, replicationFactor);
-            CreateTopicsResult result = admin.createTopics(Collections.singleton(newTopic));
-            result.all().get(10, TimeUnit.SECONDS);
-            logger.info("Topic created successfully: {}", topicName);
-            return true;
-        } catch (Exception e) {
-            logger.error("Failed to create topic: " + topicName, e);
-            return false;
-        }
+            return AdminFutures.toCompletable(admin.createTopics(Collections.singleton(newTopic)).all())
+                    .thenRun(() -> logger.info("Topic created successfully: {}", topicName));
+        });
     }
 
     /**
      * Delete topic
      */
     public boolean deleteTopic(String clusterId, String topicName) {
-        Admin admin = ClusterService.getInstance().getAdminClient(clusterId);
-        if (admin == null) {
-            return false;
-        }
+        return AdminFutures.await(deleteTopicAsync(clusterId, topicName).thenApply(v -> true), false, logger);
+    }
 
-        try {
-            DeleteTopicsResult result = admin.deleteTopics(Collections.singleton(topicName));
-            result.all().get(10, TimeUnit.SECONDS);
-            logger.info("Topic deleted successfully: {}", topicName);
-            return true;
-        } catch (Exception e) {
-            logger.error("Failed to delete topic: " + topicName, e);
-            return false;
-        }
+    /**
+     * Delete topic without blocking
+     */
+    public CompletableFuture<Void> deleteTopicAsync(String clusterId, String topicName) {
+        return AdminFutures.call(clusterId, "delete topic " + topicName,
+                admin -> AdminFutures.toCompletable(admin.deleteTopics(Collections.singleton(topicName)).all())
+                        .thenRun(() -> logger.info("Topic deleted successfully: {}", topicName)));
     }
 
     /**
@@ -226,4 +437,19 @@ public class TopicService {
             return "N/A";
         }
     }
+
+    /**
+     * Parse a retention limit; negative or missing means unlimited (-1)
+     */
+    private static long parseLimit(String value) {
+        if (value == null) {
+            return -1;
+        }
+        try {
+            long limit = Long.parseLong(value.trim());
+            return limit < 0 ? -1 : limit;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
 }
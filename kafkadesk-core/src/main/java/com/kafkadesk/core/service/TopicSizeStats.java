@@ -0,0 +1,119 @@
+package com.kafkadesk.core.service;
+
+/**
+ * Size and growth of one topic from log dir samples.
+ * Sizes count one copy of each partition, the largest replica; multiply by the replication
+ * factor for disk usage.
+ */
+public class TopicSizeStats {
+    private final String topic;
+    private final int partitions;
+    private final long sizeBytes;
+    private final double bytesPerSecond;
+    private final long largestPartitionBytes;
+    private final long retentionMs;
+    private final long retentionBytes;
+
+    TopicSizeStats(String topic, int partitions, long sizeBytes, double bytesPerSecond,
+                   long largestPartitionBytes, long retentionMs, long retentionBytes) {
+        this.topic = topic;
+        this.partitions = partitions;
+        this.sizeBytes = sizeBytes;
+        this.bytesPerSecond = bytesPerSecond;
+        this.largestPartitionBytes = largestPartitionBytes;
+        this.retentionMs = retentionMs;
+        this.retentionBytes = retentionBytes;
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    /**
+     * Partitions found on the brokers' log dirs
+     */
+    public int getPartitions() {
+        return partitions;
+    }
+
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    /**
+     * Bytes written per second over the sampling window
+     */
+    public double getBytesPerSecond() {
+        return bytesPerSecond;
+    }
+
+    public long getLargestPartitionBytes() {
+        return largestPartitionBytes;
+    }
+
+    /**
+     * Largest partition over the mean partition size; 1 means evenly spread
+     */
+    public double getSkew() {
+        if (partitions == 0 || sizeBytes == 0) {
+            return 1;
+        }
+        return largestPartitionBytes / ((double) sizeBytes / partitions);
+    }
+
+    /**
+     * retention.ms of the topic, or -1 for unlimited or unknown
+     */
+    public long getRetentionMs() {
+        return retentionMs;
+    }
+
+    /**
+     * retention.bytes per partition, or -1 for unlimited or unknown
+     */
+    public long getRetentionBytes() {
+        return retentionBytes;
+    }
+
+    /**
+     * Size the topic levels off at once retention deletes as much as is written: the data of
+     * one retention period at the current rate, capped by retention.bytes. -1 if neither limit
+     * is set, in which case the topic keeps growing.
+     */
+    public long getProjectedBytes() {
+        long projected = -1;
+        if (retentionMs >= 0) {
+            projected = (long) (bytesPerSecond * retentionMs / 1000);
+        }
+        if (retentionBytes >= 0) {
+            long cap = retentionBytes * partitions;
+            projected = projected < 0 ? cap : Math.min(projected, cap);
+        }
+        return projected;
+    }
+
+    /**
+     * Seconds until the topic reaches its projected size at the current rate: 0 if it is
+     * already there, -1 if it never levels off or is not growing
+     */
+    public long getSecondsToRetention() {
+        long projected = getProjectedBytes();
+        if (projected < 0 || bytesPerSecond <= 0) {
+            return -1;
+        }
+        if (sizeBytes >= projected) {
+            return 0;
+        }
+        return (long) ((projected - sizeBytes) / bytesPerSecond);
+    }
+
+    @Override
+    public String toString() {
+        return "TopicSizeStats{" +
+                "topic='" + topic + '\'' +
+                ", sizeBytes=" + sizeBytes +
+                ", bytesPerSecond=" + bytesPerSecond +
+                ", skew=" + getSkew() +
+                '}';
+    }
+}
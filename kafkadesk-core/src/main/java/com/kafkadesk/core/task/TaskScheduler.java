@@ -0,0 +1,287 @@
+package com.kafkadesk.core.task;
+
+import com.kafkadesk.utils.ThreadUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shared scheduler for background work.
+ * Tasks run on one bounded pool of named daemon threads. Each cluster gets its own
+ * lane with a concurrency limit so a single slow cluster cannot occupy the whole pool.
+ * Tasks submitted with a key are deduplicated while in flight and can be cancelled.
+ */
+public class TaskScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(TaskScheduler.class);
+    private static final int POOL_SIZE = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+    private static final int DEFAULT_CLUSTER_CONCURRENCY = 4;
+    private static final String GLOBAL_LANE = "";
+    private static TaskScheduler instance;
+
+    private final ThreadPoolExecutor executor;
+    private final Map<String, Lane> lanes = new ConcurrentHashMap<>();
+    private final Map<String, ScheduledTask<?>> inFlight = new ConcurrentHashMap<>();
+    private volatile int clusterConcurrency = DEFAULT_CLUSTER_CONCURRENCY;
+
+    private TaskScheduler() {
+        executor = new ThreadPoolExecutor(POOL_SIZE, POOL_SIZE, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), ThreadUtil.numberedDaemonThreadFactory("kafkadesk-worker"));
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    public static synchronized TaskScheduler getInstance() {
+        if (instance == null) {
+            instance = new TaskScheduler();
+        }
+        return instance;
+    }
+
+    /**
+     * Submit a task.
+     * If a task with the same cluster and key is still in flight, its future is returned
+     * instead of running the work again.
+     *
+     * @param clusterId cluster the work targets, or null for work not bound to a cluster
+     * @param taskKey   identity of the request, or null to disable deduplication
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> submit(String clusterId, String taskKey, Callable<T> task) {
+        if (taskKey == null) {
+            return enqueue(clusterId, null, task).future;
+        }
+        String key = key(clusterId, taskKey);
+        List<ScheduledTask<T>> created = new ArrayList<>(1);
+        // Atomic, so concurrent submits of the same key share one task
+        ScheduledTask<?> scheduled = inFlight.compute(key, (k, existing) -> {
+            if (existing != null && !existing.future.isDone()) {
+                return existing;
+            }
+            ScheduledTask<T> fresh = new ScheduledTask<>(k, task);
+            created.add(fresh);
+            return fresh;
+        });
+        if (!created.isEmpty()) {
+            start(clusterId, created.get(0));
+        }
+        return (CompletableFuture<T>) scheduled.future;
+    }
+
+    /**
+     * Submit a task, cancelling any in-flight task with the same key first.
+     * Used for loads whose previous result is stale once a new one is requested.
+     */
+    public <T> CompletableFuture<T> submitLatest(String clusterId, String taskKey, Callable<T> task) {
+        cancel(clusterId, taskKey);
+        return submit(clusterId, taskKey, task);
+    }
+
+    /**
+     * Cancel the in-flight task with the given key, interrupting it if it is running
+     */
+    public void cancel(String clusterId, String taskKey) {
+        ScheduledTask<?> task = inFlight.remove(key(clusterId, taskKey));
+        if (task != null) {
+            task.future.cancel(true);
+        }
+    }
+
+    /**
+     * Cancel every in-flight task of a cluster
+     */
+    public void cancelAll(String clusterId) {
+        String prefix = key(clusterId, "");
+        inFlight.forEach((key, task) -> {
+            if (key.startsWith(prefix)) {
+                task.future.cancel(true);
+            }
+        });
+        Lane lane = lanes.get(laneId(clusterId));
+        if (lane != null) {
+            lane.cancelPending();
+        }
+    }
+
+    /**
+     * Maximum number of tasks running concurrently for a single cluster
+     */
+    public void setClusterConcurrency(int clusterConcurrency) {
+        this.clusterConcurrency = Math.max(1, clusterConcurrency);
+    }
+
+    /**
+     * Number of tasks that are queued or running
+     */
+    public int getActiveTaskCount() {
+        return lanes.values().stream().mapToInt(Lane::size).sum();
+    }
+
+    /**
+     * Cancel everything and stop the worker threads
+     */
+    public void shutdown() {
+        inFlight.values().forEach(task -> task.future.cancel(true));
+        inFlight.clear();
+        lanes.values().forEach(Lane::cancelPending);
+        executor.shutdownNow();
+        logger.info("Task scheduler shut down");
+    }
+
+    private <T> ScheduledTask<T> enqueue(String clusterId, String key, Callable<T> callable) {
+        ScheduledTask<T> task = new ScheduledTask<>(key, callable);
+        start(clusterId, task);
+        return task;
+    }
+
+    /**
+     * Queue a task on its lane; keyed tasks must already be registered in flight
+     */
+    private void start(String clusterId, ScheduledTask<?> task) {
+        task.future.whenComplete((result, error) -> {
+            if (task.future.isCancelled()) {
+                task.interruptIfRunning();
+            }
+            if (task.key != null) {
+                inFlight.remove(task.key, task);
+            }
+        });
+
+        String laneId = laneId(clusterId);
+        lanes.computeIfAbsent(laneId, id -> new Lane(GLOBAL_LANE.equals(id))).enqueue(task);
+    }
+
+    private static String key(String clusterId, String taskKey) {
+        return laneId(clusterId) + "/" + taskKey;
+    }
+
+    private static String laneId(String clusterId) {
+        return clusterId != null ? clusterId : GLOBAL_LANE;
+    }
+
+    /**
+     * Per-cluster queue that admits at most a fixed number of running tasks to the pool
+     */
+    private final class Lane {
+        private final Deque<ScheduledTask<?>> pending = new ArrayDeque<>();
+        private final boolean global;
+        private int running;
+
+        Lane(boolean global) {
+            this.global = global;
+        }
+
+        private int limit() {
+            return global ? POOL_SIZE : clusterConcurrency;
+        }
+
+        void enqueue(ScheduledTask<?> task) {
+            synchronized (this) {
+                if (running >= limit()) {
+                    pending.addLast(task);
+                    return;
+                }
+                running++;
+            }
+            dispatch(task);
+        }
+
+        synchronized int size() {
+            return running + pending.size();
+        }
+
+        void cancelPending() {
+            ScheduledTask<?>[] tasks;
+            synchronized (this) {
+                tasks = pending.toArray(new ScheduledTask<?>[0]);
+                pending.clear();
+            }
+            for (ScheduledTask<?> task : tasks) {
+                task.future.cancel(false);
+            }
+        }
+
+        private void dispatch(ScheduledTask<?> task) {
+            try {
+                executor.execute(() -> {
+                    try {
+                        task.run();
+                    } finally {
+                        onFinished();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                task.future.completeExceptionally(e);
+                onFinished();
+            }
+        }
+
+        private void onFinished() {
+            ScheduledTask<?> next;
+            synchronized (this) {
+                do {
+                    next = pending.pollFirst();
+                } while (next != null && next.future.isDone());
+                if (next == null) {
+                    running--;
+                    return;
+                }
+            }
+            dispatch(next);
+        }
+    }
+
+    /**
+     * A submitted task and the future that exposes its result
+     */
+    private static final class ScheduledTask<T> {
+        private final String key;
+        private final Callable<T> callable;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private Thread runner;
+
+        ScheduledTask(String key, Callable<T> callable) {
+            this.key = key;
+            this.callable = callable;
+        }
+
+        void run() {
+            synchronized (this) {
+                if (future.isDone()) {
+                    return;
+                }
+                runner = Thread.currentThread();
+            }
+            try {
+                future.complete(callable.call());
+            } catch (Exception e) {
+                if (!future.isDone()) {
+                    logger.debug("Background task failed: {}", key, e);
+                }
+                future.completeExceptionally(e);
+            } finally {
+                synchronized (this) {
+                    runner = null;
+                }
+                // Do not leak a cancellation interrupt into the next task on this thread
+                Thread.interrupted();
+            }
+        }
+
+        synchronized void interruptIfRunning() {
+            if (runner != null) {
+                runner.interrupt();
+            }
+        }
+    }
+}
@@ -2,12 +2,17 @@ module com.kafkadesk.core {
     requires com.kafkadesk.model;
     requires com.kafkadesk.utils;
     requires kafka.clients;
+    requires com.github.luben.zstd_jni;
     requires org.slf4j;
     requires ch.qos.logback.classic;
     requires com.fasterxml.jackson.databind;
     
+    exports com.kafkadesk.core.cache;
     exports com.kafkadesk.core.config;
+    exports com.kafkadesk.core.history;
+    exports com.kafkadesk.core.search;
     exports com.kafkadesk.core.service;
+    exports com.kafkadesk.core.task;
     
     opens com.kafkadesk.core.config to com.fasterxml.jackson.databind;
 }
@@ -0,0 +1,115 @@
+package com.kafkadesk.core.history;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DeltaChunkTest {
+    private static final int FIRST_TICK = 100;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void flatRunsRoundTrip() throws IOException {
+        long[] values = new long[DeltaChunk.CAPACITY];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i < 300 ? 42 : 42 + 5L * (i - 299);
+        }
+        DeltaChunk chunk = chunk(values);
+        chunk.seal();
+
+        assertArrayEquals(values, decode(chunk, values.length));
+        // Two constant slopes cost a handful of tokens, not one per sample
+        assertTrue(chunk.memoryBytes() < 100, "flat runs should encode to a few bytes");
+    }
+
+    @Test
+    void signChangesRoundTrip() throws IOException {
+        long[] values = {0, 1000, 3, 1L << 40, 0, 7, 7, 7, -1 + (1L << 20), 12, 12, 0};
+        DeltaChunk chunk = chunk(values);
+        chunk.seal();
+
+        assertArrayEquals(values, decode(chunk, values.length));
+    }
+
+    @Test
+    void openChunkIncludesTrailingZeros() throws IOException {
+        long[] values = {10, 20, 30, 40, 50, 50, 50, 50};
+        DeltaChunk chunk = chunk(values);
+
+        assertFalse(chunk.isSealed());
+        assertArrayEquals(values, decode(chunk, values.length));
+        // Appending after a read continues the pending run
+        chunk.append(50);
+        assertEquals(50, decode(chunk, values.length + 1)[values.length]);
+    }
+
+    @Test
+    void rangeDecodeReturnsOnlyRequestedTicks() throws IOException {
+        long[] values = {5, 6, 8, 8, 8, 1, 2, 3};
+        DeltaChunk chunk = chunk(values);
+        List<Integer> ticks = new ArrayList<>();
+        List<Long> decoded = new ArrayList<>();
+
+        chunk.decode(FIRST_TICK + 2, FIRST_TICK + 5, (tick, value) -> {
+            ticks.add(tick);
+            decoded.add(value);
+        });
+
+        assertEquals(List.of(FIRST_TICK + 2, FIRST_TICK + 3, FIRST_TICK + 4, FIRST_TICK + 5), ticks);
+        assertEquals(List.of(8L, 8L, 8L, 1L), decoded);
+    }
+
+    @Test
+    void spilledChunkRoundTrip() throws IOException {
+        SpillSegment segment = new SpillSegment(directory.resolve("lag-0.seg"));
+        long[] first = {1, 1, 1, 9, 20, 20};
+        long[] second = {300, 200, 100, 0, 0, 0};
+        DeltaChunk a = chunk(first);
+        DeltaChunk b = chunk(second);
+        a.seal();
+        b.seal();
+
+        a.spillTo(segment);
+        b.spillTo(segment);
+
+        assertTrue(a.isSpilled());
+        assertArrayEquals(first, decode(a, first.length));
+        assertArrayEquals(second, decode(b, second.length));
+        a.release();
+        assertFalse(segment.isUnused());
+        b.release();
+        assertTrue(segment.isUnused());
+        segment.delete();
+    }
+
+    private static DeltaChunk chunk(long[] values) {
+        DeltaChunk chunk = new DeltaChunk(FIRST_TICK);
+        for (long value : values) {
+            assertTrue(chunk.accepts(chunk.getLastTick() + 1));
+            chunk.append(value);
+        }
+        return chunk;
+    }
+
+    private static long[] decode(DeltaChunk chunk, int count) throws IOException {
+        long[] values = new long[count];
+        int[] index = {0};
+        chunk.decode(FIRST_TICK, Integer.MAX_VALUE, (tick, value) -> {
+            assertEquals(FIRST_TICK + index[0], tick);
+            values[index[0]++] = value;
+        });
+        assertEquals(count, index[0]);
+        return values;
+    }
+}
@@ -0,0 +1,63 @@
+package com.kafkadesk.core.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SearchQueryTest {
+
+    @Test
+    void plainLiteralsAreRequired() {
+        assertEquals(List.of("orders"), SearchQuery.requiredLiterals("orders"));
+        assertEquals(List.of("orders.v"), SearchQuery.requiredLiterals("^orders\\.v\\d+$"));
+        assertEquals(List.of("order", "-events"), SearchQuery.requiredLiterals("orders?-events"));
+    }
+
+    @Test
+    void optionalGroupLiteralsAreNotRequired() {
+        assertEquals(List.of("orders"), SearchQuery.requiredLiterals("orders(-dlq)?"));
+        assertEquals(List.of("orders"), SearchQuery.requiredLiterals("orders(-retry)*"));
+        assertEquals(List.of("orders"), SearchQuery.requiredLiterals("orders(-retry){0,3}"));
+        assertEquals(List.of("orders", "events"), SearchQuery.requiredLiterals("orders(-dlq)?events"));
+    }
+
+    @Test
+    void nestedOptionalGroupsAreDropped() {
+        assertEquals(List.of("a"), SearchQuery.requiredLiterals("a(b(c)d)?"));
+        assertEquals(List.of("a", "b", "d"), SearchQuery.requiredLiterals("a(b(c)?d)"));
+    }
+
+    @Test
+    void requiredGroupLiteralsAreKept() {
+        assertEquals(List.of("orders", "-dlq"), SearchQuery.requiredLiterals("orders(-dlq)"));
+        assertEquals(List.of("orders", "-dlq"), SearchQuery.requiredLiterals("orders(-dlq)+"));
+        assertEquals(List.of("orders", "-dlq"), SearchQuery.requiredLiterals("orders(-dlq){1,2}"));
+        assertEquals(List.of("orders", "-dlq"), SearchQuery.requiredLiterals("orders(-dlq){10}"));
+    }
+
+    @Test
+    void escapeArgumentsAreNotLiterals() {
+        assertEquals(List.of("order", "v1"), SearchQuery.requiredLiterals("order\\x2dv1"));
+        assertEquals(List.of("order", "v1"), SearchQuery.requiredLiterals("order\\x{2d}v1"));
+        assertEquals(List.of("abc"), SearchQuery.requiredLiterals("abc\\u0041"));
+        assertEquals(List.of("abc", "d"), SearchQuery.requiredLiterals("abc\\0101d"));
+        assertEquals(List.of("abc", "d"), SearchQuery.requiredLiterals("abc\\cAd"));
+        assertEquals(List.of("abc", "d"), SearchQuery.requiredLiterals("abc\\p{Lu}d"));
+        assertEquals(List.of("abc", "d"), SearchQuery.requiredLiterals("abc\\pLd"));
+        assertEquals(List.of("ab", "c"), SearchQuery.requiredLiterals("ab\\k<n>c"));
+    }
+
+    @Test
+    void escapedBracketDoesNotCloseClass() {
+        assertEquals(List.of("yz"), SearchQuery.requiredLiterals("[\\]x]yz"));
+        assertEquals(List.of("yz"), SearchQuery.requiredLiterals("[a-z&&[^x]]yz"));
+    }
+
+    @Test
+    void alternationGivesNoLiterals() {
+        assertEquals(List.of(), SearchQuery.requiredLiterals("orders|payments"));
+        assertEquals(List.of(), SearchQuery.requiredLiterals("(?i)orders"));
+    }
+}
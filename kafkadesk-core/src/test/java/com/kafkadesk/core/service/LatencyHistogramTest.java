@@ -0,0 +1,53 @@
+package com.kafkadesk.core.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+
+    @Test
+    void smallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 20; i++) {
+            histogram.record(i);
+        }
+        assertEquals(10, histogram.percentile(50));
+        assertEquals(20, histogram.percentile(100));
+        assertEquals(20, histogram.getMax());
+    }
+
+    @Test
+    void largeValuesAreWithinBucketError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1_000_000; i++) {
+            histogram.record(i);
+        }
+        assertWithin(500_000, histogram.percentile(50));
+        assertWithin(990_000, histogram.percentile(99));
+        assertEquals(1_000_000, histogram.percentile(100));
+        assertEquals(1_000_000, histogram.getCount());
+    }
+
+    @Test
+    void emptyHistogramReportsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.percentile(99));
+        assertEquals(0, histogram.getMax());
+    }
+
+    @Test
+    void snapshotIsNotAffectedByLaterValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(5);
+        LatencyHistogram snapshot = histogram.snapshot();
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(5, snapshot.getMax());
+        assertEquals(Long.MAX_VALUE, histogram.percentile(100));
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue(Math.abs(actual - expected) <= expected * 0.035, expected + " vs " + actual);
+    }
+}
@@ -0,0 +1,242 @@
+package com.kafkadesk.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Broker information model
+ */
+public class BrokerInfo {
+    private int id;
+    private String host;
+    private int port;
+    private String rack;
+    private boolean online;
+    private boolean controller;
+    private int leaderCount;
+    private int replicaCount;
+    private List<LogDirInfo> logDirs;
+
+    public BrokerInfo() {
+        this.logDirs = new ArrayList<>();
+    }
+
+    public BrokerInfo(int id, String host, int port) {
+        this();
+        this.id = id;
+        this.host = host;
+        this.port = port;
+    }
+
+    // Getters and Setters
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public void setHost(String host) {
+        this.host = host;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public void setPort(int port) {
+        this.port = port;
+    }
+
+    public String getRack() {
+        return rack;
+    }
+
+    public void setRack(String rack) {
+        this.rack = rack;
+    }
+
+    /**
+     * Whether the broker is registered with the cluster; offline brokers are only known from replica lists
+     */
+    public boolean isOnline() {
+        return online;
+    }
+
+    public void setOnline(boolean online) {
+        this.online = online;
+    }
+
+    public boolean isController() {
+        return controller;
+    }
+
+    public void setController(boolean controller) {
+        this.controller = controller;
+    }
+
+    /**
+     * Partitions this broker leads
+     */
+    public int getLeaderCount() {
+        return leaderCount;
+    }
+
+    public void setLeaderCount(int leaderCount) {
+        this.leaderCount = leaderCount;
+    }
+
+    /**
+     * Partition replicas assigned to this broker
+     */
+    public int getReplicaCount() {
+        return replicaCount;
+    }
+
+    public void setReplicaCount(int replicaCount) {
+        this.replicaCount = replicaCount;
+    }
+
+    public List<LogDirInfo> getLogDirs() {
+        return logDirs;
+    }
+
+    public void setLogDirs(List<LogDirInfo> logDirs) {
+        this.logDirs = logDirs;
+    }
+
+    /**
+     * Bytes of partition data over all log dirs
+     */
+    public long getSizeBytes() {
+        long total = 0;
+        for (LogDirInfo dir : logDirs) {
+            total += dir.getSizeBytes();
+        }
+        return total;
+    }
+
+    /**
+     * Capacity of all log dirs' volumes, or -1 if the broker does not report it
+     */
+    public long getTotalBytes() {
+        long total = 0;
+        for (LogDirInfo dir : logDirs) {
+            if (dir.getTotalBytes() < 0) {
+                return -1;
+            }
+            total += dir.getTotalBytes();
+        }
+        return logDirs.isEmpty() ? -1 : total;
+    }
+
+    /**
+     * Free space on all log dirs' volumes, or -1 if the broker does not report it
+     */
+    public long getUsableBytes() {
+        long total = 0;
+        for (LogDirInfo dir : logDirs) {
+            if (dir.getUsableBytes() < 0) {
+                return -1;
+            }
+            total += dir.getUsableBytes();
+        }
+        return logDirs.isEmpty() ? -1 : total;
+    }
+
+    @Override
+    public String toString() {
+        return "BrokerInfo{" +
+                "id=" + id +
+                ", host='" + host + '\'' +
+                ", port=" + port +
+                ", online=" + online +
+                ", leaders=" + leaderCount +
+                ", replicas=" + replicaCount +
+                '}';
+    }
+
+    /**
+     * One log directory of a broker
+     */
+    public static class LogDirInfo {
+        private String path;
+        private long sizeBytes;
+        private long totalBytes = -1;
+        private long usableBytes = -1;
+        private int replicaCount;
+        private String error;
+
+        public LogDirInfo() {
+        }
+
+        public LogDirInfo(String path) {
+            this.path = path;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        /**
+         * Bytes of partition data in this dir
+         */
+        public long getSizeBytes() {
+            return sizeBytes;
+        }
+
+        public void setSizeBytes(long sizeBytes) {
+            this.sizeBytes = sizeBytes;
+        }
+
+        /**
+         * Volume capacity, or -1 if unknown (brokers before 3.3)
+         */
+        public long getTotalBytes() {
+            return totalBytes;
+        }
+
+        public void setTotalBytes(long totalBytes) {
+            this.totalBytes = totalBytes;
+        }
+
+        /**
+         * Free space on the volume, or -1 if unknown (brokers before 3.3)
+         */
+        public long getUsableBytes() {
+            return usableBytes;
+        }
+
+        public void setUsableBytes(long usableBytes) {
+            this.usableBytes = usableBytes;
+        }
+
+        public int getReplicaCount() {
+            return replicaCount;
+        }
+
+        public void setReplicaCount(int replicaCount) {
+            this.replicaCount = replicaCount;
+        }
+
+        /**
+         * Error reported for this dir, e.g. when it is offline; null if healthy
+         */
+        public String getError() {
+            return error;
+        }
+
+        public void setError(String error) {
+            this.error = error;
+        }
+    }
+}
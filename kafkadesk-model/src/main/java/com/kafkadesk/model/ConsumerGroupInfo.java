@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * Consumer group information model
@@ -180,6 +181,19 @@ public class ConsumerGroupInfo {
             this.partition = partition;
         }
 
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            TopicPartition that = (TopicPartition) o;
+            return partition == that.partition && Objects.equals(topic, that.topic);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(topic, partition);
+        }
+
         @Override
         public String toString() {
             return topic + "-" + partition;
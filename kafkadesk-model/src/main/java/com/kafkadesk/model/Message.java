@@ -1,10 +1,13 @@
 package com.kafkadesk.model;
 
-import java.util.HashMap;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
- * Message model
+ * Message model.
+ * Consumed messages keep the raw key/value/header bytes and decode them to UTF-8
+ * strings only on first access, so messages that are never displayed cost no decoding.
  */
 public class Message {
     private String topic;
@@ -15,9 +18,12 @@ public class Message {
     private Map<String, String> headers;
     private Long timestamp;
     private MessageFormat format;
+    private byte[] keyBytes;
+    private byte[] valueBytes;
+    private String[] headerKeys;
+    private byte[][] headerValues;
 
     public Message() {
-        this.headers = new HashMap<>();
         this.format = MessageFormat.TEXT;
     }
 
@@ -53,27 +59,116 @@ public class Message {
     }
 
     public String getKey() {
+        if (key == null && keyBytes != null) {
+            key = decode(keyBytes);
+        }
         return key;
     }
 
     public void setKey(String key) {
         this.key = key;
+        this.keyBytes = null;
     }
 
     public String getValue() {
+        if (value == null && valueBytes != null) {
+            value = decode(valueBytes);
+        }
         return value;
     }
 
     public void setValue(String value) {
         this.value = value;
+        this.valueBytes = null;
     }
 
     public Map<String, String> getHeaders() {
+        if (headers == null) {
+            headers = new LinkedHashMap<>();
+            if (headerKeys != null) {
+                for (int i = 0; i < headerKeys.length; i++) {
+                    headers.put(headerKeys[i], headerValues[i] != null ? decode(headerValues[i]) : null);
+                }
+                headerKeys = null;
+                headerValues = null;
+            }
+        }
         return headers;
     }
 
     public void setHeaders(Map<String, String> headers) {
         this.headers = headers;
+        this.headerKeys = null;
+        this.headerValues = null;
+    }
+
+    /**
+     * Headers as raw bytes; raw headers are returned without decoding them
+     */
+    public Map<String, byte[]> getHeaderBytes() {
+        Map<String, byte[]> headerBytes = new LinkedHashMap<>();
+        if (headerKeys != null) {
+            for (int i = 0; i < headerKeys.length; i++) {
+                headerBytes.put(headerKeys[i], headerValues[i]);
+            }
+        } else if (headers != null) {
+            headers.forEach((key, value) ->
+                    headerBytes.put(key, value != null ? value.getBytes(StandardCharsets.UTF_8) : null));
+        }
+        return headerBytes;
+    }
+
+    /**
+     * Raw key bytes, or the UTF-8 encoding of a key set as string
+     */
+    public byte[] getKeyBytes() {
+        if (keyBytes == null && key != null) {
+            return key.getBytes(StandardCharsets.UTF_8);
+        }
+        return keyBytes;
+    }
+
+    /**
+     * Set the raw key; it is decoded on the first {@link #getKey()}
+     */
+    public void setKeyBytes(byte[] keyBytes) {
+        this.keyBytes = keyBytes;
+        this.key = null;
+    }
+
+    /**
+     * Raw value bytes, or the UTF-8 encoding of a value set as string
+     */
+    public byte[] getValueBytes() {
+        if (valueBytes == null && value != null) {
+            return value.getBytes(StandardCharsets.UTF_8);
+        }
+        return valueBytes;
+    }
+
+    /**
+     * Set the raw value; it is decoded on the first {@link #getValue()}
+     */
+    public void setValueBytes(byte[] valueBytes) {
+        this.valueBytes = valueBytes;
+        this.value = null;
+    }
+
+    /**
+     * Set raw headers; they are decoded on the first {@link #getHeaders()}
+     */
+    public void setRawHeaders(String[] headerKeys, byte[][] headerValues) {
+        this.headerKeys = headerKeys;
+        this.headerValues = headerValues;
+        this.headers = null;
+    }
+
+    /**
+     * Size of the value in bytes without decoding it
+     */
+    public int getValueSize() {
+        byte[] bytes = getValueBytes();
+        return bytes != null ? bytes.length : 0;
     }
 
     public Long getTimestamp() {
@@ -98,12 +193,16 @@ public class Message {
                 "topic='" + topic + '\'' +
                 ", partition=" + partition +
                 ", offset=" + offset +
-                ", key='" + key + '\'' +
-                ", value='" + value + '\'' +
+                ", key='" + getKey() + '\'' +
+                ", value='" + getValue() + '\'' +
                 ", timestamp=" + timestamp +
                 '}';
     }
 
+    private static String decode(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
     /**
      * Message format enumeration
      */
@@ -0,0 +1,94 @@
+package com.kafkadesk.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Offset range and replica state of a single topic partition
+ */
+public class PartitionOffsets {
+    private String topic;
+    private int partition;
+    private long earliestOffset;
+    private long latestOffset;
+    private TopicInfo.Node leader;
+    private List<TopicInfo.Node> isr;
+
+    public PartitionOffsets() {
+        this.isr = new ArrayList<>();
+    }
+
+    public PartitionOffsets(String topic, int partition, long earliestOffset, long latestOffset) {
+        this();
+        this.topic = topic;
+        this.partition = partition;
+        this.earliestOffset = earliestOffset;
+        this.latestOffset = latestOffset;
+    }
+
+    // Getters and Setters
+    public String getTopic() {
+        return topic;
+    }
+
+    public void setTopic(String topic) {
+        this.topic = topic;
+    }
+
+    public int getPartition() {
+        return partition;
+    }
+
+    public void setPartition(int partition) {
+        this.partition = partition;
+    }
+
+    public long getEarliestOffset() {
+        return earliestOffset;
+    }
+
+    public void setEarliestOffset(long earliestOffset) {
+        this.earliestOffset = earliestOffset;
+    }
+
+    public long getLatestOffset() {
+        return latestOffset;
+    }
+
+    public void setLatestOffset(long latestOffset) {
+        this.latestOffset = latestOffset;
+    }
+
+    /**
+     * Number of messages currently retained in the partition
+     */
+    public long getMessageCount() {
+        return Math.max(0, latestOffset - earliestOffset);
+    }
+
+    public TopicInfo.Node getLeader() {
+        return leader;
+    }
+
+    public void setLeader(TopicInfo.Node leader) {
+        this.leader = leader;
+    }
+
+    public List<TopicInfo.Node> getIsr() {
+        return isr;
+    }
+
+    public void setIsr(List<TopicInfo.Node> isr) {
+        this.isr = isr;
+    }
+
+    @Override
+    public String toString() {
+        return "PartitionOffsets{" +
+                "topic='" + topic + '\'' +
+                ", partition=" + partition +
+                ", earliestOffset=" + earliestOffset +
+                ", latestOffset=" + latestOffset +
+                '}';
+    }
+}
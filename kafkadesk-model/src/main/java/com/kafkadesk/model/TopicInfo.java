@@ -14,6 +14,8 @@ public class TopicInfo {
     private int partitions;
     private int replicationFactor;
     private String retentionTime; // Formatted retention time (e.g., "7 days", "168 hours")
+    private long retentionMs = -1;
+    private long retentionBytes = -1;
     private Map<String, String> config;
     private List<PartitionInfo> partitionDetails;
 
@@ -62,6 +64,28 @@ public class TopicInfo {
         this.retentionTime = retentionTime;
     }
 
+    /**
+     * Effective retention.ms, or -1 for unlimited
+     */
+    public long getRetentionMs() {
+        return retentionMs;
+    }
+
+    public void setRetentionMs(long retentionMs) {
+        this.retentionMs = retentionMs;
+    }
+
+    /**
+     * Effective retention.bytes per partition, or -1 for unlimited
+     */
+    public long getRetentionBytes() {
+        return retentionBytes;
+    }
+
+    public void setRetentionBytes(long retentionBytes) {
+        this.retentionBytes = retentionBytes;
+    }
+
     public Map<String, String> getConfig() {
         return config;
     }
@@ -3,7 +3,9 @@ package com.kafkadesk.ui;
 import com.kafkadesk.core.config.ConfigManager;
 import com.kafkadesk.core.service.ClusterService;
 import com.kafkadesk.core.service.ConsumerService;
+import com.kafkadesk.core.service.MessageBrowserService;
 import com.kafkadesk.core.service.ProducerService;
+import com.kafkadesk.core.task.TaskScheduler;
 import com.kafkadesk.ui.controller.MainController;
 import com.kafkadesk.ui.util.I18nUtil;
 import javafx.application.Application;
@@ -75,6 +77,9 @@ public class KafkaDeskApplication extends Application {
             primaryStage.show();
             logger.info("KafkaDesk application started successfully");
 
+            // Connect in the background once the window is up, so it never waits on a cluster
+            controller.connectOnStartup();
+
         } catch (Exception e) {
             logger.error("Failed to start application", e);
             throw new RuntimeException(e);
@@ -97,9 +102,13 @@ public class KafkaDeskApplication extends Application {
             windowConfig.setMaximized(stage.isMaximized());
             ConfigManager.getInstance().saveConfig();
 
+            // Stop background tasks before their connections go away
+            TaskScheduler.getInstance().shutdown();
+
             // Close all connections
             ClusterService.getInstance().closeAllConnections();
             ProducerService.getInstance().closeAllProducers();
+            MessageBrowserService.getInstance().closeAllSessions();
             ConsumerService.getInstance().closeAllConsumers();
 
             logger.info("KafkaDesk application closed successfully");
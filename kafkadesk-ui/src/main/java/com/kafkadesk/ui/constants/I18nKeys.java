@@ -49,6 +49,11 @@ public final class I18nKeys {
     public static final String CLUSTER_EDIT_ERROR_HOST_EMPTY = "cluster.edit.error.hostEmpty";
     public static final String CLUSTER_EDIT_ERROR_PORT_EMPTY = "cluster.edit.error.portEmpty";
     public static final String CLUSTER_EDIT_ERROR_PORT_INVALID = "cluster.edit.error.portInvalid";
+    public static final String CLUSTER_EDIT_AUTO_CONNECT = "cluster.edit.autoConnect";
+    public static final String CLUSTER_STATE_CONNECTING = "cluster.state.connecting";
+    public static final String CLUSTER_STATE_LOADING = "cluster.state.loading";
+    public static final String CLUSTER_STATE_FAILED = "cluster.state.failed";
+    public static final String CLUSTER_STARTUP_PROGRESS = "cluster.startup.progress";
 
     // I18n Keys - Tabs
     public static final String TAB_OVERVIEW = "tab.overview";
@@ -142,6 +147,19 @@ public final class I18nKeys {
     public static final String QUERY_FOUND = "query.found";
     public static final String QUERY_NO_CONNECTION = "query.noConnection";
 
+    // I18n Keys - Message Browsing
+    public static final String BROWSE_TAB = "browse.tab";
+    public static final String BROWSE_FROM = "browse.from";
+    public static final String BROWSE_START = "browse.start";
+    public static final String BROWSE_STOP = "browse.stop";
+    public static final String BROWSE_PARTITION = "browse.partition";
+    public static final String BROWSE_STATS = "browse.stats";
+    public static final String BROWSE_POSITION_LATEST = "browse.position.latest";
+    public static final String BROWSE_POSITION_EARLIEST = "browse.position.earliest";
+    public static final String BROWSE_POSITION_LAST_5M = "browse.position.last5m";
+    public static final String BROWSE_POSITION_LAST_1H = "browse.position.last1h";
+    public static final String BROWSE_POSITION_LAST_24H = "browse.position.last24h";
+
     // I18n Keys - Consumer Group
     public static final String CONSUMER_GROUP_LIST = "consumerGroup.list";
     public static final String CONSUMER_GROUP_DETAILS = "consumerGroup.details";
@@ -157,6 +175,9 @@ public final class I18nKeys {
     public static final String CONSUMER_GROUP_LAG = "consumerGroup.lag";
     public static final String CONSUMER_GROUP_LOADING = "consumerGroup.loading";
     public static final String CONSUMER_GROUP_LOADED = "consumerGroup.loaded";
+    public static final String CONSUMER_GROUP_TREND_STALLED = "consumerGroup.trend.stalled";
+    public static final String CONSUMER_GROUP_TREND_CATCHING_UP = "consumerGroup.trend.catchingUp";
+    public static final String CONSUMER_GROUP_TREND_FALLING_BEHIND = "consumerGroup.trend.fallingBehind";
 
     // I18n Keys - Settings
     public static final String SETTINGS_TITLE = "settings.title";
@@ -1,17 +1,37 @@
 package com.kafkadesk.ui.controller;
 
+import com.kafkadesk.core.cache.ClusterMetadataCache;
+import com.kafkadesk.core.cache.MetadataCacheManager;
+import com.kafkadesk.core.cache.MetadataDelta;
 import com.kafkadesk.core.config.ConfigManager;
+import com.kafkadesk.core.service.BrokerService;
+import com.kafkadesk.core.service.BrokerSizeStats;
 import com.kafkadesk.core.service.ClusterService;
 import com.kafkadesk.core.service.ConsumerGroupService;
+import com.kafkadesk.core.service.GroupLagRate;
+import com.kafkadesk.core.service.LagRateTracker;
+import com.kafkadesk.core.service.LagSampler;
+import com.kafkadesk.core.service.LogSizeSampler;
+import com.kafkadesk.core.service.BrowseOptions;
+import com.kafkadesk.core.service.MessageBrowserService;
+import com.kafkadesk.core.service.MessageBrowserSession;
+import com.kafkadesk.core.service.ProducerService;
+import com.kafkadesk.core.service.StartupConnector;
 import com.kafkadesk.core.service.TopicService;
+import com.kafkadesk.core.task.TaskScheduler;
+import com.kafkadesk.model.BrokerInfo;
 import com.kafkadesk.model.ClusterConfig;
 import com.kafkadesk.model.ConsumerGroupInfo;
 import com.kafkadesk.model.Message;
+import com.kafkadesk.model.PartitionOffsets;
 import com.kafkadesk.model.TopicInfo;
 import com.kafkadesk.ui.util.I18nUtil;
+import com.kafkadesk.ui.util.IndexedFilter;
 import com.kafkadesk.ui.constants.I18nKeys;
 import com.kafkadesk.ui.helper.ClusterOperationsHelper;
 import com.kafkadesk.utils.DateTimeUtil;
+import com.kafkadesk.utils.StringUtil;
+import javafx.animation.AnimationTimer;
 import javafx.application.Platform;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
@@ -30,11 +50,21 @@ import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
 import javafx.scene.layout.ColumnConstraints;
 import javafx.stage.Stage;
+import javafx.stage.WindowEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.net.URL;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Main Window Controller with TreeView-based cluster navigation
@@ -61,6 +91,8 @@ public class MainController implements Initializable {
     private final Map<String, TreeItem<String>> clusterTreeItems = new HashMap<>();
     private final Map<TreeItem<String>, TreeItemData> treeItemDataMap = new HashMap<>();
     private TreeItem<String> rootTreeItem; // Store root for filtering
+    private final Map<String, CompletableFuture<?>> pendingTasks = new HashMap<>(); // FX thread only
+    private final Set<String> startupConnecting = new HashSet<>(); // FX thread only
     
     // Tree item types
     private static final String TYPE_ROOT = "ROOT";
@@ -70,6 +102,10 @@ public class MainController implements Initializable {
     private static final String TYPE_TOPICS = "TOPICS";
     private static final String TYPE_CONSUMER_GROUPS = "CONSUMER_GROUPS";
     private static final String TYPE_ACL = "ACL";
+    private static final int MESSAGES_PER_FRAME = 5000;
+    private static final int MAX_MESSAGE_ROWS = 10000;
+    // Cache sections refreshed this recently, e.g. by the startup warm-up, are not loaded again
+    private static final long WARM_CACHE_MAX_AGE_MS = 30_000;
 
     @Override
     public void initialize(URL location, ResourceBundle resources) {
@@ -234,7 +270,11 @@ public class MainController implements Initializable {
         ClusterConfig cluster = data.getClusterConfig();
         String clusterId = data.getClusterId();
         
-        // Ensure cluster is connected
+        // Ensure cluster is connected; one still connecting at startup opens once it is ready
+        if (startupConnecting.contains(clusterId)) {
+            updateStatus(I18nUtil.get(I18nKeys.CLUSTER_CONNECTING, cluster.getName()));
+            return;
+        }
         if (!clusterContentManagers.containsKey(clusterId)) {
             connectToCluster(cluster);
         }
@@ -271,24 +311,144 @@ public class MainController implements Initializable {
     private void connectToCluster(ClusterConfig cluster) {
         updateStatus(I18nUtil.get(I18nKeys.CLUSTER_CONNECTING, cluster.getName()));
 
-        new Thread(() -> {
-            boolean connected = ClusterService.getInstance().connect(cluster);
-            
-            Platform.runLater(() -> {
-                if (connected) {
-                    updateStatus(I18nUtil.get(I18nKeys.CLUSTER_CONNECTED, cluster.getName()));
-                    
-                    // Create content manager for this cluster
-                    ClusterContentManager manager = new ClusterContentManager(cluster, this);
-                    clusterContentManagers.put(cluster.getId(), manager);
-                    manager.loadInitialData();
-                } else {
-                    updateStatus(I18nUtil.get(I18nKeys.CLUSTER_FAILED, cluster.getName()));
-                    showError(I18nUtil.get(I18nKeys.DIALOG_ERROR_TITLE), 
-                            I18nUtil.get(I18nKeys.CLUSTER_FAILED, cluster.getName()));
-                }
-            });
-        }).start();
+        runInBackground(cluster.getId(), "connect", () -> ClusterService.getInstance().connect(cluster), connected -> {
+            if (connected) {
+                updateStatus(I18nUtil.get(I18nKeys.CLUSTER_CONNECTED, cluster.getName()));
+                onClusterConnected(cluster);
+            } else {
+                updateStatus(I18nUtil.get(I18nKeys.CLUSTER_FAILED, cluster.getName()));
+                showError(I18nUtil.get(I18nKeys.DIALOG_ERROR_TITLE), 
+                        I18nUtil.get(I18nKeys.CLUSTER_FAILED, cluster.getName()));
+            }
+        });
+    }
+
+    private void onClusterConnected(ClusterConfig cluster) {
+        setClusterProgress(cluster, null);
+        LogSizeSampler.getInstance().start(cluster.getId());
+        LagSampler.getInstance().start(cluster.getId());
+
+        // Create content manager for this cluster
+        ClusterContentManager manager = new ClusterContentManager(cluster, this);
+        clusterContentManagers.put(cluster.getId(), manager);
+        manager.loadInitialData();
+    }
+
+    /**
+     * Connect the auto-connect clusters in parallel; called once the window is showing.
+     * Each cluster's tree item shows its progress, and a cluster opens as soon as it is ready,
+     * whatever the others are doing.
+     */
+    public void connectOnStartup() {
+        if (!ConfigManager.getInstance().getConfig().getPreferences().isAutoConnect()) {
+            return;
+        }
+        List<ClusterConfig> clusters = new ArrayList<>();
+        for (ClusterConfig cluster : ConfigManager.getInstance().getClusters()) {
+            if (cluster.isAutoConnect() && !clusterContentManagers.containsKey(cluster.getId())) {
+                clusters.add(cluster);
+                startupConnecting.add(cluster.getId());
+            }
+        }
+        if (clusters.isEmpty()) {
+            return;
+        }
+
+        int[] finished = new int[2]; // ready, failed
+        StartupConnector.getInstance().connectAll(clusters, StartupConnector.DEFAULT_TIMEOUT_MS,
+                (cluster, stage) -> Platform.runLater(() -> {
+                    onStartupProgress(cluster, stage);
+                    if (stage == StartupConnector.Stage.READY) {
+                        finished[0]++;
+                    } else if (stage == StartupConnector.Stage.FAILED) {
+                        finished[1]++;
+                    }
+                    if (stage == StartupConnector.Stage.READY || stage == StartupConnector.Stage.FAILED) {
+                        updateStatus(I18nUtil.get(I18nKeys.CLUSTER_STARTUP_PROGRESS,
+                                finished[0], clusters.size(), finished[1]));
+                    }
+                }));
+    }
+
+    private void onStartupProgress(ClusterConfig cluster, StartupConnector.Stage stage) {
+        if (!clusterTreeItems.containsKey(cluster.getId())) {
+            // Deleted while connecting
+            startupConnecting.remove(cluster.getId());
+            if (stage == StartupConnector.Stage.READY) {
+                ClusterService.getInstance().closeConnection(cluster.getId());
+                MetadataCacheManager.getInstance().removeCache(cluster.getId());
+            }
+            return;
+        }
+        switch (stage) {
+            case CONNECTING:
+                setClusterProgress(cluster, I18nUtil.get(I18nKeys.CLUSTER_STATE_CONNECTING));
+                break;
+            case CONNECTED:
+                setClusterProgress(cluster, I18nUtil.get(I18nKeys.CLUSTER_STATE_LOADING));
+                break;
+            case READY:
+                startupConnecting.remove(cluster.getId());
+                onClusterConnected(currentConfig(cluster));
+                break;
+            case FAILED:
+                startupConnecting.remove(cluster.getId());
+                setClusterProgress(cluster, I18nUtil.get(I18nKeys.CLUSTER_STATE_FAILED));
+                break;
+        }
+    }
+
+    /**
+     * Show a progress note after the cluster's name in the tree, or just the name if null
+     */
+    private void setClusterProgress(ClusterConfig cluster, String progress) {
+        TreeItem<String> clusterItem = clusterTreeItems.get(cluster.getId());
+        if (clusterItem != null) {
+            // The cluster may have been renamed since the connection started
+            String name = currentConfig(cluster).getName();
+            clusterItem.setValue(progress == null ? name : name + "  (" + progress + ")");
+        }
+    }
+
+    /**
+     * The cluster's configuration as currently saved, or the given one if it is gone
+     */
+    private ClusterConfig currentConfig(ClusterConfig cluster) {
+        ClusterConfig current = ConfigManager.getInstance().getClusterById(cluster.getId());
+        return current != null ? current : cluster;
+    }
+
+    /**
+     * Run work on the shared task scheduler and hand its result to the FX thread.
+     * A request identical to one still in flight joins it instead of running again.
+     */
+    <T> void runInBackground(String clusterId, String taskKey, Callable<T> task, Consumer<T> onSuccess) {
+        onFxThread(clusterId, taskKey, TaskScheduler.getInstance().submit(clusterId, taskKey, task), onSuccess);
+    }
+
+    /**
+     * Like {@link #runInBackground}, but cancels the in-flight request with the same key,
+     * whose result would be stale
+     */
+    <T> void runLatestInBackground(String clusterId, String taskKey, Callable<T> task, Consumer<T> onSuccess) {
+        onFxThread(clusterId, taskKey, TaskScheduler.getInstance().submitLatest(clusterId, taskKey, task), onSuccess);
+    }
+
+    private <T> void onFxThread(String clusterId, String taskKey, CompletableFuture<T> future, Consumer<T> onSuccess) {
+        String callbackKey = clusterId + "/" + taskKey;
+        if (pendingTasks.get(callbackKey) == future) {
+            // Joined a request whose callback is already registered
+            return;
+        }
+        pendingTasks.put(callbackKey, future);
+        future.whenComplete((result, error) -> Platform.runLater(() -> {
+            pendingTasks.remove(callbackKey, future);
+            if (error == null) {
+                onSuccess.accept(result);
+            } else if (!(error instanceof CancellationException)) {
+                logger.error("Background task failed: " + callbackKey, error);
+            }
+        }));
     }
 
     @FXML
@@ -310,6 +470,7 @@ public class MainController implements Initializable {
         ComboBox<String> protocolCombo = new ComboBox<>();
         protocolCombo.getItems().addAll("PLAINTEXT", "SASL_PLAINTEXT", "SASL_SSL", "SSL");
         protocolCombo.setValue("PLAINTEXT");
+        CheckBox autoConnectCheck = new CheckBox(I18nUtil.get(I18nKeys.CLUSTER_EDIT_AUTO_CONNECT));
         
         grid.add(new Label(I18nUtil.get(I18nKeys.CLUSTER_ADD_NAME)), 0, 0);
         grid.add(nameField, 1, 0);
@@ -319,6 +480,7 @@ public class MainController implements Initializable {
         grid.add(portField, 1, 2);
         grid.add(new Label(I18nUtil.get(I18nKeys.CLUSTER_EDIT_PROTOCOL)), 0, 3);
         grid.add(protocolCombo, 1, 3);
+        grid.add(autoConnectCheck, 1, 4);
         
         dialog.getDialogPane().setContent(grid);
         dialog.getDialogPane().getButtonTypes().addAll(ButtonType.OK, ButtonType.CANCEL);
@@ -370,6 +532,7 @@ public class MainController implements Initializable {
                 config.setName(nameField.getText().trim());
                 config.setBootstrapServers(hostnameField.getText().trim() + ":" + portField.getText().trim());
                 config.setSecurityProtocol(protocolCombo.getValue());
+                config.setAutoConnect(autoConnectCheck.isSelected());
                 return config;
             }
             return null;
@@ -419,6 +582,8 @@ public class MainController implements Initializable {
         
         String protocol = cluster.getSecurityProtocol();
         protocolCombo.setValue(protocol != null && !protocol.isEmpty() ? protocol : "PLAINTEXT");
+        CheckBox autoConnectCheck = new CheckBox(I18nUtil.get(I18nKeys.CLUSTER_EDIT_AUTO_CONNECT));
+        autoConnectCheck.setSelected(cluster.isAutoConnect());
         
         grid.add(new Label(I18nUtil.get(I18nKeys.CLUSTER_ADD_NAME)), 0, 0);
         grid.add(nameField, 1, 0);
@@ -428,6 +593,7 @@ public class MainController implements Initializable {
         grid.add(portField, 1, 2);
         grid.add(new Label(I18nUtil.get(I18nKeys.CLUSTER_EDIT_PROTOCOL)), 0, 3);
         grid.add(protocolCombo, 1, 3);
+        grid.add(autoConnectCheck, 1, 4);
         
         dialog.getDialogPane().setContent(grid);
         dialog.getDialogPane().getButtonTypes().addAll(ButtonType.OK, ButtonType.CANCEL);
@@ -460,6 +626,7 @@ public class MainController implements Initializable {
                 updatedCluster.setName(nameField.getText().trim());
                 updatedCluster.setBootstrapServers(hostnameField.getText().trim() + ":" + portField.getText().trim());
                 updatedCluster.setSecurityProtocol(protocolCombo.getValue());
+                updatedCluster.setAutoConnect(autoConnectCheck.isSelected());
                 updatedCluster.setCreatedAt(cluster.getCreatedAt());
                 return updatedCluster;
             }
@@ -470,6 +637,8 @@ public class MainController implements Initializable {
         Optional<ClusterConfig> result = dialog.showAndWait();
         result.ifPresent(updatedCluster -> {
             ConfigManager.getInstance().updateCluster(updatedCluster);
+            // Pooled producers were built from the old settings
+            ProducerService.getInstance().closeProducers(updatedCluster.getId());
             
             // Update tree item
             TreeItem<String> clusterTreeItem = clusterTreeItems.get(cluster.getId());
@@ -499,8 +668,15 @@ public class MainController implements Initializable {
                 clusterTreeItems.remove(cluster.getId());
             }
             
-            // Remove content manager
+            // Remove content manager and cached metadata
             clusterContentManagers.remove(cluster.getId());
+            TaskScheduler.getInstance().cancelAll(cluster.getId());
+            MessageBrowserService.getInstance().closeSessions(cluster.getId());
+            ProducerService.getInstance().closeProducers(cluster.getId());
+            MetadataCacheManager.getInstance().removeCache(cluster.getId());
+            LogSizeSampler.getInstance().stop(cluster.getId());
+            LagSampler.getInstance().stop(cluster.getId());
+            LagRateTracker.getInstance().clear(cluster.getId());
             
             // Clear content area if this cluster was displayed
             contentArea.getChildren().clear();
@@ -639,6 +815,30 @@ public class MainController implements Initializable {
         public ClusterConfig getClusterConfig() { return clusterConfig; }
     }
 
+    // Where message browsing starts; the "last ..." entries seek by timestamp instead of reading from the start
+    enum BrowsePosition {
+        LATEST(I18nKeys.BROWSE_POSITION_LATEST, null),
+        EARLIEST(I18nKeys.BROWSE_POSITION_EARLIEST, null),
+        LAST_5_MINUTES(I18nKeys.BROWSE_POSITION_LAST_5M, Duration.ofMinutes(5)),
+        LAST_HOUR(I18nKeys.BROWSE_POSITION_LAST_1H, Duration.ofHours(1)),
+        LAST_24_HOURS(I18nKeys.BROWSE_POSITION_LAST_24H, Duration.ofDays(1));
+
+        private final String labelKey;
+        private final Duration lookback;
+
+        BrowsePosition(String labelKey, Duration lookback) {
+            this.labelKey = labelKey;
+            this.lookback = lookback;
+        }
+
+        public Duration getLookback() { return lookback; }
+
+        @Override
+        public String toString() {
+            return I18nUtil.get(labelKey);
+        }
+    }
+
     // Inner class to manage content for each cluster
     static class ClusterContentManager {
         private final ClusterConfig cluster;
@@ -655,6 +855,7 @@ public class MainController implements Initializable {
         private TableView<TopicInfo> topicsTableView;
         private TextArea topicDetailsTextArea;
         private final ObservableList<TopicInfo> topicList = FXCollections.observableArrayList();
+        private final IndexedFilter<TopicInfo> topicFilter = new IndexedFilter<>(topicList, TopicInfo::getName);
         
         // Data components for consumer groups
         private TableView<ConsumerGroupRow> consumerGroupTableView;
@@ -669,6 +870,7 @@ public class MainController implements Initializable {
         private Label overviewBootstrapServers;
         private Label overviewBrokerCount;
         private Label overviewTopicCount;
+        private int detailWindowCount; // FX thread only
         
         // Data for brokers
         private TableView<BrokerRow> brokersTableView;
@@ -843,8 +1045,16 @@ public class MainController implements Initializable {
                     if (empty || item == null) {
                         setGraphic(null);
                         setText(null);
+                    } else if (BrokerRow.OFFLINE.equals(item)) {
+                        Label badge = new Label("● " + item);
+                        badge.setStyle("-fx-background-color: linear-gradient(to right, #fee2e2 0%, #fecaca 100%); " +
+                                     "-fx-text-fill: #991b1b; -fx-padding: 5 12 5 12; -fx-background-radius: 20; " +
+                                     "-fx-font-size: 11px; -fx-font-weight: 700; -fx-border-color: #fca5a5; " +
+                                     "-fx-border-width: 1; -fx-border-radius: 20;");
+                        setGraphic(badge);
+                        setText(null);
                     } else {
-                        Label badge = new Label("● ONLINE");
+                        Label badge = new Label("● " + item);
                         badge.setStyle("-fx-background-color: linear-gradient(to right, #d1fae5 0%, #a7f3d0 100%); " +
                                      "-fx-text-fill: #065f46; -fx-padding: 5 12 5 12; -fx-background-radius: 20; " +
                                      "-fx-font-size: 11px; -fx-font-weight: 700; -fx-border-color: #6ee7b7; " +
@@ -918,21 +1128,25 @@ public class MainController implements Initializable {
                         setText(null);
                     } else {
                         VBox container = new VBox(4);
-                        Label text = new Label("47.3 GB / 100 GB (47%)");  // Mock data
+                        Label text = new Label(item);
                         text.setStyle("-fx-font-size: 12px;");
+                        container.getChildren().add(text);
                         
-                        // Progress bar
-                        HBox progressBar = new HBox();
-                        progressBar.setStyle("-fx-background-color: #e1e8ed; -fx-background-radius: 10; -fx-pref-height: 6;");
-                        
-                        Region fill = new Region();
-                        fill.setStyle("-fx-background-color: linear-gradient(to right, #667eea 0%, #764ba2 100%); " +
-                                    "-fx-background-radius: 10;");
-                        fill.prefWidthProperty().bind(progressBar.widthProperty().multiply(0.47));
-                        fill.setMaxHeight(6);
-                        
-                        progressBar.getChildren().add(fill);
-                        container.getChildren().addAll(text, progressBar);
+                        // Progress bar, only when the broker reports its volume capacity
+                        BrokerRow row = getTableRow() != null ? getTableRow().getItem() : null;
+                        if (row != null && row.getDiskFraction() >= 0) {
+                            HBox progressBar = new HBox();
+                            progressBar.setStyle("-fx-background-color: #e1e8ed; -fx-background-radius: 10; -fx-pref-height: 6;");
+                            
+                            Region fill = new Region();
+                            fill.setStyle("-fx-background-color: linear-gradient(to right, #667eea 0%, #764ba2 100%); " +
+                                        "-fx-background-radius: 10;");
+                            fill.prefWidthProperty().bind(progressBar.widthProperty().multiply(row.getDiskFraction()));
+                            fill.setMaxHeight(6);
+                            
+                            progressBar.getChildren().add(fill);
+                            container.getChildren().add(progressBar);
+                        }
                         
                         setGraphic(container);
                         setText(null);
@@ -1209,8 +1423,16 @@ public class MainController implements Initializable {
                     if (empty || item == null) {
                         setGraphic(null);
                         setText(null);
+                    } else if (BrokerRow.OFFLINE.equals(item)) {
+                        Label badge = new Label("● " + item);
+                        badge.setStyle("-fx-background-color: linear-gradient(to right, #fee2e2 0%, #fecaca 100%); " +
+                                     "-fx-text-fill: #991b1b; -fx-padding: 5 12 5 12; -fx-background-radius: 20; " +
+                                     "-fx-font-size: 11px; -fx-font-weight: 700; -fx-border-color: #fca5a5; " +
+                                     "-fx-border-width: 1; -fx-border-radius: 20;");
+                        setGraphic(badge);
+                        setText(null);
                     } else {
-                        Label badge = new Label("● ONLINE");
+                        Label badge = new Label("● " + item);
                         badge.setStyle("-fx-background-color: linear-gradient(to right, #d1fae5 0%, #a7f3d0 100%); " +
                                      "-fx-text-fill: #065f46; -fx-padding: 5 12 5 12; -fx-background-radius: 20; " +
                                      "-fx-font-size: 11px; -fx-font-weight: 700; -fx-border-color: #6ee7b7; " +
@@ -1416,6 +1638,8 @@ public class MainController implements Initializable {
                                            "-fx-border-radius: 8; -fx-background-radius: 8;");
                 }
             });
+            searchField.textProperty().addListener((obs, oldVal, newVal) -> topicFilter.setQuery(newVal));
+            searchField.setOnAction(e -> topicFilter.applyQuery(searchField.getText()));
             
             Label searchIcon = new Label("🔍");
             searchIcon.setStyle("-fx-font-size: 16px; -fx-text-fill: #8492a6; -fx-padding: 0 12 0 0;");
@@ -1464,15 +1688,12 @@ public class MainController implements Initializable {
                                   "-fx-effect: dropshadow(gaussian, rgba(0,0,0,0.05), 3, 0, 0, 1);");
             
             topicsTableView = new TableView<>();
-            topicsTableView.setItems(topicList);
+            // Sorting applies to the filtered view; the table only builds cells for visible rows
+            topicFilter.getSorted().comparatorProperty().bind(topicsTableView.comparatorProperty());
+            topicsTableView.setItems(topicFilter.getSorted());
             topicsTableView.setStyle("-fx-background-color: white; -fx-background-radius: 12;");
             topicsTableView.setFixedCellSize(60);
-            
-            // Bind table height to item count
-            topicsTableView.prefHeightProperty().bind(
-                topicsTableView.fixedCellSizeProperty()
-                    .multiply(javafx.beans.binding.Bindings.size(topicsTableView.getItems()).add(1.5))
-            );
+            VBox.setVgrow(topicsTableView, javafx.scene.layout.Priority.ALWAYS);
             
             TableColumn<TopicInfo, String> nameCol = new TableColumn<>("Topic Name");
             nameCol.setCellValueFactory(new PropertyValueFactory<>("name"));
@@ -1580,8 +1801,10 @@ public class MainController implements Initializable {
             });
             
             tableContainer.getChildren().add(topicsTableView);
+            VBox.setVgrow(tableContainer, javafx.scene.layout.Priority.ALWAYS);
             
             vbox.getChildren().addAll(metricsGrid, tableContainer);
+            VBox.setVgrow(vbox, javafx.scene.layout.Priority.ALWAYS);
             
             mainContainer.getChildren().addAll(headerContainer, vbox);
             return mainContainer;
@@ -1594,6 +1817,8 @@ public class MainController implements Initializable {
             // Create a new window/dialog for topic details
             Stage detailStage = new Stage();
             detailStage.setTitle("Topic Details: " + topic.getName());
+            // Task keys are per window, so two windows on the same topic never cancel each other
+            String windowKey = topic.getName() + "#" + (++detailWindowCount);
             detailStage.initOwner(mainController.stage);
             
             TabPane detailTabPane = new TabPane();
@@ -1602,13 +1827,17 @@ public class MainController implements Initializable {
             
             // Tab 1: Partitions
             Tab partitionsTab = new Tab("Partitions");
-            partitionsTab.setContent(createPartitionsView(topic));
+            partitionsTab.setContent(createPartitionsView(topic, windowKey));
             
             // Tab 2: Consumers
             Tab consumersTab = new Tab("Consumers");
-            consumersTab.setContent(createTopicConsumersView(topic));
+            consumersTab.setContent(createTopicConsumersView(topic, windowKey));
+            
+            // Tab 3: Messages
+            Tab messagesTab = new Tab(I18nUtil.get(I18nKeys.BROWSE_TAB));
+            messagesTab.setContent(createMessagesView(topic, detailStage));
             
-            detailTabPane.getTabs().addAll(partitionsTab, consumersTab);
+            detailTabPane.getTabs().addAll(partitionsTab, consumersTab, messagesTab);
             
             Scene scene = new Scene(detailTabPane, 800, 600);
             detailStage.setScene(scene);
@@ -1621,13 +1850,19 @@ public class MainController implements Initializable {
                 });
             }
             
+            // Stop loading once the window is closed
+            detailStage.setOnHidden(e -> {
+                TaskScheduler.getInstance().cancel(cluster.getId(), "partitions:" + windowKey);
+                TaskScheduler.getInstance().cancel(cluster.getId(), "topic-consumers:" + windowKey);
+            });
+            
             detailStage.show();
         }
         
         /**
          * Create partitions view showing partition details
          */
-        private Node createPartitionsView(TopicInfo topic) {
+        private Node createPartitionsView(TopicInfo topic, String windowKey) {
             VBox vbox = new VBox(0);
             vbox.setStyle("-fx-background-color: white;");
             
@@ -1638,32 +1873,58 @@ public class MainController implements Initializable {
             
             TableColumn<PartitionRow, Integer> partitionCol = new TableColumn<>("Partition");
             partitionCol.setCellValueFactory(new PropertyValueFactory<>("partition"));
-            partitionCol.prefWidthProperty().bind(partitionsTable.widthProperty().multiply(0.20));
+            partitionCol.prefWidthProperty().bind(partitionsTable.widthProperty().multiply(0.15));
             
             TableColumn<PartitionRow, Long> minOffsetCol = new TableColumn<>("Min Offset");
             minOffsetCol.setCellValueFactory(new PropertyValueFactory<>("minOffset"));
-            minOffsetCol.prefWidthProperty().bind(partitionsTable.widthProperty().multiply(0.25));
+            minOffsetCol.prefWidthProperty().bind(partitionsTable.widthProperty().multiply(0.20));
             
             TableColumn<PartitionRow, Long> maxOffsetCol = new TableColumn<>("Max Offset");
             maxOffsetCol.setCellValueFactory(new PropertyValueFactory<>("maxOffset"));
-            maxOffsetCol.prefWidthProperty().bind(partitionsTable.widthProperty().multiply(0.25));
+            maxOffsetCol.prefWidthProperty().bind(partitionsTable.widthProperty().multiply(0.20));
             
             TableColumn<PartitionRow, String> leaderCol = new TableColumn<>("Leader");
             leaderCol.setCellValueFactory(new PropertyValueFactory<>("leader"));
-            leaderCol.prefWidthProperty().bind(partitionsTable.widthProperty().multiply(0.30));
+            leaderCol.prefWidthProperty().bind(partitionsTable.widthProperty().multiply(0.20));
+            
+            TableColumn<PartitionRow, String> isrCol = new TableColumn<>("ISR");
+            isrCol.setCellValueFactory(new PropertyValueFactory<>("isr"));
+            isrCol.prefWidthProperty().bind(partitionsTable.widthProperty().multiply(0.25));
             
-            partitionsTable.getColumns().addAll(partitionCol, minOffsetCol, maxOffsetCol, leaderCol);
+            partitionsTable.getColumns().addAll(partitionCol, minOffsetCol, maxOffsetCol, leaderCol, isrCol);
             partitionsTable.setItems(partitionData);
             
-            // Load partition data in background
-            new Thread(() -> {
-                // Simulate loading partition data - in real implementation, fetch from Kafka
-                for (int i = 0; i < topic.getPartitions(); i++) {
-                    int partition = i;
-                    PartitionRow row = new PartitionRow(partition, 0L, 1000L + (partition * 100), "Broker " + (partition % 3));
-                    Platform.runLater(() -> partitionData.add(row));
+            // Load partition offsets in background; rows are added as their offsets arrive,
+            // coalesced into one FX update per pulse
+            Queue<PartitionRow> arrived = new ConcurrentLinkedQueue<>();
+            AtomicBoolean drainScheduled = new AtomicBoolean();
+            AtomicBoolean completed = new AtomicBoolean();
+            Runnable drain = () -> {
+                drainScheduled.set(false);
+                if (completed.get()) {
+                    arrived.clear();
+                    return;
                 }
-            }).start();
+                PartitionRow row;
+                while ((row = arrived.poll()) != null) {
+                    insertPartitionRow(partitionData, row);
+                }
+            };
+            mainController.runLatestInBackground(cluster.getId(), "partitions:" + windowKey,
+                    () -> TopicService.getInstance().getPartitionOffsets(cluster.getId(), topic.getName(), offsets -> {
+                        arrived.add(createPartitionRow(offsets));
+                        if (drainScheduled.compareAndSet(false, true)) {
+                            Platform.runLater(drain);
+                        }
+                    }),
+                    offsets -> {
+                        // The final result replaces whatever streamed in
+                        completed.set(true);
+                        arrived.clear();
+                        List<PartitionRow> rows = new ArrayList<>(offsets.size());
+                        offsets.forEach(o -> rows.add(createPartitionRow(o)));
+                        partitionData.setAll(rows);
+                    });
             
             VBox.setVgrow(partitionsTable, javafx.scene.layout.Priority.ALWAYS);
             vbox.getChildren().add(partitionsTable);
@@ -1671,10 +1932,169 @@ public class MainController implements Initializable {
             return vbox;
         }
         
+        private PartitionRow createPartitionRow(PartitionOffsets offsets) {
+            StringJoiner isr = new StringJoiner(", ");
+            offsets.getIsr().forEach(node -> isr.add(String.valueOf(node.getId())));
+            String leader = offsets.getLeader() != null ? "Broker " + offsets.getLeader().getId() : "none";
+            return new PartitionRow(offsets.getPartition(), offsets.getEarliestOffset(),
+                    offsets.getLatestOffset(), leader, isr.toString());
+        }
+
+        /**
+         * Insert a row keeping the table ordered by partition
+         */
+        private void insertPartitionRow(ObservableList<PartitionRow> rows, PartitionRow row) {
+            int low = 0;
+            int high = rows.size();
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (rows.get(mid).getPartition() < row.getPartition()) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            rows.add(low, row);
+        }
+
+        /**
+         * Create live message view for a topic.
+         * A browser session polls on its own thread; an animation timer drains its buffer
+         * once per frame so the FX thread never waits on Kafka.
+         */
+        private Node createMessagesView(TopicInfo topic, Stage detailStage) {
+            VBox vbox = new VBox(0);
+            vbox.setStyle("-fx-background-color: white;");
+            
+            HBox toolbar = new HBox(10);
+            toolbar.setAlignment(javafx.geometry.Pos.CENTER_LEFT);
+            toolbar.setPadding(new Insets(10));
+            
+            ComboBox<BrowsePosition> positionCombo = new ComboBox<>(FXCollections.observableArrayList(BrowsePosition.values()));
+            positionCombo.setValue(BrowsePosition.LATEST);
+            Button toggleButton = new Button(I18nUtil.get(I18nKeys.BROWSE_START));
+            Label statsLabel = new Label();
+            statsLabel.setStyle("-fx-text-fill: #718096;");
+            toolbar.getChildren().addAll(new Label(I18nUtil.get(I18nKeys.BROWSE_FROM)), positionCombo, toggleButton, statsLabel);
+            
+            TableView<Message> messagesTable = new TableView<>();
+            messagesTable.setStyle("-fx-background-color: white;");
+            ObservableList<Message> messageData = FXCollections.observableArrayList();
+            
+            TableColumn<Message, Integer> partitionCol = new TableColumn<>(I18nUtil.get(I18nKeys.BROWSE_PARTITION));
+            partitionCol.setCellValueFactory(new PropertyValueFactory<>("partition"));
+            partitionCol.prefWidthProperty().bind(messagesTable.widthProperty().multiply(0.10));
+            
+            TableColumn<Message, Long> offsetCol = new TableColumn<>(I18nUtil.get(I18nKeys.QUERY_OFFSET));
+            offsetCol.setCellValueFactory(new PropertyValueFactory<>("offset"));
+            offsetCol.prefWidthProperty().bind(messagesTable.widthProperty().multiply(0.12));
+            
+            TableColumn<Message, String> timestampCol = new TableColumn<>(I18nUtil.get(I18nKeys.QUERY_TIMESTAMP));
+            timestampCol.setCellValueFactory(data -> new SimpleStringProperty(data.getValue().getTimestamp() != null
+                    ? DateTimeUtil.formatTimestamp(data.getValue().getTimestamp()) : ""));
+            timestampCol.prefWidthProperty().bind(messagesTable.widthProperty().multiply(0.18));
+            
+            TableColumn<Message, String> keyCol = new TableColumn<>(I18nUtil.get(I18nKeys.QUERY_KEY));
+            keyCol.setCellValueFactory(new PropertyValueFactory<>("key"));
+            keyCol.prefWidthProperty().bind(messagesTable.widthProperty().multiply(0.15));
+            
+            TableColumn<Message, String> valueCol = new TableColumn<>(I18nUtil.get(I18nKeys.QUERY_VALUE));
+            valueCol.setCellValueFactory(new PropertyValueFactory<>("value"));
+            valueCol.prefWidthProperty().bind(messagesTable.widthProperty().multiply(0.45));
+            
+            messagesTable.getColumns().addAll(partitionCol, offsetCol, timestampCol, keyCol, valueCol);
+            messagesTable.setItems(messageData);
+            
+            MessageBrowserSession[] session = new MessageBrowserSession[1];
+            List<Message> frame = new ArrayList<>(MESSAGES_PER_FRAME);
+            long[] lastStats = new long[2]; // time (nanos), consumed count
+            AnimationTimer drainTimer = new AnimationTimer() {
+                @Override
+                public void handle(long now) {
+                    MessageBrowserSession current = session[0];
+                    if (current == null) {
+                        return;
+                    }
+                    frame.clear();
+                    if (current.drainTo(frame, MESSAGES_PER_FRAME) > 0) {
+                        // Keep only the newest rows so the table stays bounded
+                        int overflow = messageData.size() + frame.size() - MAX_MESSAGE_ROWS;
+                        if (overflow >= messageData.size()) {
+                            messageData.setAll(frame.subList(Math.max(0, frame.size() - MAX_MESSAGE_ROWS), frame.size()));
+                        } else {
+                            if (overflow > 0) {
+                                messageData.remove(0, overflow);
+                            }
+                            messageData.addAll(frame);
+                        }
+                    }
+                    if (now - lastStats[0] >= 1_000_000_000L) {
+                        long consumed = current.getConsumedCount();
+                        double seconds = (now - lastStats[0]) / 1e9;
+                        long rate = lastStats[0] == 0 ? 0 : Math.round((consumed - lastStats[1]) / seconds);
+                        lastStats[0] = now;
+                        lastStats[1] = consumed;
+                        statsLabel.setText(I18nUtil.get(I18nKeys.BROWSE_STATS,
+                                rate, consumed, current.getBufferedCount(), current.getBufferCapacity(),
+                                current.getState()));
+                        if (!current.isRunning() && current.getBufferedCount() == 0) {
+                            // Session ended on its own (e.g. topic deleted)
+                            MessageBrowserService.getInstance().closeSession(current.getId());
+                            session[0] = null;
+                            stop();
+                            toggleButton.setText(I18nUtil.get(I18nKeys.BROWSE_START));
+                            positionCombo.setDisable(false);
+                        }
+                    }
+                }
+            };
+            
+            Runnable stopBrowsing = () -> {
+                drainTimer.stop();
+                if (session[0] != null) {
+                    MessageBrowserService.getInstance().closeSession(session[0].getId());
+                    session[0] = null;
+                }
+                toggleButton.setText(I18nUtil.get(I18nKeys.BROWSE_START));
+                positionCombo.setDisable(false);
+            };
+            
+            toggleButton.setOnAction(e -> {
+                if (session[0] != null && session[0].isRunning()) {
+                    stopBrowsing.run();
+                    return;
+                }
+                stopBrowsing.run();
+                BrowseOptions options = new BrowseOptions();
+                BrowsePosition position = positionCombo.getValue();
+                if (position.getLookback() != null) {
+                    options.setTimeRange(Instant.now().minus(position.getLookback()), null);
+                } else if (position == BrowsePosition.EARLIEST) {
+                    options.setStartPosition(BrowseOptions.StartPosition.EARLIEST);
+                }
+                session[0] = MessageBrowserService.getInstance().openSession(cluster.getId(), topic.getName(), options);
+                if (session[0] == null) {
+                    return;
+                }
+                messageData.clear();
+                lastStats[0] = 0;
+                toggleButton.setText(I18nUtil.get(I18nKeys.BROWSE_STOP));
+                positionCombo.setDisable(true);
+                drainTimer.start();
+            });
+            
+            detailStage.addEventHandler(WindowEvent.WINDOW_HIDDEN, e -> stopBrowsing.run());
+            
+            VBox.setVgrow(messagesTable, javafx.scene.layout.Priority.ALWAYS);
+            vbox.getChildren().addAll(toolbar, messagesTable);
+            
+            return vbox;
+        }
+        
         /**
          * Create consumers view for a specific topic
          */
-        private Node createTopicConsumersView(TopicInfo topic) {
+        private Node createTopicConsumersView(TopicInfo topic, String windowKey) {
             VBox vbox = new VBox(0);
             vbox.setStyle("-fx-background-color: white;");
             
@@ -1702,39 +2122,35 @@ public class MainController implements Initializable {
             consumersTable.getColumns().addAll(groupNameCol, stateCol, coordinatorCol, lagCol);
             consumersTable.setItems(consumerData);
             
-            // Load consumer data for this topic in background
-            new Thread(() -> {
-                List<String> groupIds = ConsumerGroupService.getInstance().listConsumerGroups(cluster.getId());
+            // Load consumer data for this topic in background; the groups reading it come from the
+            // cache's reverse index, their lag from the cached lag snapshot
+            mainController.runLatestInBackground(cluster.getId(), "topic-consumers:" + windowKey, () -> {
+                ClusterMetadataCache cache = MetadataCacheManager.getInstance().getCache(cluster.getId());
+                if (cache.getGroupsVersion() == 0) {
+                    MetadataCacheManager.getInstance().refreshConsumerGroups(cluster.getId());
+                }
                 
-                for (String groupId : groupIds) {
-                    ConsumerGroupInfo info = ConsumerGroupService.getInstance()
-                            .getConsumerGroupInfo(cluster.getId(), groupId);
-                    
-                    if (info != null) {
-                        // Check if this group consumes from the selected topic
-                        long totalLag = 0;
-                        boolean consumesFromTopic = false;
-                        
-                        for (Map.Entry<ConsumerGroupInfo.TopicPartition, Long> entry : info.getLag().entrySet()) {
-                            if (entry.getKey().getTopic().equals(topic.getName())) {
-                                consumesFromTopic = true;
-                                totalLag += entry.getValue();
-                            }
-                        }
-                        
-                        if (consumesFromTopic) {
-                            long finalTotalLag = totalLag;
-                            TopicConsumerRow row = new TopicConsumerRow(
-                                groupId,
-                                info.getState(),
-                                String.valueOf(info.getCoordinatorId()),
-                                finalTotalLag
-                            );
-                            Platform.runLater(() -> consumerData.add(row));
+                List<TopicConsumerRow> rows = new ArrayList<>();
+                for (String groupId : cache.getConsumerIndex().getGroups(topic.getName())) {
+                    ConsumerGroupInfo info = cache.getGroup(groupId);
+                    if (info == null) {
+                        continue;
+                    }
+                    long lag = 0;
+                    for (Map.Entry<ConsumerGroupInfo.TopicPartition, Long> entry : info.getLag().entrySet()) {
+                        if (entry.getKey().getTopic().equals(topic.getName())) {
+                            lag += entry.getValue();
                         }
                     }
+                    rows.add(new TopicConsumerRow(
+                        info.getGroupId(),
+                        info.getState(),
+                        String.valueOf(info.getCoordinatorId()),
+                        lag
+                    ));
                 }
-            }).start();
+                return rows;
+            }, consumerData::setAll);
             
             VBox.setVgrow(consumersTable, javafx.scene.layout.Priority.ALWAYS);
             vbox.getChildren().add(consumersTable);
@@ -1931,36 +2347,39 @@ public class MainController implements Initializable {
             membersCol.prefWidthProperty().bind(consumerGroupTableView.widthProperty().multiply(0.12));
             
             // Lag Column
-            TableColumn<ConsumerGroupRow, String> lagCol = new TableColumn<>("Lag");
-            lagCol.setCellValueFactory(new PropertyValueFactory<>("coordinator")); // Reusing coordinator field for mock lag data
-            lagCol.setCellFactory(col -> new TableCell<ConsumerGroupRow, String>() {
+            TableColumn<ConsumerGroupRow, Long> lagCol = new TableColumn<>("Lag");
+            lagCol.setCellValueFactory(new PropertyValueFactory<>("lag"));
+            lagCol.setCellFactory(col -> new TableCell<ConsumerGroupRow, Long>() {
                 @Override
-                protected void updateItem(String item, boolean empty) {
+                protected void updateItem(Long item, boolean empty) {
                     super.updateItem(item, empty);
-                    if (empty) {
+                    if (empty || item == null) {
                         setText(null);
                         setStyle(null);
-                    } else {
-                        // Mock lag data
-                        setText("124");
-                        setStyle("-fx-font-weight: 600;");
+                        return;
                     }
+                    ConsumerGroupRow row = getTableRow() != null ? getTableRow().getItem() : null;
+                    String trend = row != null ? row.getLagTrend() : "";
+                    setText(trend.isEmpty() ? String.format("%,d", item) : String.format("%,d  %s", item, trend));
+                    setStyle(row != null && row.isStalled()
+                            ? "-fx-font-weight: 600; -fx-text-fill: #dc2626;"
+                            : "-fx-font-weight: 600;");
                 }
             });
             lagCol.prefWidthProperty().bind(consumerGroupTableView.widthProperty().multiply(0.10));
             
             // Topics Column
             TableColumn<ConsumerGroupRow, String> topicsCol = new TableColumn<>("Topics");
+            topicsCol.setCellValueFactory(new PropertyValueFactory<>("topics"));
             topicsCol.setCellFactory(col -> new TableCell<ConsumerGroupRow, String>() {
                 @Override
                 protected void updateItem(String item, boolean empty) {
                     super.updateItem(item, empty);
-                    if (empty) {
+                    if (empty || item == null) {
                         setText(null);
                         setStyle(null);
                     } else {
-                        // Mock topics data
-                        setText("topic1, topic2, topic3");
+                        setText(item);
                         setStyle("-fx-text-fill: #4a5568; -fx-font-size: 12px;");
                     }
                 }
@@ -2034,63 +2453,151 @@ public class MainController implements Initializable {
         }
 
         public void loadInitialData() {
-            loadOverviewData();
+            // A cache warmed at startup shows at once and is not fetched again while fresh;
+            // otherwise the refreshes below apply only what changed
+            ClusterMetadataCache cache = MetadataCacheManager.getInstance().getCache(cluster.getId());
+            topicList.setAll(cache.getTopics());
+            List<ConsumerGroupRow> groupRows = new ArrayList<>();
+            cache.getGroups().forEach(info -> groupRows.add(createConsumerGroupRow(info)));
+            consumerGroupList.setAll(groupRows);
+
+            boolean topicsFresh = cache.isTopicsFresh(WARM_CACHE_MAX_AGE_MS);
+            loadOverviewData(topicsFresh);
             loadBrokers();
-            loadTopics();
-            loadConsumerGroups();
+            if (!topicsFresh) {
+                loadTopics();
+            }
+            if (!cache.isGroupsFresh(WARM_CACHE_MAX_AGE_MS)) {
+                loadConsumerGroups();
+            }
         }
 
         private void loadOverviewData() {
-            new Thread(() -> {
-                List<String> topicNames = TopicService.getInstance().listTopics(cluster.getId());
-                
-                Platform.runLater(() -> {
-                    if (overviewTopicCount != null) {
-                        overviewTopicCount.setText(String.valueOf(topicNames.size()));
-                    }
-                    if (overviewBrokerCount != null) {
-                        overviewBrokerCount.setText("N/A");
-                    }
-                });
-            }).start();
+            loadOverviewData(false);
+        }
+
+        /**
+         * @param cachedTopics count the cached topics instead of listing them
+         */
+        private void loadOverviewData(boolean cachedTopics) {
+            mainController.runInBackground(cluster.getId(), "overview", () -> {
+                int topicCount = cachedTopics
+                        ? MetadataCacheManager.getInstance().getCache(cluster.getId()).getTopicNames().size()
+                        : TopicService.getInstance().listTopics(cluster.getId()).size();
+                MetadataCacheManager.getInstance().refreshBrokers(cluster.getId());
+                int brokerCount = MetadataCacheManager.getInstance().getCache(cluster.getId()).getBrokers().size();
+                return new int[] {topicCount, brokerCount};
+            }, counts -> {
+                if (overviewTopicCount != null) {
+                    overviewTopicCount.setText(String.valueOf(counts[0]));
+                }
+                if (overviewBrokerCount != null) {
+                    overviewBrokerCount.setText(counts[1] > 0 ? String.valueOf(counts[1]) : "N/A");
+                }
+            });
         }
 
         private void loadBrokers() {
-            new Thread(() -> {
-                Platform.runLater(() -> {
-                    brokerList.clear();
-                    // Sample data - in real implementation, this would fetch actual broker data
-                    brokerList.add(new BrokerRow(0, "localhost", 9092, "rack1", "45%", 12, 24));
-                });
-            }).start();
+            mainController.runInBackground(cluster.getId(), "brokers",
+                    () -> BrokerService.getInstance().getBrokers(cluster.getId()),
+                    brokers -> {
+                        Map<Integer, BrokerSizeStats> growth = new HashMap<>();
+                        LogSizeSampler.getInstance().getBrokerStats(cluster.getId())
+                                .forEach(stats -> growth.put(stats.getBrokerId(), stats));
+                        List<BrokerRow> rows = new ArrayList<>(brokers.size());
+                        brokers.forEach(broker -> rows.add(createBrokerRow(broker, growth.get(broker.getId()))));
+                        brokerList.setAll(rows);
+                        if (overviewBrokerCount != null && !brokers.isEmpty()) {
+                            overviewBrokerCount.setText(String.valueOf(
+                                    brokers.stream().filter(BrokerInfo::isOnline).count()));
+                        }
+                    });
+        }
+
+        private BrokerRow createBrokerRow(BrokerInfo broker, BrokerSizeStats growth) {
+            long total = broker.getTotalBytes();
+            long usable = broker.getUsableBytes();
+            String diskUsage;
+            double diskFraction = -1;
+            if (total > 0 && usable >= 0) {
+                long used = total - usable;
+                diskFraction = (double) used / total;
+                diskUsage = StringUtil.formatBytes(used) + " / " + StringUtil.formatBytes(total)
+                        + " (" + Math.round(diskFraction * 100) + "%)";
+            } else if (!broker.getLogDirs().isEmpty()) {
+                diskUsage = StringUtil.formatBytes(broker.getSizeBytes());
+            } else {
+                diskUsage = "N/A";
+            }
+            if (growth != null && growth.getBytesPerSecond() > 0) {
+                diskUsage += "  +" + StringUtil.formatBytes((long) growth.getBytesPerSecond()) + "/s";
+            }
+            return new BrokerRow(broker.getId(), broker.getHost(), broker.getPort(), broker.getRack(),
+                    broker.isOnline() ? BrokerRow.ONLINE : BrokerRow.OFFLINE, broker.isController(),
+                    diskUsage, diskFraction, broker.getLeaderCount(), broker.getReplicaCount());
         }
 
         private void loadTopics() {
-            new Thread(() -> {
-                List<String> topicNames = TopicService.getInstance().listTopics(cluster.getId());
-                List<TopicInfo> topics = new ArrayList<>();
-                
-                for (String topicName : topicNames) {
-                    TopicInfo info = TopicService.getInstance().getTopicInfo(cluster.getId(), topicName);
-                    if (info != null) {
-                        topics.add(info);
+            mainController.runInBackground(cluster.getId(), "topics",
+                    () -> MetadataCacheManager.getInstance().refreshTopics(cluster.getId(), false),
+                    this::onTopicsLoaded);
+        }
+
+        /**
+         * Reload after a change: a refresh already in flight may have listed topics before the
+         * change, so it is cancelled rather than joined
+         */
+        private void reloadTopics() {
+            mainController.runLatestInBackground(cluster.getId(), "topics",
+                    () -> MetadataCacheManager.getInstance().refreshTopics(cluster.getId(), false),
+                    this::onTopicsLoaded);
+        }
+
+        private void onTopicsLoaded(MetadataDelta<TopicInfo> delta) {
+            applyDelta(topicList, delta, TopicInfo::getName);
+            mainController.updateStatus(I18nUtil.get(I18nKeys.TOPIC_LOADED, topicList.size()));
+        }
+
+        /**
+         * Apply a metadata delta to a list in place so unchanged rows are left untouched
+         */
+        private <T, R> void applyDelta(ObservableList<R> list, MetadataDelta<T> delta,
+                                       Function<R, String> keyOf,
+                                       Function<T, R> toRow,
+                                       Function<T, String> keyOfItem) {
+            if (delta.isEmpty()) {
+                return;
+            }
+            if (!delta.getRemoved().isEmpty()) {
+                Set<String> removed = new HashSet<>(delta.getRemoved());
+                list.removeIf(row -> removed.contains(keyOf.apply(row)));
+            }
+            if (!delta.getChanged().isEmpty()) {
+                Map<String, T> changed = new HashMap<>();
+                delta.getChanged().forEach(item -> changed.put(keyOfItem.apply(item), item));
+                for (int i = 0; i < list.size(); i++) {
+                    T item = changed.get(keyOf.apply(list.get(i)));
+                    if (item != null) {
+                        list.set(i, toRow.apply(item));
                     }
                 }
-                
-                Platform.runLater(() -> {
-                    topicList.clear();
-                    topicList.addAll(topics);
-                    mainController.updateStatus(I18nUtil.get(I18nKeys.TOPIC_LOADED, topics.size()));
-                });
-            }).start();
+            }
+            if (!delta.getAdded().isEmpty()) {
+                List<R> added = new ArrayList<>(delta.getAdded().size());
+                delta.getAdded().forEach(item -> added.add(toRow.apply(item)));
+                list.addAll(added);
+            }
+        }
+
+        private <T> void applyDelta(ObservableList<T> list, MetadataDelta<T> delta,
+                                    Function<T, String> keyOf) {
+            applyDelta(list, delta, keyOf, item -> item, keyOf);
         }
 
         private void showTopicDetails(TopicInfo topic) {
-            new Thread(() -> {
-                TopicInfo fullInfo = TopicService.getInstance().getTopicInfo(cluster.getId(), topic.getName());
-                
-                Platform.runLater(() -> {
-                    if (fullInfo != null) {
+            mainController.runLatestInBackground(cluster.getId(), "topic-details",
+                    () -> Optional.ofNullable(TopicService.getInstance().getTopicInfo(cluster.getId(), topic.getName())),
+                    result -> result.ifPresent(fullInfo -> {
                         StringBuilder details = new StringBuilder();
                         details.append(I18nUtil.get(I18nKeys.TOPIC_NAME)).append(": ").append(fullInfo.getName()).append("\n");
                         details.append(I18nUtil.get(I18nKeys.TOPIC_PARTITIONS)).append(": ").append(fullInfo.getPartitions()).append("\n");
@@ -2100,71 +2607,83 @@ public class MainController implements Initializable {
                             details.append("  ").append(key).append(": ").append(value).append("\n")
                         );
                         topicDetailsTextArea.setText(details.toString());
-                    }
-                });
-            }).start();
+                    }));
         }
 
         private void loadConsumerGroups() {
-            new Thread(() -> {
-                List<String> groupIds = ConsumerGroupService.getInstance().listConsumerGroups(cluster.getId());
-                
-                Platform.runLater(() -> {
-                    consumerGroupList.clear();
-                    for (String groupId : groupIds) {
-                        consumerGroupList.add(new ConsumerGroupRow(groupId, "", "", 0));
-                    }
-                    mainController.updateStatus(I18nUtil.get(I18nKeys.CONSUMER_GROUP_LOADED, groupIds.size()));
-                    
-                    loadConsumerGroupDetails();
-                });
-            }).start();
+            // One lag snapshot covers state, members and lag of every group
+            mainController.runInBackground(cluster.getId(), "consumer-groups",
+                    () -> MetadataCacheManager.getInstance().refreshConsumerGroups(cluster.getId()),
+                    delta -> {
+                        applyDelta(consumerGroupList, delta, ConsumerGroupRow::getGroupId,
+                                this::createConsumerGroupRow, ConsumerGroupInfo::getGroupId);
+                        mainController.updateStatus(I18nUtil.get(I18nKeys.CONSUMER_GROUP_LOADED, consumerGroupList.size()));
+                    });
         }
 
-        private void loadConsumerGroupDetails() {
-            new Thread(() -> {
-                for (ConsumerGroupRow row : consumerGroupList) {
-                    ConsumerGroupInfo info = ConsumerGroupService.getInstance()
-                            .getConsumerGroupInfo(cluster.getId(), row.getGroupId());
-                    
-                    if (info != null) {
-                        Platform.runLater(() -> {
-                            row.setState(info.getState());
-                            row.setCoordinator(info.getCoordinatorHost() + ":" + info.getCoordinatorPort());
-                            row.setMemberCount(info.getMembers().size());
-                            consumerGroupTableView.refresh();
-                        });
-                    }
+        private ConsumerGroupRow createConsumerGroupRow(ConsumerGroupInfo info) {
+            ConsumerGroupRow row = new ConsumerGroupRow(info.getGroupId(), info.getState(),
+                    info.getCoordinatorHost() + ":" + info.getCoordinatorPort(), info.getMembers().size());
+            row.setLag(info.getLag().values().stream().mapToLong(Long::longValue).sum());
+            GroupLagRate rate = LagRateTracker.getInstance().getGroupRate(cluster.getId(), info.getGroupId());
+            if (rate != null) {
+                long secondsToZero = rate.getSecondsToZero();
+                if (rate.getStalledPartitions() > 0) {
+                    row.setLagTrend(I18nUtil.get(I18nKeys.CONSUMER_GROUP_TREND_STALLED, rate.getStalledPartitions()));
+                    row.setStalled(true);
+                } else if (rate.getLag() > 0 && secondsToZero > 0) {
+                    row.setLagTrend(I18nUtil.get(I18nKeys.CONSUMER_GROUP_TREND_CATCHING_UP, formatDuration(secondsToZero)));
+                } else if (rate.getLag() > 0 && secondsToZero == LagRateTracker.FALLING_BEHIND) {
+                    // Some partition is falling behind; no rate yet or steady lag shows nothing
+                    row.setLagTrend(I18nUtil.get(I18nKeys.CONSUMER_GROUP_TREND_FALLING_BEHIND));
                 }
-            }).start();
+            }
+            Set<String> topics = new TreeSet<>();
+            info.getOffsets().keySet().forEach(tp -> topics.add(tp.getTopic()));
+            row.setTopics(String.join(", ", topics));
+            return row;
+        }
+
+        /**
+         * Short duration such as "45s", "12m" or "3h"
+         */
+        private String formatDuration(long seconds) {
+            if (seconds < 60) {
+                return seconds + "s";
+            }
+            if (seconds < 3600) {
+                return (seconds / 60) + "m";
+            }
+            if (seconds < 86400) {
+                return (seconds / 3600) + "h";
+            }
+            return (seconds / 86400) + "d";
         }
 
         private void showConsumerGroupDetails(String groupId) {
-            new Thread(() -> {
-                ConsumerGroupInfo info = ConsumerGroupService.getInstance()
-                        .getConsumerGroupInfo(cluster.getId(), groupId);
-                
-                Platform.runLater(() -> {
-                    memberList.clear();
-                    lagList.clear();
-                    
-                    if (info != null) {
-                        for (ConsumerGroupInfo.MemberInfo member : info.getMembers()) {
-                            String assignments = member.getAssignments().stream()
-                                    .map(ConsumerGroupInfo.TopicPartition::toString)
-                                    .reduce((a, b) -> a + ", " + b)
-                                    .orElse("");
-                            memberList.add(new MemberRow(member.getMemberId(), member.getClientId(), member.getHost(), assignments));
-                        }
+            mainController.runLatestInBackground(cluster.getId(), "group-details",
+                    () -> Optional.ofNullable(ConsumerGroupService.getInstance()
+                            .getConsumerGroupInfo(cluster.getId(), groupId)),
+                    result -> {
+                        memberList.clear();
+                        lagList.clear();
                         
-                        info.getLag().forEach((tp, lag) -> {
-                            Long offset = info.getOffsets().containsKey(tp) ? 
-                                    info.getOffsets().get(tp).getOffset() : 0L;
-                            lagList.add(new LagRow(tp.getTopic(), tp.getPartition(), offset, lag));
+                        result.ifPresent(info -> {
+                            for (ConsumerGroupInfo.MemberInfo member : info.getMembers()) {
+                                String assignments = member.getAssignments().stream()
+                                        .map(ConsumerGroupInfo.TopicPartition::toString)
+                                        .reduce((a, b) -> a + ", " + b)
+                                        .orElse("");
+                                memberList.add(new MemberRow(member.getMemberId(), member.getClientId(), member.getHost(), assignments));
+                            }
+                            
+                            info.getLag().forEach((tp, lag) -> {
+                                Long offset = info.getOffsets().containsKey(tp) ? 
+                                        info.getOffsets().get(tp).getOffset() : 0L;
+                                lagList.add(new LagRow(tp.getTopic(), tp.getPartition(), offset, lag));
+                            });
                         });
-                    }
-                });
-            }).start();
+                    });
         }
 
         private void handleCreateTopic() {
@@ -2198,14 +2717,16 @@ public class MainController implements Initializable {
                     int partitions = Integer.parseInt(partitionsField.getText().trim());
                     short replication = Short.parseShort(replicationField.getText().trim());
                     
-                    boolean success = TopicService.getInstance().createTopic(cluster.getId(), topicName, partitions, replication);
-                    
-                    if (success) {
-                        mainController.showInfo(I18nUtil.get(I18nKeys.COMMON_SUCCESS), I18nUtil.get(I18nKeys.TOPIC_CREATE_SUCCESS));
-                        loadTopics();
-                    } else {
-                        mainController.showError(I18nUtil.get(I18nKeys.COMMON_ERROR), I18nUtil.get(I18nKeys.TOPIC_CREATE_ERROR));
-                    }
+                    mainController.runInBackground(cluster.getId(), "create-topic:" + topicName,
+                            () -> TopicService.getInstance().createTopic(cluster.getId(), topicName, partitions, replication),
+                            success -> {
+                                if (success) {
+                                    mainController.showInfo(I18nUtil.get(I18nKeys.COMMON_SUCCESS), I18nUtil.get(I18nKeys.TOPIC_CREATE_SUCCESS));
+                                    reloadTopics();
+                                } else {
+                                    mainController.showError(I18nUtil.get(I18nKeys.COMMON_ERROR), I18nUtil.get(I18nKeys.TOPIC_CREATE_ERROR));
+                                }
+                            });
                 } catch (NumberFormatException e) {
                     mainController.showError(I18nUtil.get(I18nKeys.COMMON_ERROR), "Invalid number format");
                 }
@@ -2227,14 +2748,17 @@ public class MainController implements Initializable {
             
             Optional<ButtonType> result = confirmAlert.showAndWait();
             if (result.isPresent() && result.get() == ButtonType.OK) {
-                boolean success = TopicService.getInstance().deleteTopic(cluster.getId(), selectedTopic.getName());
-                
-                if (success) {
-                    mainController.showInfo(I18nUtil.get(I18nKeys.COMMON_SUCCESS), I18nUtil.get(I18nKeys.TOPIC_DELETE_SUCCESS));
-                    loadTopics();
-                } else {
-                    mainController.showError(I18nUtil.get(I18nKeys.COMMON_ERROR), I18nUtil.get(I18nKeys.TOPIC_DELETE_ERROR));
-                }
+                String topicName = selectedTopic.getName();
+                mainController.runInBackground(cluster.getId(), "delete-topic:" + topicName,
+                        () -> TopicService.getInstance().deleteTopic(cluster.getId(), topicName),
+                        success -> {
+                            if (success) {
+                                mainController.showInfo(I18nUtil.get(I18nKeys.COMMON_SUCCESS), I18nUtil.get(I18nKeys.TOPIC_DELETE_SUCCESS));
+                                reloadTopics();
+                            } else {
+                                mainController.showError(I18nUtil.get(I18nKeys.COMMON_ERROR), I18nUtil.get(I18nKeys.TOPIC_DELETE_ERROR));
+                            }
+                        });
             }
         }
 
@@ -2248,20 +2772,30 @@ public class MainController implements Initializable {
 
     // Data classes
     public static class BrokerRow {
+        static final String ONLINE = "ONLINE";
+        static final String OFFLINE = "OFFLINE";
+
         private final int id;
         private final String host;
         private final int port;
         private final String rack;
+        private final String status;
+        private final boolean controller;
         private final String diskUsage;
+        private final double diskFraction;
         private final int leaders;
         private final int replicas;
 
-        public BrokerRow(int id, String host, int port, String rack, String diskUsage, int leaders, int replicas) {
+        public BrokerRow(int id, String host, int port, String rack, String status, boolean controller,
+                         String diskUsage, double diskFraction, int leaders, int replicas) {
             this.id = id;
             this.host = host;
             this.port = port;
             this.rack = rack;
+            this.status = status;
+            this.controller = controller;
             this.diskUsage = diskUsage;
+            this.diskFraction = diskFraction;
             this.leaders = leaders;
             this.replicas = replicas;
         }
@@ -2270,9 +2804,15 @@ public class MainController implements Initializable {
         public String getHost() { return host; }
         public int getPort() { return port; }
         public String getRack() { return rack; }
+        public String getStatus() { return status; }
+        public boolean isController() { return controller; }
         public String getDiskUsage() { return diskUsage; }
+        /** Used share of the log dir volumes, or -1 if the broker does not report capacity */
+        public double getDiskFraction() { return diskFraction; }
         public int getLeaders() { return leaders; }
         public int getReplicas() { return replicas; }
+        /** Replicas hosted, shown in the Partitions column */
+        public int getPartitions() { return replicas; }
     }
 
     public static class ConsumerGroupRow {
@@ -2280,6 +2820,10 @@ public class MainController implements Initializable {
         private String state;
         private String coordinator;
         private int memberCount;
+        private long lag;
+        private String topics = "";
+        private String lagTrend = "";
+        private boolean stalled;
 
         public ConsumerGroupRow(String groupId, String state, String coordinator, int memberCount) {
             this.groupId = groupId;
@@ -2296,6 +2840,15 @@ public class MainController implements Initializable {
         public void setCoordinator(String coordinator) { this.coordinator = coordinator; }
         public int getMemberCount() { return memberCount; }
         public void setMemberCount(int memberCount) { this.memberCount = memberCount; }
+        public long getLag() { return lag; }
+        public void setLag(long lag) { this.lag = lag; }
+        public String getTopics() { return topics; }
+        public void setTopics(String topics) { this.topics = topics; }
+        /** Catch-up estimate shown next to the lag, empty if unknown */
+        public String getLagTrend() { return lagTrend; }
+        public void setLagTrend(String lagTrend) { this.lagTrend = lagTrend; }
+        public boolean isStalled() { return stalled; }
+        public void setStalled(boolean stalled) { this.stalled = stalled; }
     }
 
     public static class MemberRow {
@@ -2341,18 +2894,21 @@ public class MainController implements Initializable {
         private final Long minOffset;
         private final Long maxOffset;
         private final String leader;
+        private final String isr;
 
-        public PartitionRow(int partition, Long minOffset, Long maxOffset, String leader) {
+        public PartitionRow(int partition, Long minOffset, Long maxOffset, String leader, String isr) {
             this.partition = partition;
             this.minOffset = minOffset;
             this.maxOffset = maxOffset;
             this.leader = leader;
+            this.isr = isr;
         }
 
         public int getPartition() { return partition; }
         public Long getMinOffset() { return minOffset; }
         public Long getMaxOffset() { return maxOffset; }
         public String getLeader() { return leader; }
+        public String getIsr() { return isr; }
     }
     
     public static class TopicConsumerRow {
@@ -89,4 +89,21 @@ public class StringUtil {
         }
         return str.repeat(count);
     }
+
+    /**
+     * Format a byte count, e.g. 1536 -> "1.5 KB"
+     */
+    public static String formatBytes(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        String[] units = {"KB", "MB", "GB", "TB", "PB", "EB"};
+        double value = bytes;
+        int unit = -1;
+        while (value >= 1024 && unit < units.length - 1) {
+            value /= 1024;
+            unit++;
+        }
+        return String.format("%.1f %s", value, units[unit]);
+    }
 }
@@ -0,0 +1,36 @@
+package com.kafkadesk.utils;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread utility class.
+ * Background threads are named daemon threads, so they show up clearly in thread dumps and
+ * never keep the JVM alive on exit.
+ */
+public class ThreadUtil {
+
+    /**
+     * Create a named daemon thread (not started)
+     */
+    public static Thread newDaemonThread(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * Thread factory whose threads all share one name, for single-thread executors
+     */
+    public static ThreadFactory daemonThreadFactory(String name) {
+        return runnable -> newDaemonThread(runnable, name);
+    }
+
+    /**
+     * Thread factory that numbers its threads: prefix-1, prefix-2, ...
+     */
+    public static ThreadFactory numberedDaemonThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger(1);
+        return runnable -> newDaemonThread(runnable, prefix + "-" + counter.getAndIncrement());
+    }
+}